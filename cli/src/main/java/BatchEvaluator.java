@@ -0,0 +1,342 @@
+/**
+ * File: BatchEvaluator.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates a file of positions with Minimax on all processors.
+ *
+ * The input holds one move string per line (see PositionCodec), or, with
+ * -k, a sequence of position keys. Positions are read through a
+ * direct buffer and handed to the workers in batches; the finished batches
+ * are written back in input order, one line per position:
+ *
+ *     position  column  score  boards-analyzed
+ *
+ * where column is counted from 1 and is 0 if the game is already over.
+ * Positions that cannot be decoded are reported as "invalid".
+ * Only a bounded number of batches is in flight at any time, so memory use
+ * does not depend on the size of the input.
+ */
+public class BatchEvaluator {
+    private static final NumberFormat nf = NumberFormat.getInstance();
+    private static final int READ_BUFFER_SIZE = 1 << 20,
+                             BATCH_SIZE = 256;
+
+    private final int maxDepth, threads, rows, columns, keyLength,
+                      maxLineLength;
+    private final boolean binaryKeys;
+    private long positions;
+
+    public BatchEvaluator(int maxDepth, int threads, boolean binaryKeys,
+                          int rows, int columns) {
+        this.maxDepth = maxDepth;
+        this.threads = threads;
+        this.binaryKeys = binaryKeys;
+        this.rows = rows;
+        this.columns = columns;
+        this.keyLength = PositionCodec.getKeyLength(rows, columns);
+        this.maxLineLength = rows * columns;
+    }
+
+    public long getPositions() {
+        return positions;
+    }
+
+    public void evaluate(String inputFile, String outputFile)
+            throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<ByteBuffer>> pending =
+                new ArrayDeque<Future<ByteBuffer>>();
+        int maxPending = threads * 4;
+        positions = 0;
+        try (FileChannel in = FileChannel.open(Paths.get(inputFile),
+                     StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(Paths.get(outputFile),
+                     StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            int recordSize = binaryKeys ? keyLength : maxLineLength;
+            Batch batch = new Batch(recordSize);
+            byte[] line = new byte[maxLineLength];
+            int lineLength = 0;
+            boolean overlong = false;
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                if (binaryKeys) {
+                    while (buffer.remaining() >= keyLength) {
+                        buffer.get(batch.data, batch.count * recordSize,
+                                   keyLength);
+                        batch.lengths[batch.count++] = keyLength;
+                        if (batch.count == BATCH_SIZE) {
+                            submit(executor, pending, batch, maxPending, out);
+                            batch = new Batch(recordSize);
+                        }
+                    }
+                } else {
+                    while (buffer.hasRemaining()) {
+                        byte b = buffer.get();
+                        if (b == '\n') {
+                            if (overlong) {
+                                throw new IOException("Line "
+                                        + (positions + batch.count + 1)
+                                        + " of " + inputFile
+                                        + " is too long.");
+                            }
+                            System.arraycopy(line, 0, batch.data,
+                                    batch.count * recordSize, lineLength);
+                            batch.lengths[batch.count++] = lineLength;
+                            lineLength = 0;
+                            if (batch.count == BATCH_SIZE) {
+                                submit(executor, pending, batch, maxPending,
+                                       out);
+                                batch = new Batch(recordSize);
+                            }
+                        } else if (b != '\r' && b != ' ' && b != '\t') {
+                            if (lineLength < maxLineLength) {
+                                line[lineLength++] = b;
+                            } else {
+                                overlong = true;
+                            }
+                        }
+                    }
+                }
+                buffer.compact();
+            }
+            if (buffer.position() > 0) {
+                throw new IOException(inputFile + " ends with a partial key.");
+            }
+            if (!binaryKeys && lineLength > 0) {
+                System.arraycopy(line, 0, batch.data,
+                        batch.count * recordSize, lineLength);
+                batch.lengths[batch.count++] = lineLength;
+            }
+            if (batch.count > 0) {
+                submit(executor, pending, batch, maxPending, out);
+            }
+            while (!pending.isEmpty()) {
+                write(pending.removeFirst(), out);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void submit(ExecutorService executor,
+            ArrayDeque<Future<ByteBuffer>> pending, Batch batch,
+            int maxPending, FileChannel out)
+            throws IOException, InterruptedException {
+        positions += batch.count;
+        pending.addLast(executor.submit(batch));
+        while (pending.size() >= maxPending) {
+            write(pending.removeFirst(), out);
+        }
+    }
+
+    private static void write(Future<ByteBuffer> future, FileChannel out)
+            throws IOException, InterruptedException {
+        ByteBuffer result;
+        try {
+            result = future.get();
+        } catch (ExecutionException ee) {
+            throw new IOException("Evaluation failed.", ee.getCause());
+        }
+        while (result.hasRemaining()) {
+            out.write(result);
+        }
+    }
+
+    private static String toHex(byte[] data, int offset, int length) {
+        StringBuilder builder = new StringBuilder(length * 2);
+        for (int i = offset; i < offset + length; i++) {
+            builder.append(Character.forDigit((data[i] >> 4) & 0xf, 16));
+            builder.append(Character.forDigit(data[i] & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    private class Batch implements Callable<ByteBuffer> {
+        private final byte[] data;
+        private final int[] lengths;
+        private final int recordSize;
+        private int count;
+
+        Batch(int recordSize) {
+            this.recordSize = recordSize;
+            this.data = new byte[recordSize * BATCH_SIZE];
+            this.lengths = new int[BATCH_SIZE];
+        }
+
+        public ByteBuffer call() {
+            StringBuilder builder = new StringBuilder(count * 64);
+            for (int i = 0; i < count; i++) {
+                int offset = i * recordSize;
+                String position = binaryKeys
+                        ? toHex(data, offset, lengths[i])
+                        : new String(data, offset, lengths[i],
+                                     StandardCharsets.US_ASCII);
+                builder.append(position).append('\t');
+                Board board;
+                try {
+                    if (binaryKeys) {
+                        board = PositionCodec.getKey(
+                                ByteBuffer.wrap(data, offset, lengths[i]),
+                                rows, columns);
+                    } else {
+                        board = PositionCodec.fromMoveString(position, rows,
+                                                             columns);
+                    }
+                } catch (IllegalArgumentException iae) {
+                    builder.append("invalid\n");
+                    continue;
+                }
+                if (board.getWinner() != Board.UNMARKED || board.isFull()) {
+                    builder.append("0\t0\t0\n");
+                    continue;
+                }
+                Minimax minimax = new Minimax(board, maxDepth);
+                int col = minimax.alphaBeta(
+                        PositionCodec.getPlayerToMove(board));
+                builder.append(col + 1).append('\t')
+                       .append(minimax.getScore()).append('\t')
+                       .append(minimax.getBoardsAnalyzed()).append('\n');
+            }
+            return ByteBuffer.wrap(
+                    builder.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options] input output\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d search depth [default 8]\n");
+        builder.append("   -k input holds position keys instead of"
+                + " move strings\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -t worker threads [default: number of"
+                + " processors]");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "BatchEvaluator";
+        Getopt g = new Getopt(programName, args, "c:d:hkr:t:");
+        g.setOpterr(false);
+        int c, maxDepth = 8,
+            threads = Runtime.getRuntime().availableProcessors(),
+            rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS;
+        boolean binaryKeys = false;
+        String arg;
+        while ((c = g.getopt()) != -1) {
+            switch (c) {
+                case 'c':
+                    arg = g.getOptarg();
+                    try {
+                        columns = Integer.parseInt(arg);
+                        if (columns < Board.MIN_SIZE ||
+                            columns > Board.MAX_SIZE) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid number of columns '" + arg
+                                + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'd':
+                    arg = g.getOptarg();
+                    try {
+                        maxDepth = Integer.parseInt(arg);
+                        if (maxDepth < 1) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid search depth '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'h':
+                    System.out.println(getHelp(programName));
+                    System.exit(0);
+                case 'k':
+                    binaryKeys = true;
+                    break;
+                case 'r':
+                    arg = g.getOptarg();
+                    try {
+                        rows = Integer.parseInt(arg);
+                        if (rows < Board.MIN_SIZE || rows > Board.MAX_SIZE) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid number of rows '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 't':
+                    arg = g.getOptarg();
+                    try {
+                        threads = Integer.parseInt(arg);
+                        if (threads < 1) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid number of threads '" + arg
+                                + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case '?':
+                    System.err.println(programName + ": Unknown option '"
+                            + (char)g.getOptopt() + "' received.");
+                    System.exit(1);
+                default:
+                    break;
+            }
+        }
+        if (args.length - g.getOptind() != 2) {
+            System.err.println(getHelp(programName));
+            System.exit(1);
+        }
+        BatchEvaluator evaluator =
+                new BatchEvaluator(maxDepth, threads, binaryKeys, rows,
+                                   columns);
+        long start = System.currentTimeMillis();
+        try {
+            evaluator.evaluate(args[g.getOptind()], args[g.getOptind() + 1]);
+        } catch (IOException ioe) {
+            System.err.println("Error: " + ioe.getMessage());
+            System.exit(1);
+        } catch (InterruptedException ie) {
+            System.exit(1);
+        }
+        double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+        System.out.println(nf.format(evaluator.getPositions())
+                + " positions evaluated in " + elapsed + " seconds.");
+    }
+}
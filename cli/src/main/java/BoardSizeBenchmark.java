@@ -0,0 +1,75 @@
+/**
+ * File: BoardSizeBenchmark.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.text.NumberFormat;
+import java.util.Random;
+
+/**
+ * Measures how the cost of a Minimax search grows with the board size.
+ *
+ * For each board size and search depth, the same number of random
+ * four-ply openings is searched and the mean number of boards analyzed
+ * and the mean time per search are printed, together with the effective
+ * branching factor relative to the previous depth.
+ *
+ * Usage: java BoardSizeBenchmark [positions [max depth]]
+ */
+public class BoardSizeBenchmark {
+    private static final NumberFormat nf = NumberFormat.getInstance();
+    // Columns x rows.
+    private static final int[][] SIZES =
+        { {7, 6}, {8, 7}, {9, 7}, {10, 10} };
+    private static final int OPENING_PLIES = 4, WARMUP_SEARCHES = 50;
+
+    private static Board getOpening(Random random, int rows, int columns) {
+        Board board = new Board(rows, columns);
+        char player = Board.MARK_RED;
+        for (int i = 0; i < OPENING_PLIES; i++) {
+            board.set(random.nextInt(columns), player);
+            player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                              : Board.MARK_RED;
+        }
+        return board;
+    }
+
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 20,
+            maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        Random random = new Random(1);
+        for (int i = 0; i < WARMUP_SEARCHES; i++) {
+            new Minimax(getOpening(random, 6, 7), 4).alphaBeta(Board.MARK_RED);
+        }
+
+        System.out.println(String.format("%-8s %5s %15s %12s %10s",
+                "Size", "Depth", "Boards/search", "ms/search", "Branching"));
+        for (int[] size : SIZES) {
+            int columns = size[0], rows = size[1];
+            double previousBoards = 0;
+            for (int depth = 2; depth <= maxDepth; depth += 2) {
+                random = new Random(rows * 31 + columns);
+                long boards = 0, nanos = 0;
+                for (int i = 0; i < positions; i++) {
+                    Board board = getOpening(random, rows, columns);
+                    Minimax minimax = new Minimax(board, depth);
+                    long start = System.nanoTime();
+                    minimax.alphaBeta(Board.MARK_RED);
+                    nanos += System.nanoTime() - start;
+                    boards += minimax.getBoardsAnalyzed();
+                }
+                double meanBoards = (double)boards / positions;
+                String branching = previousBoards == 0 ? "-"
+                    : String.format("%.2f",
+                          Math.sqrt(meanBoards / previousBoards));
+                System.out.println(String.format("%-8s %5d %15s %12.2f %10s",
+                        columns + "x" + rows, depth,
+                        nf.format(Math.round(meanBoards)),
+                        nanos / 1e6 / positions, branching));
+                previousBoards = meanBoards;
+            }
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/**
+ * File: ConsoleGame.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.text.NumberFormat;
+import java.util.Scanner;
+
+/**
+ * Plays Connect Four on the console, or counts positions with -x.
+ */
+public class ConsoleGame {
+    private static final NumberFormat nf = NumberFormat.getInstance();
+    private static Scanner input = new Scanner(System.in);
+    private static int perftDepth;
+    private static String perftMoves = "";
+
+    public static int getColumn(char player, int maxCol)
+            throws IllegalArgumentException {
+
+        String color = Board.getColorOfPlayer(player);
+
+        System.out.print(
+                "Drop a " + color + " checker at column (1.." + maxCol
+                + "): ");
+        int column = 0;
+        String strColumn = input.nextLine().trim();
+        try {
+            column = Integer.parseInt(strColumn);
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException(
+                "Invalid column '" + strColumn + "' received.");
+        }
+        if (column < 1 || column > maxCol) {
+            throw new IllegalArgumentException(
+                "Invalid column " + column + " received.");
+        }
+        return column - 1;
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options]\n");
+        builder.append("   -a search algorithm [1-2], where\n");
+        builder.append("      1 = alpha-beta [default]\n");
+        builder.append("      2 = MTD(f)\n");
+        builder.append("   -c number of columns [" + Board.MIN_SIZE + "-"
+                + Board.MAX_SIZE + ", default " + Board.DEFAULT_COLUMNS
+                + "]\n");
+        builder.append("   -e engine for the difficulty level [1-2], where\n");
+        builder.append("      1 = minimax [default]\n");
+        builder.append("      2 = Monte Carlo tree search\n");
+        builder.append("   -f evaluation [1-2], where\n");
+        builder.append("      1 = windows through the last checker"
+                + " [default]\n");
+        builder.append("      2 = windows plus threat and parity analysis\n");
+        builder.append("   -g game type [1-4], where\n");
+        builder.append("      1 = HUMAN vs. HUMAN\n");
+        builder.append("      2 = HUMAN vs. COMPUTER [default]\n");
+        builder.append("      3 = COMPUTER vs. HUMAN\n");
+        builder.append("      4 = COMPUTER vs. COMPUTER\n");
+        builder.append("   -m difficulty level [1-4], where\n");
+        builder.append("      1 = BEGINNER\n");
+        builder.append("      2 = INTERMEDIATE\n");
+        builder.append("      3 = ADVANCED\n");
+        builder.append("      4 = EXPERT [default]\n");
+        builder.append("   -n checkers in a row needed to win ["
+                + Board.MIN_WIN_LENGTH + "-" + Board.MAX_WIN_LENGTH
+                + ", default " + Board.DEFAULT_WIN_LENGTH + "]\n");
+        builder.append("   -p playouts per move for Monte Carlo tree search"
+                + " [default: by difficulty level]\n");
+        builder.append("   -r number of rows [" + Board.MIN_SIZE + "-"
+                + Board.MAX_SIZE + ", default " + Board.DEFAULT_ROWS + "]\n");
+        builder.append("   -t time control, where\n");
+        builder.append("      S   = S seconds per move\n");
+        builder.append("      M+I = M minutes per game plus I seconds per"
+                + " move\n");
+        builder.append("      without one, the computer searches to the"
+                + " depth of the difficulty level\n");
+        builder.append("   -x count the positions up to the given number of"
+                + " moves ahead (perft),\n      on every processor, and"
+                + " exit\n");
+        builder.append("   moves, with -x, is the position to count from as a"
+                + " move string");
+        return builder.toString();
+    }
+
+    private static ConnectFourConfig parseArgs(String programName, String[] args) {
+        Getopt g = new Getopt(programName, args, "a:c:e:f:g:hm:n:p:r:t:x:");
+        g.setOpterr(false);
+        int c,
+            gameType = ConnectFourConfig.HUMAN_COMPUTER,
+            difficultyLevel = ConnectFourConfig.EXPERT,
+            rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS,
+            winLength = Board.DEFAULT_WIN_LENGTH,
+            timeControl = ConnectFourConfig.NO_TIME_CONTROL,
+            algorithm = ConnectFourConfig.ALPHA_BETA,
+            evaluation = ConnectFourConfig.WINDOW_EVALUATION,
+            engine = ConnectFourConfig.MINIMAX,
+            playoutBudget = 0;
+        long baseTime = 0, increment = 0;
+        String arg;
+        while ((c = g.getopt()) != -1) {
+            switch (c) {
+                case 'a':
+                    arg = g.getOptarg();
+                    try {
+                        algorithm = Integer.parseInt(arg);
+                        if (algorithm < ConnectFourConfig.ALPHA_BETA ||
+                            algorithm > ConnectFourConfig.MTDF) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid search algorithm '" + arg
+                                + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'c':
+                    arg = g.getOptarg();
+                    try {
+                        columns = Integer.parseInt(arg);
+                        if (columns < Board.MIN_SIZE ||
+                            columns > Board.MAX_SIZE) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid number of columns '" + arg
+                                + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'e':
+                    arg = g.getOptarg();
+                    try {
+                        engine = Integer.parseInt(arg);
+                        if (engine < ConnectFourConfig.MINIMAX ||
+                            engine > ConnectFourConfig.MONTE_CARLO) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid engine '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'f':
+                    arg = g.getOptarg();
+                    try {
+                        evaluation = Integer.parseInt(arg);
+                        if (evaluation < ConnectFourConfig.WINDOW_EVALUATION
+                                || evaluation
+                                > ConnectFourConfig.THREAT_EVALUATION) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid evaluation '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'g':
+                    arg = g.getOptarg();
+                    try {
+                        gameType = Integer.parseInt(arg);
+                        if (gameType < ConnectFourConfig.HUMAN_HUMAN ||
+                            gameType > ConnectFourConfig.COMPUTER_COMPUTER) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid game type '" + arg
+                                + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'h':
+                    System.out.println(getHelp(programName));
+                    System.exit(0);
+                case 'm':
+                    arg = g.getOptarg();
+                    try {
+                        difficultyLevel = Integer.parseInt(arg);
+                        if (difficultyLevel < ConnectFourConfig.BEGINNER ||
+                            difficultyLevel > ConnectFourConfig.EXPERT) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName +
+                                ": Invalid max depth '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'n':
+                    arg = g.getOptarg();
+                    try {
+                        winLength = Integer.parseInt(arg);
+                        if (winLength < Board.MIN_WIN_LENGTH ||
+                            winLength > Board.MAX_WIN_LENGTH) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid win length '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'p':
+                    arg = g.getOptarg();
+                    try {
+                        playoutBudget = Integer.parseInt(arg);
+                        if (playoutBudget < 1) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid number of playouts '" + arg
+                                + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'r':
+                    arg = g.getOptarg();
+                    try {
+                        rows = Integer.parseInt(arg);
+                        if (rows < Board.MIN_SIZE || rows > Board.MAX_SIZE) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid number of rows '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 't':
+                    arg = g.getOptarg();
+                    try {
+                        int plus = arg.indexOf('+');
+                        if (plus < 0) {
+                            timeControl = ConnectFourConfig.TIME_PER_MOVE;
+                            baseTime = parseMillis(arg, 1000);
+                        } else {
+                            timeControl = ConnectFourConfig.TIME_PER_GAME;
+                            baseTime = parseMillis(arg.substring(0, plus),
+                                                   60000);
+                            increment = parseMillis(arg.substring(plus + 1),
+                                                    1000);
+                        }
+                        if (baseTime <= 0 || increment < 0) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid time control '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'x':
+                    arg = g.getOptarg();
+                    try {
+                        perftDepth = Integer.parseInt(arg);
+                        if (perftDepth < 1) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid perft depth '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case '?':
+                    System.err.println(programName + ": Unknown option '"
+                            + (char)g.getOptopt() + "' received.");
+                    System.exit(1);
+                default:
+                    break;
+            }
+        }
+        if (g.getOptind() < args.length) {
+            if (perftDepth == 0 || g.getOptind() != args.length - 1) {
+                System.err.println(getHelp(programName));
+                System.exit(1);
+            }
+            perftMoves = args[g.getOptind()];
+        }
+        ConnectFourConfig config = null;
+        try {
+            config = new ConnectFourConfig(gameType, difficultyLevel, rows,
+                                           columns);
+            config.setWinLength(winLength);
+            config.setTimeControl(timeControl, baseTime, increment);
+            config.setAlgorithm(algorithm);
+            config.setEvaluation(evaluation);
+            config.setEngine(difficultyLevel, engine);
+            config.setPlayoutBudget(playoutBudget);
+        } catch (IllegalArgumentException iae) {
+            System.err.println(programName + ": " + iae.getMessage());
+            System.exit(1);
+        }
+        return config;
+    }
+
+    private static long parseMillis(String arg, long unit)
+            throws NumberFormatException {
+        return Math.round(Double.parseDouble(arg.trim()) * unit);
+    }
+
+    /**
+     * Counts the positions one move ahead, then two, and so on up to
+     * perftDepth, printing the count and rate for each depth.
+     */
+    private static void runPerft(ConnectFourConfig config) {
+        Board board = null;
+        try {
+            board = PositionCodec.fromMoveString(perftMoves, config.getRows(),
+                    config.getColumns(), config.getWinLength());
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        }
+        char player = PositionCodec.getPlayerToMove(board);
+        int threads = Runtime.getRuntime().availableProcessors();
+        Perft perft = new Perft(threads);
+        System.out.println("Perft on " + threads + " threads from "
+                + (perftMoves.length() == 0 ? "the empty board"
+                                            : perftMoves) + ":");
+        System.out.println(String.format("%5s %18s %10s %15s", "Depth",
+                "Positions", "Seconds", "Positions/s"));
+        try {
+            for (int depth = 1; depth <= perftDepth; depth++) {
+                long start = System.nanoTime();
+                long positions = perft.count(board, player, depth);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.println(String.format("%5d %18s %10.3f %15s",
+                        depth, nf.format(positions), seconds,
+                        nf.format(Math.round(positions / Math.max(seconds,
+                                                                  1e-9)))));
+            }
+        } catch (InterruptedException ie) {
+            System.exit(1);
+        } finally {
+            perft.shutdown();
+        }
+    }
+
+    private static void displayClock(ConnectFour game) {
+        TimeManager timeManager = game.getTimeManager();
+        if (timeManager.isEnabled()) {
+            System.out.println("Clock: " + timeManager.getClockText());
+        }
+    }
+
+    private static boolean doPlayerMove(char player, ConnectFour game) {
+        while (true) {
+            try {
+                int col = getColumn(player, game.getColumns());
+                if (game.isFlagged()) {
+                    return false;
+                }
+                game.dropChecker(col, player);
+                return true;
+            } catch (IllegalArgumentException iae) {
+                System.out.println("Error: " + iae.getMessage());
+            } catch (Exception e) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static boolean doMonteCarloMove(char player, ConnectFour game) {
+        MonteCarloSearch search = game.getMonteCarloSearch();
+        int col = game.getComputerMove(search);
+        System.out.println("Computer chose column " + (col + 1) + "; "
+                + nf.format(search.getPlayouts()) + " playouts ("
+                + nf.format(search.getReusedPlayouts()) + " reused) in "
+                + (search.getElapsedNanos() / 1000000 / 1000.0)
+                + " seconds, " + nf.format(Math.round(
+                search.getPlayoutsPerSecond())) + " per second.");
+        if (game.isFlagged()) {
+            return false;
+        }
+        game.dropChecker(col, player);
+        return true;
+    }
+
+    private static boolean doComputerMove(char player, ConnectFour game) {
+        if (game.getEngine() == ConnectFourConfig.MONTE_CARLO) {
+            return doMonteCarloMove(player, game);
+        }
+        Minimax minimax = new Minimax(game.getBoard(), game.getMaxDepth());
+        long start = System.currentTimeMillis();
+        int col = game.getComputerMove(minimax);
+        double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+        int boardsAnalyzed = minimax.getBoardsAnalyzed();
+        System.out.print("Computer chose column " + (col + 1) + "; " +
+                nf.format(boardsAnalyzed));
+        if (boardsAnalyzed != 1) {
+            System.out.print(" boards analyzed in " + elapsed + " seconds");
+        } else {
+            System.out.print(" board analyzed in " + elapsed + " seconds");
+        }
+        if (minimax.getExtensions() != 0) {
+            System.out.print(", " + nf.format(minimax.getExtensions())
+                    + " extensions (" + nf.format(minimax.getExtendedBoards())
+                    + " boards beyond depth)");
+        }
+        if (minimax.getReductions() != 0) {
+            System.out.print(", " + nf.format(minimax.getReductions())
+                    + " moves reduced");
+        }
+        if (game.getTimeManager().isEnabled()) {
+            System.out.println(", depth " + minimax.getDepthReached() + ".");
+        } else {
+            System.out.println(".");
+        }
+        if (game.isFlagged()) {
+            return false;
+        }
+        game.dropChecker(col, player);
+        return true;
+    }
+
+    public static void main(String[] args) {
+        ConnectFourConfig config = parseArgs("ConsoleGame", args);
+        if (perftDepth > 0) {
+            runPerft(config);
+            return;
+        }
+        SessionStore.getDefault();
+        ConnectFour connectFour = null;
+        try {
+            connectFour = new ConnectFour(config);
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        }
+        connectFour.displayBoard();
+        displayClock(connectFour);
+        int maxPlays = connectFour.getMaxPlays(),
+            numPlays = connectFour.getPlays(),
+            gameType = connectFour.getGameType();
+        while (numPlays < maxPlays) {
+            char player = connectFour.getPlayer();
+            boolean inTime;
+            connectFour.startClock();
+            if (numPlays % 2 == 0) {
+                if (gameType == ConnectFourConfig.HUMAN_HUMAN ||
+                    gameType == ConnectFourConfig.HUMAN_COMPUTER) {
+                    inTime = doPlayerMove(player, connectFour);
+                } else {
+                    inTime = doComputerMove(player, connectFour);
+                }
+            } else {
+                if (gameType == ConnectFourConfig.HUMAN_HUMAN ||
+                    gameType == ConnectFourConfig.COMPUTER_HUMAN) {
+                    inTime = doPlayerMove(player, connectFour);
+                } else {
+                    inTime = doComputerMove(player, connectFour);
+                }
+            }
+            if (!inTime) {
+                System.out.println("Player " + player + " loses on time.");
+                return;
+            }
+
+            connectFour.displayBoard();
+            displayClock(connectFour);
+            char winner = connectFour.getWinner();
+            if (winner != Board.UNMARKED) {
+                System.out.println("Player " + winner + " wins.");
+                return;
+            }
+            connectFour.switchPlayers();
+            numPlays = connectFour.getPlays();
+        }
+        System.out.println("Tie.");
+        input.close();
+    }
+}
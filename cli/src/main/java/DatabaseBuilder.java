@@ -0,0 +1,253 @@
+/**
+ * File: DatabaseBuilder.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.NumberFormat;
+
+/**
+ * Builds a PositionDatabase from the output of BatchEvaluator or
+ * OpeningSolver: lines holding a move string and, after the column, the
+ * score of the position. Every position is stored together with its
+ * mirror image, which has the same score, since OpeningSolver only keeps
+ * one of the two. Lines that are comments, invalid or for finished games
+ * are skipped. The database is read back and checked once written.
+ *
+ * The scores are taken to be those of Minimax with the default weights
+ * and the window evaluation, and the database is marked as such.
+ */
+public class DatabaseBuilder {
+    private static final NumberFormat nf = NumberFormat.getInstance();
+
+    private final int rows, columns, winLength;
+    private final PositionDatabase.Builder builder;
+    private int positions, skipped;
+
+    public DatabaseBuilder(int rows, int columns, int winLength,
+                           int scoreBits, int scoreShift)
+            throws IllegalArgumentException {
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+        builder = new PositionDatabase.Builder(rows, columns, winLength,
+                SessionStore.getFingerprint(
+                        EvaluationWeights.getDefault(winLength),
+                        ConnectFourConfig.WINDOW_EVALUATION),
+                scoreBits, scoreShift);
+    }
+
+    public int getPositions() {
+        return positions;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void read(String inputFile) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(
+                Paths.get(inputFile), StandardCharsets.US_ASCII)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                String[] fields = line.trim().split("\\s+");
+                if (line.startsWith("#") || fields.length < 3
+                        || fields[1].equals("0")) {
+                    skipped++;
+                    continue;
+                }
+                Board board, mirror;
+                int score;
+                try {
+                    board = PositionCodec.fromMoveString(fields[0], rows,
+                                                         columns, winLength);
+                    mirror = PositionCodec.fromMoveString(
+                            getMirror(fields[0]), rows, columns, winLength);
+                    score = Integer.parseInt(fields[2]);
+                } catch (IllegalArgumentException iae) {
+                    throw new IOException("Line " + lineNumber + " of "
+                            + inputFile + " is not a scored position.");
+                }
+                builder.add(board, score);
+                builder.add(mirror, score);
+                positions++;
+            }
+        }
+    }
+
+    private String getMirror(String moves) {
+        char[] mirrored = new char[moves.length()];
+        for (int i = 0; i < mirrored.length; i++) {
+            int col = PositionCodec.getColumn(moves.charAt(i));
+            mirrored[i] = col < 0 || col >= columns ? moves.charAt(i)
+                    : PositionCodec.getColumnDigit(columns - 1 - col);
+        }
+        return new String(mirrored);
+    }
+
+    /**
+     * Writes the database and returns it, mapped back from the file.
+     */
+    public PositionDatabase write(String outputFile) throws IOException {
+        File file = new File(outputFile);
+        builder.write(file);
+        return new PositionDatabase(file);
+    }
+
+    /**
+     * Looks up every position of the input in the database and returns
+     * how many scores differ from the input once packed. Win scores must
+     * come back as they are, and other scores shifted and clamped short of
+     * the codes kept for wins.
+     */
+    public int verify(String inputFile, PositionDatabase database,
+                      int scoreBits, int scoreShift) throws IOException {
+        int wrong = 0;
+        long max = ((1L << (scoreBits - 1)) - 2) << scoreShift,
+             min = (1 - (1L << (scoreBits - 1))) << scoreShift;
+        try (BufferedReader in = Files.newBufferedReader(
+                Paths.get(inputFile), StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.trim().split("\\s+");
+                if (line.startsWith("#") || fields.length < 3
+                        || fields[1].equals("0")) {
+                    continue;
+                }
+                long score = Integer.parseInt(fields[2]);
+                if (score > PositionDatabase.RED_WIN
+                        && score < PositionDatabase.BLACK_WIN) {
+                    score = Math.max(min, Math.min(max,
+                            score >> scoreShift << scoreShift));
+                }
+                for (String moves : new String[] {
+                        fields[0], getMirror(fields[0]) }) {
+                    if (database.lookup(PositionCodec.fromMoveString(moves,
+                            rows, columns, winLength)) != score) {
+                        wrong++;
+                    }
+                }
+            }
+        }
+        return wrong;
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options] output input...\n");
+        builder.append("   -b bits per score [default 12]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -n checkers in a row needed to win [default "
+                + Board.DEFAULT_WIN_LENGTH + "]\n");
+        builder.append("   -q bits dropped from the scores [default 2]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]");
+        return builder.toString();
+    }
+
+    private static int parseInt(String programName, String name, String arg,
+                                int min, int max) {
+        try {
+            int value = Integer.parseInt(arg);
+            if (value < min || value > max) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid " + name + " '" + arg
+                    + "'.");
+            System.exit(1);
+            return 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        String programName = "DatabaseBuilder";
+        Getopt g = new Getopt(programName, args, "b:c:hn:q:r:");
+        g.setOpterr(false);
+        int c, scoreBits = 12, scoreShift = 2,
+            rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS,
+            winLength = Board.DEFAULT_WIN_LENGTH;
+        while ((c = g.getopt()) != -1) {
+            switch (c) {
+                case 'b':
+                    scoreBits = parseInt(programName, "number of bits",
+                            g.getOptarg(), PositionDatabase.MIN_SCORE_BITS,
+                            PositionDatabase.MAX_SCORE_BITS);
+                    break;
+                case 'c':
+                    columns = parseInt(programName, "number of columns",
+                            g.getOptarg(), Board.MIN_SIZE, Board.MAX_SIZE);
+                    break;
+                case 'h':
+                    System.out.println(getHelp(programName));
+                    System.exit(0);
+                case 'n':
+                    winLength = parseInt(programName, "win length",
+                            g.getOptarg(), Board.MIN_WIN_LENGTH,
+                            Board.MAX_WIN_LENGTH);
+                    break;
+                case 'q':
+                    scoreShift = parseInt(programName, "number of bits",
+                            g.getOptarg(), 0, PositionDatabase.MAX_SCORE_BITS);
+                    break;
+                case 'r':
+                    rows = parseInt(programName, "number of rows",
+                            g.getOptarg(), Board.MIN_SIZE, Board.MAX_SIZE);
+                    break;
+                case '?':
+                    System.err.println(programName + ": Unknown option '"
+                            + (char)g.getOptopt() + "' received.");
+                    System.exit(1);
+                default:
+                    break;
+            }
+        }
+        if (args.length - g.getOptind() < 2) {
+            System.err.println(getHelp(programName));
+            System.exit(1);
+        }
+        DatabaseBuilder databaseBuilder = null;
+        try {
+            databaseBuilder = new DatabaseBuilder(rows, columns, winLength,
+                                                  scoreBits, scoreShift);
+        } catch (IllegalArgumentException iae) {
+            System.err.println(programName + ": " + iae.getMessage());
+            System.exit(1);
+        }
+        String outputFile = args[g.getOptind()];
+        try {
+            for (int i = g.getOptind() + 1; i < args.length; i++) {
+                databaseBuilder.read(args[i]);
+            }
+            PositionDatabase database = databaseBuilder.write(outputFile);
+            int wrong = 0;
+            for (int i = g.getOptind() + 1; i < args.length; i++) {
+                wrong += databaseBuilder.verify(args[i], database, scoreBits,
+                                                scoreShift);
+            }
+            System.out.println(nf.format(databaseBuilder.getPositions())
+                    + " positions read, "
+                    + nf.format(databaseBuilder.getSkipped())
+                    + " lines skipped, " + nf.format(database.getCount())
+                    + " stored with their mirror images in "
+                    + nf.format(new File(outputFile).length()) + " bytes, "
+                    + wrong + " wrong when read back.");
+        } catch (IOException ioe) {
+            System.err.println("Error: " + ioe.getMessage());
+            System.exit(1);
+        }
+    }
+}
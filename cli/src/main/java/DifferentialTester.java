@@ -0,0 +1,767 @@
+/**
+ * File: DifferentialTester.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays random legal positions through pairs of implementations that must
+ * agree, and reports every position on which they do not, as a move string
+ * that reproduces it with -x.
+ *
+ * In each check the reference is plain code the engine's faster paths
+ * must agree with: Board.getWinner(), Minimax.alphaBeta() without a
+ * session, or the scorer in this class that counts the checkers of every
+ * window through the last move with Board.get() and scores them with the
+ * original increments, as the board first did. Board.getHeuristicScore()
+ * is checked against it with the built-in weights. The candidate is a
+ * faster path that must give the same results. New paths are tested by
+ * adding a check to getStandardChecks().
+ * Candidates that keep state between positions, such as a session, keep
+ * one per thread, so that stale entries left by earlier positions are
+ * tested too. A reference shared by several checks is evaluated once per
+ * position.
+ */
+public class DifferentialTester {
+    private static final int MAX_REPORTED = 20, SESSION_BITS = 16,
+                             WIN = Integer.MAX_VALUE - 1;
+    private static final NumberFormat nf = NumberFormat.getInstance();
+
+    /**
+     * A position to test: the board, the move string that leads to it, the
+     * player to move and the column of the last move, or -1.
+     */
+    public static final class Position {
+        private final Board board;
+        private final String moves;
+        private final char player;
+        private final int lastColumn, depth;
+
+        Position(Board board, String moves, int depth) {
+            this.board = board;
+            this.moves = moves;
+            this.player = PositionCodec.getPlayerToMove(board);
+            this.lastColumn = moves.length() == 0 ? -1
+                    : PositionCodec.getColumn(moves.charAt(moves.length() - 1));
+            this.depth = depth;
+        }
+
+        /**
+         * Returns a copy of the board for the implementation to use as it
+         * likes.
+         */
+        public Board getBoard() {
+            return new Board(board);
+        }
+
+        public String getMoves() {
+            return moves;
+        }
+
+        public char getPlayer() {
+            return player;
+        }
+
+        public int getLastColumn() {
+            return lastColumn;
+        }
+
+        /**
+         * Returns the depth to which searches should look.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Returns true if the last move won the game.
+         */
+        public boolean isWon() {
+            return board.getWinner() != Board.UNMARKED;
+        }
+    }
+
+    /**
+     * One side of a check. The result of a search is best packed with
+     * pack(), so that a mismatch shows the column and the score.
+     */
+    public interface Implementation {
+        long evaluate(Position position);
+    }
+
+    public static final class Check {
+        // What must agree: the whole value, the column and score of a
+        // search, or the score alone, when columns of equal value may
+        // differ.
+        public static final int VALUE = 0, MOVE = 1, SCORE = 2;
+
+        private final String name;
+        private final Implementation reference, candidate;
+        private final int kind;
+        private final AtomicLong mismatches = new AtomicLong();
+
+        /**
+         * Creates a check of the candidate against the reference. Checks of
+         * searches are skipped on positions that are already won.
+         */
+        public Check(String name, Implementation reference,
+                     Implementation candidate, int kind)
+                throws IllegalArgumentException {
+            if (kind < VALUE || kind > SCORE) {
+                throw new IllegalArgumentException("Invalid kind of check "
+                        + kind + " received.");
+            }
+            this.name = name;
+            this.reference = reference;
+            this.candidate = candidate;
+            this.kind = kind;
+        }
+
+        private boolean agrees(long expected, long actual) {
+            return kind == SCORE ? (int)expected == (int)actual
+                                 : expected == actual;
+        }
+
+        private String format(long value) {
+            if (kind == MOVE) {
+                return unpack(value);
+            } else if (kind == SCORE) {
+                return "score " + (int)value;
+            }
+            return String.valueOf(value);
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static long pack(int column, int score) {
+        return ((long)column << 32) | (score & 0xffffffffL);
+    }
+
+    private static String unpack(long value) {
+        int column = (int)(value >> 32), score = (int)value;
+        return "column " + (column + 1) + ", score " + score;
+    }
+
+    // The first search of a position: the reference for the search checks.
+    private static final Implementation REFERENCE_SEARCH =
+            new Implementation() {
+        public long evaluate(Position position) {
+            Minimax minimax = new Minimax(position.getBoard(),
+                                          position.getDepth());
+            int col = minimax.alphaBeta(position.getPlayer());
+            return pack(col, minimax.getScore());
+        }
+    };
+
+    // The scores of every move, worked out cell by cell: the reference for
+    // the heuristic checks.
+    private static final Implementation REFERENCE_SCORES =
+            new Implementation() {
+        public long evaluate(Position position) {
+            return getPlainHeuristicScores(position.getBoard(),
+                                           position.getPlayer());
+        }
+    };
+
+    /**
+     * Returns a session for the calling thread, kept from one position to
+     * the next.
+     */
+    private static EngineSession getSession(ThreadLocal<EngineSession> local,
+                                            Board board) {
+        EngineSession session = local.get();
+        if (session == null || session.getRows() != board.getRows()
+                || session.getColumns() != board.getColumns()) {
+            session = new EngineSession(board.getRows(), board.getColumns(),
+                                        SESSION_BITS);
+            local.set(session);
+        }
+        return session;
+    }
+
+    public static List<Check> getStandardChecks() {
+        List<Check> checks = new ArrayList<Check>();
+        checks.add(new Check("Win on the last move", new Implementation() {
+            public long evaluate(Position position) {
+                return position.isWon() ? 1 : 0;
+            }
+        }, new Implementation() {
+            public long evaluate(Position position) {
+                // Positions end at the first win, so only the last move
+                // can have won.
+                return position.getLastColumn() != -1
+                        && position.getBoard().completesLine(
+                                position.getLastColumn()) ? 1 : 0;
+            }
+        }, Check.VALUE));
+
+        // A game that is over has no moves left to filter.
+        checks.add(new Check("Non-losing columns", new Implementation() {
+            public long evaluate(Position position) {
+                return position.isWon() ? -1 : getNonLosingColumns(
+                        position.getBoard(), position.getPlayer());
+            }
+        }, new Implementation() {
+            public long evaluate(Position position) {
+                return position.isWon() ? -1 : position.getBoard()
+                        .getNonLosingColumns(position.getPlayer());
+            }
+        }, Check.VALUE));
+
+        // The key is kept up to date move by move; dropping and removing a
+        // checker in every column must leave it as it was.
+        checks.add(new Check("Position key", new Implementation() {
+            public long evaluate(Position position) {
+                return getPositionKey(position.getBoard());
+            }
+        }, new Implementation() {
+            public long evaluate(Position position) {
+                Board board = position.getBoard();
+                if (!Solver.supports(board.getRows(), board.getColumns())) {
+                    return 0;
+                }
+                for (int col = 0; col < board.getColumns(); col++) {
+                    if (board.isColumnAvailable(col)) {
+                        board.mark(col, position.getPlayer());
+                        board.unset(col);
+                    }
+                }
+                return board.getPositionKey();
+            }
+        }, Check.VALUE));
+
+        checks.add(new Check("Heuristic scores", REFERENCE_SCORES,
+                new Implementation() {
+            public long evaluate(Position position) {
+                return getHeuristicScores(position.getBoard(),
+                                          position.getPlayer());
+            }
+        }, Check.VALUE));
+
+        checks.add(new Check("Heuristic scores of a decoded copy",
+                REFERENCE_SCORES, new Implementation() {
+            public long evaluate(Position position) {
+                Board board = position.getBoard();
+                Board decoded = PositionCodec.fromMoveString(
+                        PositionCodec.toMoveString(board), board.getRows(),
+                        board.getColumns(), board.getWinLength());
+                return getHeuristicScores(new Board(decoded),
+                                          position.getPlayer());
+            }
+        }, Check.VALUE));
+
+        final ThreadLocal<EngineSession> sessions =
+                new ThreadLocal<EngineSession>();
+        checks.add(new Check("Alpha-beta with a session", REFERENCE_SEARCH,
+                new Implementation() {
+            public long evaluate(Position position) {
+                Board board = position.getBoard();
+                Minimax minimax = new Minimax(board, position.getDepth());
+                minimax.setSession(getSession(sessions, board));
+                int col = minimax.alphaBeta(position.getPlayer());
+                return pack(col, minimax.getScore());
+            }
+        }, Check.MOVE));
+
+        final ThreadLocal<EngineSession> threatSessions =
+                new ThreadLocal<EngineSession>();
+        checks.add(new Check("Threat evaluation with a session",
+                new Implementation() {
+            public long evaluate(Position position) {
+                Minimax minimax = new Minimax(position.getBoard(),
+                                              position.getDepth());
+                minimax.setEvaluation(ConnectFourConfig.THREAT_EVALUATION);
+                int col = minimax.alphaBeta(position.getPlayer());
+                return pack(col, minimax.getScore());
+            }
+        }, new Implementation() {
+            public long evaluate(Position position) {
+                Board board = position.getBoard();
+                Minimax minimax = new Minimax(board, position.getDepth());
+                minimax.setEvaluation(ConnectFourConfig.THREAT_EVALUATION);
+                minimax.setSession(getSession(threatSessions, board));
+                int col = minimax.alphaBeta(position.getPlayer());
+                return pack(col, minimax.getScore());
+            }
+        }, Check.MOVE));
+
+        final ThreadLocal<EngineSession> mtdfSessions =
+                new ThreadLocal<EngineSession>();
+        // MTD(f) may choose another column of the same value.
+        checks.add(new Check("MTD(f) score", REFERENCE_SEARCH,
+                new Implementation() {
+            public long evaluate(Position position) {
+                Board board = position.getBoard();
+                Minimax minimax = new Minimax(board, position.getDepth());
+                minimax.setAlgorithm(ConnectFourConfig.MTDF);
+                minimax.setSession(getSession(mtdfSessions, board));
+                int col = minimax.alphaBeta(position.getPlayer());
+                return pack(col, minimax.getScore());
+            }
+        }, Check.SCORE));
+
+        final ThreadLocal<EngineSession> multiPvSessions =
+                new ThreadLocal<EngineSession>();
+        checks.add(new Check("Best score of every column",
+                new Implementation() {
+            public long evaluate(Position position) {
+                Minimax minimax = new Minimax(position.getBoard(),
+                                              position.getDepth());
+                minimax.analyze(position.getPlayer());
+                return minimax.getScore();
+            }
+        }, new Implementation() {
+            public long evaluate(Position position) {
+                Board board = position.getBoard();
+                Minimax minimax = new Minimax(board, position.getDepth());
+                minimax.setSession(getSession(multiPvSessions, board));
+                return minimax.searchAllColumns(position.getPlayer())[0]
+                        .getScore();
+            }
+        }, Check.SCORE));
+        return checks;
+    }
+
+    /**
+     * Returns the columns in which the player wins at once or, if there are
+     * none, those after which the opponent cannot win at once, found by
+     * trying every move and reply.
+     */
+    private static long getNonLosingColumns(Board board, char player) {
+        char opponent = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                 : Board.MARK_RED;
+        int wins = 0, safe = 0;
+        for (int col = 0; col < board.getColumns(); col++) {
+            if (!board.isColumnAvailable(col)) {
+                continue;
+            }
+            board.mark(col, player);
+            if (board.completesLine(col)) {
+                wins |= 1 << col;
+            }
+            boolean loses = false;
+            for (int reply = 0; reply < board.getColumns() && !loses;
+                    reply++) {
+                if (board.isColumnAvailable(reply)) {
+                    board.mark(reply, opponent);
+                    loses = board.completesLine(reply);
+                    board.unset(reply);
+                }
+            }
+            if (!loses) {
+                safe |= 1 << col;
+            }
+            board.unset(col);
+        }
+        return wins != 0 ? wins : safe;
+    }
+
+    /**
+     * Returns the position key of the board worked out from its cells, or
+     * 0 if the board is too large to have one.
+     */
+    private static long getPositionKey(Board board) {
+        int rows = board.getRows(), columns = board.getColumns();
+        if (!Solver.supports(rows, columns)) {
+            return 0;
+        }
+        long key = 0;
+        for (int col = 0; col < columns; col++) {
+            int height = 0;
+            for (int row = rows - 1; row >= 0; row--) {
+                char mark = board.get(row, col);
+                if (mark == Board.UNMARKED) {
+                    break;
+                }
+                if (mark == Board.MARK_RED) {
+                    key |= 1L << (col * (rows + 1) + height);
+                }
+                height++;
+            }
+            key |= 1L << (col * (rows + 1) + height);
+        }
+        return key;
+    }
+
+    /**
+     * Combines the heuristic score of every available move, with the
+     * built-in weights, and whether it wins, into one value.
+     */
+    private static long getHeuristicScores(Board board, char player) {
+        board.setWeights(EvaluationWeights.getBuiltIn(board.getWinLength()));
+        long result = 0;
+        for (int col = 0; col < board.getColumns(); col++) {
+            int score = Integer.MIN_VALUE;
+            if (board.isColumnAvailable(col)) {
+                board.mark(col, player);
+                score = board.getHeuristicScore(player, col, 1, 2);
+                if (board.redWinFound() || board.blackWinFound()) {
+                    score = WIN;
+                }
+                board.unset(col);
+            }
+            result = result * 1000003 + score;
+        }
+        return result;
+    }
+
+    /**
+     * Returns what getHeuristicScores() should, scoring each move by
+     * counting the checkers of the windows through it one cell at a time:
+     * the windows of its row that hold it, the cells of its column from it
+     * down, and every window on its two diagonals.
+     */
+    private static long getPlainHeuristicScores(Board board, char player) {
+        int rows = board.getRows(), columns = board.getColumns(),
+            winLength = board.getWinLength();
+        // The original increments: each checker is worth four times the
+        // last, except the one that leaves a single gap, worth eight.
+        int[] increments = new int[winLength + 2];
+        increments[1] = 1;
+        for (int count = 2; count <= winLength + 1; count++) {
+            increments[count] = increments[count - 1]
+                                * (count == winLength - 1 ? 8 : 4);
+        }
+        long result = 0;
+        for (int col = 0; col < columns; col++) {
+            int score = Integer.MIN_VALUE;
+            if (board.isColumnAvailable(col)) {
+                board.mark(col, player);
+                int row = 0;
+                while (board.get(row, col) == Board.UNMARKED) {
+                    row++;
+                }
+                List<int[]> windows = new ArrayList<int[]>();
+                for (int c = Math.max(col - winLength + 1, 0);
+                        c <= Math.min(col, columns - winLength); c++) {
+                    windows.add(new int[] { row, c, 0, 1, winLength });
+                }
+                windows.add(new int[] { row, col, 1, 0,
+                        Math.min(rows, row + winLength) - row });
+                int back = Math.min(row, col);
+                for (int r = row - back, c = col - back;
+                        r <= rows - winLength && c <= columns - winLength;
+                        r++, c++) {
+                    windows.add(new int[] { r, c, 1, 1, winLength });
+                }
+                back = Math.min(rows - 1 - row, col);
+                for (int r = row + back, c = col - back;
+                        r >= winLength - 1 && c <= columns - winLength;
+                        r--, c++) {
+                    windows.add(new int[] { r, c, -1, 1, winLength });
+                }
+                score = 0;
+                for (int[] window : windows) {
+                    int redCount = 0, blackCount = 0;
+                    for (int i = 0; i < window[4]; i++) {
+                        char mark = board.get(window[0] + i * window[2],
+                                              window[1] + i * window[3]);
+                        if (mark == Board.MARK_RED) {
+                            redCount++;
+                        } else if (mark == Board.MARK_BLACK) {
+                            blackCount++;
+                        }
+                    }
+                    if (redCount == winLength || blackCount == winLength) {
+                        score = WIN;
+                        break;
+                    }
+                    score += getPlainScore(increments, redCount, blackCount,
+                                           player);
+                }
+                board.unset(col);
+            }
+            result = result * 1000003 + score;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the score of a window with the given counts, favoring Black,
+     * when player has just moved.
+     */
+    private static int getPlainScore(int[] increments, int redCount,
+                                     int blackCount, char player) {
+        if (redCount == blackCount) {
+            return player == Board.MARK_RED ? -1 : 1;
+        } else if (redCount < blackCount) {
+            if (player == Board.MARK_RED) {
+                return increments[blackCount] - increments[redCount];
+            }
+            return increments[blackCount + 1] - increments[redCount];
+        } else {
+            if (player == Board.MARK_RED) {
+                return -increments[redCount + 1] + increments[blackCount];
+            }
+            return -increments[redCount] + increments[blackCount];
+        }
+    }
+
+    private final List<Check> checks;
+    private final int rows, columns, winLength, depth;
+    private final AtomicLong positions = new AtomicLong();
+    private final List<String> reports = new ArrayList<String>();
+
+    public DifferentialTester(List<Check> checks, int rows, int columns,
+                              int winLength, int depth) {
+        this.checks = checks;
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+        this.depth = depth;
+    }
+
+    /**
+     * Returns a position after a random number of random legal moves, ending
+     * early at the first win.
+     */
+    private Position getRandomPosition(Random random) {
+        Board board = new Board(rows, columns, winLength);
+        char player = Board.MARK_RED;
+        StringBuilder moves = new StringBuilder();
+        int plays = random.nextInt(rows * columns);
+        for (int i = 0; i < plays; i++) {
+            int col = random.nextInt(columns);
+            while (!board.isColumnAvailable(col)) {
+                col = (col + 1) % columns;
+            }
+            board.set(col, player);
+            moves.append(PositionCodec.getColumnDigit(col));
+            if (board.completesLine(col)) {
+                break;
+            }
+            player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                              : Board.MARK_RED;
+        }
+        return new Position(board, moves.toString(), depth);
+    }
+
+    /**
+     * Runs every check on the position and returns the number of
+     * mismatches.
+     */
+    public int test(Position position, boolean verbose) {
+        int failed = 0;
+        boolean won = position.isWon();
+        Map<Implementation, Long> references =
+                new IdentityHashMap<Implementation, Long>();
+        for (Check check : checks) {
+            if (check.kind != Check.VALUE && won) {
+                continue;
+            }
+            Long expected = references.get(check.reference);
+            if (expected == null) {
+                expected = check.reference.evaluate(position);
+                references.put(check.reference, expected);
+            }
+            long actual = check.candidate.evaluate(position);
+            boolean agrees = check.agrees(expected, actual);
+            if (verbose) {
+                System.out.println(String.format("%-36s %s", check.name,
+                        agrees ? "agrees" : "differs: reference "
+                        + check.format(expected) + ", candidate "
+                        + check.format(actual)));
+            }
+            if (!agrees) {
+                failed++;
+                check.mismatches.incrementAndGet();
+                report(check, position, expected, actual);
+            }
+        }
+        positions.incrementAndGet();
+        return failed;
+    }
+
+    private void report(Check check, Position position, long expected,
+                        long actual) {
+        String line = check.name + " differs on "
+                + (position.moves.length() == 0 ? "the empty board"
+                                                : position.moves)
+                + ": reference " + check.format(expected) + ", candidate "
+                + check.format(actual);
+        synchronized (reports) {
+            if (reports.size() < MAX_REPORTED) {
+                reports.add(line);
+                System.out.println(line);
+            }
+        }
+    }
+
+    /**
+     * Tests random positions on the given number of threads until the time
+     * is up or the number of positions is reached. Each thread draws its
+     * positions from its own generator, seeded from seed, so a run can be
+     * repeated. Returns the total number of mismatches.
+     */
+    public long run(int threads, final long seed, long millis,
+                    final long maxPositions) throws InterruptedException {
+        final long deadline = System.nanoTime() + millis * 1000000L;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final Random random = new Random(seed + t);
+            workers[t] = new Thread() {
+                public void run() {
+                    while (System.nanoTime() - deadline < 0
+                            && positions.get() < maxPositions) {
+                        test(getRandomPosition(random), false);
+                    }
+                }
+            };
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long total = 0;
+        for (Check check : checks) {
+            total += check.mismatches.get();
+        }
+        return total;
+    }
+
+    public long getPositions() {
+        return positions.get();
+    }
+
+    public void report(double seconds) {
+        System.out.println(nf.format(positions.get()) + " positions in "
+                + String.format("%.1f", seconds) + " seconds, "
+                + nf.format(Math.round(positions.get() * 60 / seconds))
+                + " per minute, searching to depth " + depth + ":");
+        for (Check check : checks) {
+            System.out.println(String.format("   %-36s %s", check.name,
+                    check.mismatches.get() == 0 ? "no mismatches"
+                    : nf.format(check.mismatches.get()) + " mismatches"));
+        }
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d search depth of the search checks [default 4]\n");
+        builder.append("   -l time limit in seconds [default 60]\n");
+        builder.append("   -n checkers in a row needed to win [default "
+                + Board.DEFAULT_WIN_LENGTH + "]\n");
+        builder.append("   -p maximum number of positions [default: no"
+                + " limit]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -s random seed [default: the current time]\n");
+        builder.append("   -t number of threads [default: one per"
+                + " processor]\n");
+        builder.append("   -x move string of a single position to test,"
+                + " as reported by a mismatch");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "DifferentialTester";
+        Getopt g = new Getopt(programName, args, "c:d:hl:n:p:r:s:t:x:");
+        g.setOpterr(false);
+        int c, depth = 4, rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS,
+            winLength = Board.DEFAULT_WIN_LENGTH,
+            threads = Runtime.getRuntime().availableProcessors();
+        long seconds = 60, maxPositions = Long.MAX_VALUE,
+             seed = System.currentTimeMillis();
+        String arg = null, replay = null;
+        try {
+            while ((c = g.getopt()) != -1) {
+                switch (c) {
+                    case 'c':
+                        arg = g.getOptarg();
+                        columns = Integer.parseInt(arg);
+                        break;
+                    case 'd':
+                        arg = g.getOptarg();
+                        depth = Integer.parseInt(arg);
+                        if (depth < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case 'h':
+                        System.out.println(getHelp(programName));
+                        System.exit(0);
+                    case 'l':
+                        arg = g.getOptarg();
+                        seconds = Long.parseLong(arg);
+                        break;
+                    case 'n':
+                        arg = g.getOptarg();
+                        winLength = Integer.parseInt(arg);
+                        break;
+                    case 'p':
+                        arg = g.getOptarg();
+                        maxPositions = Long.parseLong(arg);
+                        break;
+                    case 'r':
+                        arg = g.getOptarg();
+                        rows = Integer.parseInt(arg);
+                        break;
+                    case 's':
+                        arg = g.getOptarg();
+                        seed = Long.parseLong(arg);
+                        break;
+                    case 't':
+                        arg = g.getOptarg();
+                        threads = Integer.parseInt(arg);
+                        if (threads < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case 'x':
+                        replay = g.getOptarg();
+                        break;
+                    case '?':
+                        System.err.println(programName + ": Unknown option '"
+                                + (char)g.getOptopt() + "' received.");
+                        System.exit(1);
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid number '" + arg
+                    + "'.");
+            System.exit(1);
+        }
+
+        try {
+            DifferentialTester tester = new DifferentialTester(
+                    getStandardChecks(), rows, columns, winLength, depth);
+            if (replay != null) {
+                Board board = PositionCodec.fromMoveString(replay, rows,
+                        columns, winLength);
+                int failed = tester.test(new Position(board, replay, depth),
+                                         true);
+                System.exit(failed == 0 ? 0 : 1);
+            }
+            System.out.println("Seed " + seed + ", " + threads + " threads.");
+            long start = System.nanoTime();
+            long failed = tester.run(threads, seed, seconds * 1000,
+                                     maxPositions);
+            tester.report((System.nanoTime() - start) / 1e9);
+            System.exit(failed == 0 ? 0 : 1);
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        } catch (InterruptedException ie) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * File: GameAnalyzer.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+/**
+ * Prints the analysis of a finished game, given as a move string, with its
+ * blunders marked.
+ */
+public class GameAnalyzer {
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options] moves\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d search depth [default "
+                + GameAnalysis.DEFAULT_DEPTH + ", that of EXPERT]\n");
+        builder.append("   -n checkers in a row needed to win [default "
+                + Board.DEFAULT_WIN_LENGTH + "]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -t number of threads [default: one per"
+                + " processor]\n");
+        builder.append("   moves is the game as a move string, one column"
+                + " digit per move");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "GameAnalyzer";
+        Getopt g = new Getopt(programName, args, "c:d:hn:r:t:");
+        g.setOpterr(false);
+        int c, depth = GameAnalysis.DEFAULT_DEPTH,
+            rows = Board.DEFAULT_ROWS, columns = Board.DEFAULT_COLUMNS,
+            winLength = Board.DEFAULT_WIN_LENGTH,
+            threads = Runtime.getRuntime().availableProcessors();
+        String arg = null;
+        try {
+            while ((c = g.getopt()) != -1) {
+                switch (c) {
+                    case 'c':
+                        arg = g.getOptarg();
+                        columns = Integer.parseInt(arg);
+                        break;
+                    case 'd':
+                        arg = g.getOptarg();
+                        depth = Integer.parseInt(arg);
+                        break;
+                    case 'h':
+                        System.out.println(getHelp(programName));
+                        System.exit(0);
+                    case 'n':
+                        arg = g.getOptarg();
+                        winLength = Integer.parseInt(arg);
+                        break;
+                    case 'r':
+                        arg = g.getOptarg();
+                        rows = Integer.parseInt(arg);
+                        break;
+                    case 't':
+                        arg = g.getOptarg();
+                        threads = Integer.parseInt(arg);
+                        if (threads < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case '?':
+                        System.err.println(programName + ": Unknown option '"
+                                + (char)g.getOptopt() + "' received.");
+                        System.exit(1);
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid number '" + arg
+                    + "'.");
+            System.exit(1);
+        }
+        if (g.getOptind() != args.length - 1) {
+            System.err.println(getHelp(programName));
+            System.exit(1);
+        }
+
+        GameAnalysis analysis = null;
+        try {
+            Board board = PositionCodec.fromMoveString(args[g.getOptind()],
+                    rows, columns, winLength);
+            analysis = new GameAnalysis(depth, threads);
+            long start = System.nanoTime();
+            GameAnalysis.MoveAnalysis[] moves = analysis.analyze(board);
+            double ms = (System.nanoTime() - start) / 1e6;
+            System.out.println(GameAnalysis.getHeader());
+            int blunders = 0;
+            for (GameAnalysis.MoveAnalysis move : moves) {
+                System.out.println(move);
+                if (move.isBlunder()) {
+                    blunders++;
+                }
+            }
+            System.out.println(String.format("%d moves analyzed at depth %d"
+                    + " on %d threads in %.0f ms, %d blunders.", moves.length,
+                    depth, threads, ms, blunders));
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        } catch (InterruptedException ie) {
+            System.exit(1);
+        } finally {
+            if (analysis != null) {
+                analysis.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,694 @@
+/**
+ * File: OpeningSolver.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates every opening position to a given ply with Minimax, spread
+ * over several worker processes.
+ *
+ * The coordinator lists the positions reached after the given number of
+ * plies, keeping one of each pair of mirror images and one of each set of
+ * transpositions, and cuts the list into units of a few positions. It
+ * listens on a loopback port and starts the workers, each a JVM running
+ * this class with -w, which ask for a unit, evaluate it and send the
+ * results back. Every worker has its own queue holding a contiguous run of
+ * units; a worker whose queue runs dry takes the last unit of the longest
+ * other queue. A unit held by a worker that disconnects goes back to its
+ * queue.
+ *
+ * Each finished unit is appended to a checkpoint file. A coordinator
+ * started again with the same options skips the positions already there,
+ * so an interrupted run loses at most the units in flight. When all
+ * positions are done, the results are written to the output file in the
+ * order the positions were listed, one line per position, in the format
+ * of BatchEvaluator:
+ *
+ *     position  column  score  boards-analyzed
+ *
+ * The mirror image of a position has the mirrored column and the same
+ * score. With -n 0 no workers are started; they can be started by hand
+ * with -w and the port the coordinator prints.
+ */
+public class OpeningSolver {
+    private static final NumberFormat nf = NumberFormat.getInstance();
+    private static final String CHECKPOINT_HEADER = "# OpeningSolver";
+    private static final long FORCE_INTERVAL = 5000, WORKER_CHECK = 1000;
+
+    private final int plies, maxDepth, unitSize, rows, columns, winLength;
+    private final List<String> positions = new ArrayList<String>();
+    private final List<ArrayDeque<Unit>> queues =
+            new ArrayList<ArrayDeque<Unit>>();
+    private String[] results;
+    private int completed, stolen, connections;
+    private FileChannel checkpoint;
+    private long lastForce;
+
+    public OpeningSolver(int plies, int maxDepth, int unitSize, int rows,
+                         int columns, int winLength) {
+        this.plies = plies;
+        this.maxDepth = maxDepth;
+        this.unitSize = unitSize;
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+    }
+
+    /**
+     * Returns one move string for each distinct position after the given
+     * number of plies, up to mirror images. Games that end sooner are left
+     * out.
+     */
+    public List<String> getPositions() {
+        if (positions.isEmpty()) {
+            Board board = new Board(rows, columns, winLength),
+                  mirror = new Board(rows, columns, winLength);
+            enumerate(board, mirror, new StringBuilder(), Board.MARK_RED,
+                      new HashSet<ByteBuffer>());
+        }
+        return positions;
+    }
+
+    private void enumerate(Board board, Board mirror, StringBuilder moves,
+                           char player, Set<ByteBuffer> seen) {
+        if (moves.length() == plies) {
+            byte[] key = PositionCodec.toKey(board),
+                   mirrorKey = PositionCodec.toKey(mirror);
+            if (compareKeys(mirrorKey, key) < 0) {
+                key = mirrorKey;
+            }
+            if (seen.add(ByteBuffer.wrap(key))) {
+                positions.add(moves.toString());
+            }
+            return;
+        }
+        if (board.getWinner() != Board.UNMARKED || board.isFull()) {
+            return;
+        }
+        char opponent = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                 : Board.MARK_RED;
+        for (int col = 0; col < columns; col++) {
+            if (!board.isColumnAvailable(col)) {
+                continue;
+            }
+            board.set(col, player);
+            mirror.set(columns - 1 - col, player);
+            moves.append(PositionCodec.getColumnDigit(col));
+            enumerate(board, mirror, moves, opponent, seen);
+            moves.setLength(moves.length() - 1);
+            mirror.unset(columns - 1 - col);
+            board.unset(col);
+        }
+    }
+
+    private static int compareKeys(byte[] a, byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int difference = (a[i] & 0xff) - (b[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getStolen() {
+        return stolen;
+    }
+
+    /**
+     * Evaluates all the positions, starting the given number of workers,
+     * and writes the results to the output file. The checkpoint file is
+     * deleted once the output is complete.
+     */
+    public void solve(String outputFile, String checkpointFile, int workers,
+                      int port) throws IOException, InterruptedException {
+        List<String> list = getPositions();
+        results = new String[list.size()];
+        Path checkpointPath = Paths.get(checkpointFile);
+        int resumed = resume(checkpointPath);
+        System.out.println(nf.format(list.size()) + " positions after "
+                + plies + " plies, " + nf.format(resumed)
+                + " already checkpointed.");
+        createQueues(Math.max(workers, 1));
+        List<Process> processes = new ArrayList<Process>();
+        try (FileChannel channel = FileChannel.open(checkpointPath,
+                     StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.APPEND);
+             final ServerSocket server = new ServerSocket(port, 50,
+                     InetAddress.getLoopbackAddress())) {
+            checkpoint = channel;
+            if (channel.size() == 0) {
+                append(CHECKPOINT_HEADER + " " + getSettings() + "\n");
+            }
+            Thread acceptor = new Thread() {
+                public void run() {
+                    accept(server);
+                }
+            };
+            acceptor.setDaemon(true);
+            acceptor.start();
+            System.out.println("Listening on port " + server.getLocalPort()
+                    + ".");
+            for (int i = 0; i < workers; i++) {
+                processes.add(startWorker(server.getLocalPort()));
+            }
+            waitForResults(processes);
+            channel.force(false);
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(
+                Paths.get(outputFile), StandardCharsets.US_ASCII)) {
+            for (String result : results) {
+                out.write(result);
+                out.write('\n');
+            }
+        }
+        Files.delete(checkpointPath);
+    }
+
+    private String getSettings() {
+        return rows + "x" + columns + " win " + winLength + " plies " + plies
+                + " depth " + maxDepth;
+    }
+
+    /**
+     * Reads the results of an earlier run from the checkpoint, dropping a
+     * trailing partial line, and returns how many there were.
+     */
+    private int resume(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        byte[] data = Files.readAllBytes(path);
+        int end = data.length;
+        while (end > 0 && data[end - 1] != '\n') {
+            end--;
+        }
+        if (end < data.length) {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+        String[] lines = new String(data, 0, end, StandardCharsets.US_ASCII)
+                .split("\n");
+        if (end == 0) {
+            return 0;
+        }
+        if (!lines[0].equals(CHECKPOINT_HEADER + " " + getSettings())) {
+            throw new IOException(path + " was written with other settings.");
+        }
+        Map<String, Integer> indexes = new HashMap<String, Integer>();
+        for (int i = 0; i < positions.size(); i++) {
+            indexes.put(positions.get(i), i);
+        }
+        int count = 0;
+        for (int i = 1; i < lines.length; i++) {
+            Integer index = indexes.get(getPosition(lines[i]));
+            if (index == null) {
+                throw new IOException("Line " + (i + 1) + " of " + path
+                        + " holds an unknown position.");
+            }
+            if (results[index] == null) {
+                results[index] = lines[i];
+                count++;
+            }
+        }
+        completed = count;
+        return count;
+    }
+
+    private static String getPosition(String result) {
+        int tab = result.indexOf('\t');
+        return tab < 0 ? result : result.substring(0, tab);
+    }
+
+    /**
+     * Cuts the unfinished positions into units and deals contiguous runs of
+     * them to the queues.
+     */
+    private void createQueues(int count) {
+        List<Unit> units = new ArrayList<Unit>();
+        int[] indexes = new int[unitSize];
+        int size = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                indexes[size++] = i;
+                if (size == unitSize) {
+                    units.add(new Unit(units.size(), indexes, size));
+                    size = 0;
+                }
+            }
+        }
+        if (size > 0) {
+            units.add(new Unit(units.size(), indexes, size));
+        }
+        for (int q = 0; q < count; q++) {
+            ArrayDeque<Unit> queue = new ArrayDeque<Unit>();
+            int first = (int)((long)units.size() * q / count),
+                last = (int)((long)units.size() * (q + 1) / count);
+            queue.addAll(units.subList(first, last));
+            queues.add(queue);
+        }
+    }
+
+    private Process startWorker(int port) throws IOException {
+        String java = System.getProperty("java.home") + File.separator
+                + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp",
+                System.getProperty("java.class.path"), "OpeningSolver",
+                "-w", Integer.toString(port), "-d", Integer.toString(maxDepth),
+                "-r", Integer.toString(rows), "-c", Integer.toString(columns),
+                "-l", Integer.toString(winLength));
+        builder.inheritIO();
+        return builder.start();
+    }
+
+    private void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            final Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException ioe) {
+                return;
+            }
+            final int home;
+            synchronized (this) {
+                home = connections++ % queues.size();
+            }
+            Thread thread = new Thread() {
+                public void run() {
+                    serve(socket, home);
+                }
+            };
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Waits until every position has a result, failing if all the workers
+     * started have exited first.
+     */
+    private synchronized void waitForResults(List<Process> processes)
+            throws IOException, InterruptedException {
+        while (completed < results.length) {
+            wait(WORKER_CHECK);
+            if (completed < results.length && !processes.isEmpty()) {
+                boolean alive = false;
+                for (Process process : processes) {
+                    if (isAlive(process)) {
+                        alive = true;
+                        break;
+                    }
+                }
+                if (!alive) {
+                    throw new IOException("All workers exited with "
+                            + nf.format(results.length - completed)
+                            + " positions left.");
+                }
+            }
+        }
+    }
+
+    private static boolean isAlive(Process process) {
+        try {
+            process.exitValue();
+            return false;
+        } catch (IllegalThreadStateException itse) {
+            return true;
+        }
+    }
+
+    /**
+     * Talks to one worker. The worker sends NEXT, or RESULT with the id of
+     * its unit, the number of results and one line per result; either way
+     * the reply is the next unit, as UNIT with its id, the number of
+     * positions and one line per move string, or DONE.
+     */
+    private void serve(Socket socket, int home) {
+        Unit unit = null;
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     s.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                     s.getOutputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(" ");
+                if (fields[0].equals("RESULT") && fields.length == 3
+                        && unit != null
+                        && Integer.parseInt(fields[1]) == unit.id
+                        && Integer.parseInt(fields[2]) == unit.count) {
+                    String[] lines = new String[unit.count];
+                    for (int i = 0; i < unit.count; i++) {
+                        lines[i] = in.readLine();
+                        if (lines[i] == null) {
+                            return;
+                        }
+                    }
+                    record(unit, lines);
+                    unit = null;
+                } else if (!line.equals("NEXT") || unit != null) {
+                    throw new IOException("Unexpected message '" + line
+                            + "'.");
+                }
+                unit = take(home);
+                if (unit == null) {
+                    out.print("DONE\n");
+                    out.flush();
+                    return;
+                }
+                out.print("UNIT " + unit.id + " " + unit.count + "\n");
+                for (int i = 0; i < unit.count; i++) {
+                    out.print(positions.get(unit.indexes[i]) + "\n");
+                }
+                out.flush();
+            }
+        } catch (IOException ioe) {
+            System.err.println("Worker connection failed: "
+                    + ioe.getMessage());
+        } catch (NumberFormatException nfe) {
+            System.err.println("Worker sent a malformed result.");
+        } catch (InterruptedException ie) {
+            return;
+        } finally {
+            if (unit != null) {
+                requeue(home, unit);
+            }
+        }
+    }
+
+    /**
+     * Returns the next unit for a worker: the first of its own queue, or
+     * else the last of the longest queue. Waits while all queues are empty
+     * but units are still out, since they may come back, and returns null
+     * once every position has a result.
+     */
+    private synchronized Unit take(int home) throws InterruptedException {
+        while (true) {
+            ArrayDeque<Unit> own = queues.get(home);
+            if (!own.isEmpty()) {
+                return own.removeFirst();
+            }
+            ArrayDeque<Unit> victim = own;
+            for (ArrayDeque<Unit> queue : queues) {
+                if (queue.size() > victim.size()) {
+                    victim = queue;
+                }
+            }
+            if (!victim.isEmpty()) {
+                stolen++;
+                return victim.removeLast();
+            }
+            if (completed == results.length) {
+                return null;
+            }
+            wait();
+        }
+    }
+
+    private synchronized void requeue(int home, Unit unit) {
+        queues.get(home).addFirst(unit);
+        notifyAll();
+    }
+
+    private synchronized void record(Unit unit, String[] lines)
+            throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < unit.count; i++) {
+            int index = unit.indexes[i];
+            if (!getPosition(lines[i]).equals(positions.get(index))) {
+                throw new IOException("Result for the wrong position '"
+                        + getPosition(lines[i]) + "'.");
+            }
+            results[index] = lines[i];
+            builder.append(lines[i]).append('\n');
+        }
+        append(builder.toString());
+        long now = System.currentTimeMillis();
+        if (now - lastForce >= FORCE_INTERVAL) {
+            checkpoint.force(false);
+            lastForce = now;
+        }
+        completed += unit.count;
+        notifyAll();
+    }
+
+    private void append(String text) throws IOException {
+        ByteBuffer buffer =
+                ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        while (buffer.hasRemaining()) {
+            checkpoint.write(buffer);
+        }
+    }
+
+    /**
+     * Runs a worker: evaluates the units handed out by the coordinator on
+     * the given port until it has no more.
+     */
+    public static void work(int port, int maxDepth, int rows, int columns,
+                            int winLength) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(),
+                     port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            out.write("NEXT\n");
+            out.flush();
+            String line;
+            while ((line = in.readLine()) != null && !line.equals("DONE")) {
+                String[] fields = line.split(" ");
+                if (!fields[0].equals("UNIT") || fields.length != 3) {
+                    throw new IOException("Unexpected message '" + line
+                            + "'.");
+                }
+                int count = Integer.parseInt(fields[2]);
+                String[] moves = new String[count];
+                for (int i = 0; i < count; i++) {
+                    moves[i] = in.readLine();
+                    if (moves[i] == null) {
+                        return;
+                    }
+                }
+                StringBuilder builder = new StringBuilder("RESULT "
+                        + fields[1] + " " + count + "\n");
+                for (String position : moves) {
+                    builder.append(evaluate(position, maxDepth, rows,
+                            columns, winLength)).append('\n');
+                }
+                out.write(builder.toString());
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Scores a position with analyze() rather than alphaBeta(), whose
+     * immediate win and block passes return the win sentinels instead of
+     * the score of the search.
+     */
+    private static String evaluate(String position, int maxDepth, int rows,
+                                   int columns, int winLength) {
+        Board board = PositionCodec.fromMoveString(position, rows, columns,
+                                                   winLength);
+        if (board.getWinner() != Board.UNMARKED || board.isFull()) {
+            return position + "\t0\t0\t0";
+        }
+        Minimax minimax = new Minimax(board, maxDepth);
+        int col = minimax.analyze(PositionCodec.getPlayerToMove(board));
+        return position + "\t" + (col + 1) + "\t" + minimax.getScore()
+                + "\t" + minimax.getBoardsAnalyzed();
+    }
+
+    private static class Unit {
+        private final int id, count;
+        private final int[] indexes;
+
+        Unit(int id, int[] indexes, int count) {
+            this.id = id;
+            this.count = count;
+            this.indexes = new int[count];
+            System.arraycopy(indexes, 0, this.indexes, 0, count);
+        }
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options] output\n");
+        builder.append("   -b positions per work unit [default 4]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d search depth [default 8]\n");
+        builder.append("   -k checkpoint file [default: output"
+                + " followed by .checkpoint]\n");
+        builder.append("   -l checkers in a row needed to win [default "
+                + Board.DEFAULT_WIN_LENGTH + "]\n");
+        builder.append("   -n worker processes [default: number of"
+                + " processors]\n");
+        builder.append("   -p plies to enumerate [default 4]\n");
+        builder.append("   -P port [default: any free port]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -w port: run as a worker for the coordinator"
+                + " on port");
+        return builder.toString();
+    }
+
+    private static int parseInt(String programName, String name, String arg,
+                                int min, int max) {
+        try {
+            int value = Integer.parseInt(arg);
+            if (value < min || value > max) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid " + name + " '" + arg
+                    + "'.");
+            System.exit(1);
+            return 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        String programName = "OpeningSolver";
+        Getopt g = new Getopt(programName, args, "b:c:d:hk:l:n:p:P:r:w:");
+        g.setOpterr(false);
+        int c, unitSize = 4, maxDepth = 8, plies = 4, port = 0,
+            workerPort = -1,
+            workers = Runtime.getRuntime().availableProcessors(),
+            rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS,
+            winLength = Board.DEFAULT_WIN_LENGTH;
+        String checkpointFile = null;
+        while ((c = g.getopt()) != -1) {
+            switch (c) {
+                case 'b':
+                    unitSize = parseInt(programName, "unit size",
+                            g.getOptarg(), 1, Integer.MAX_VALUE);
+                    break;
+                case 'c':
+                    columns = parseInt(programName, "number of columns",
+                            g.getOptarg(), Board.MIN_SIZE, Board.MAX_SIZE);
+                    break;
+                case 'd':
+                    maxDepth = parseInt(programName, "search depth",
+                            g.getOptarg(), 1, Integer.MAX_VALUE);
+                    break;
+                case 'h':
+                    System.out.println(getHelp(programName));
+                    System.exit(0);
+                case 'k':
+                    checkpointFile = g.getOptarg();
+                    break;
+                case 'l':
+                    winLength = parseInt(programName, "win length",
+                            g.getOptarg(), Board.MIN_WIN_LENGTH,
+                            Board.MAX_WIN_LENGTH);
+                    break;
+                case 'n':
+                    workers = parseInt(programName, "number of workers",
+                            g.getOptarg(), 0, Integer.MAX_VALUE);
+                    break;
+                case 'p':
+                    plies = parseInt(programName, "number of plies",
+                            g.getOptarg(), 0, Integer.MAX_VALUE);
+                    break;
+                case 'P':
+                    port = parseInt(programName, "port", g.getOptarg(),
+                                    0, 65535);
+                    break;
+                case 'r':
+                    rows = parseInt(programName, "number of rows",
+                            g.getOptarg(), Board.MIN_SIZE, Board.MAX_SIZE);
+                    break;
+                case 'w':
+                    workerPort = parseInt(programName, "port",
+                            g.getOptarg(), 1, 65535);
+                    break;
+                case '?':
+                    System.err.println(programName + ": Unknown option '"
+                            + (char)g.getOptopt() + "' received.");
+                    System.exit(1);
+                default:
+                    break;
+            }
+        }
+        if (workerPort >= 0) {
+            try {
+                work(workerPort, maxDepth, rows, columns, winLength);
+            } catch (IOException ioe) {
+                System.err.println(programName + " worker: "
+                        + ioe.getMessage());
+                System.exit(1);
+            } catch (NumberFormatException nfe) {
+                System.err.println(programName + " worker: malformed unit.");
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length - g.getOptind() != 1 || plies > rows * columns) {
+            System.err.println(getHelp(programName));
+            System.exit(1);
+        }
+        String outputFile = args[g.getOptind()];
+        if (checkpointFile == null) {
+            checkpointFile = outputFile + ".checkpoint";
+        }
+        OpeningSolver solver =
+                new OpeningSolver(plies, maxDepth, unitSize, rows, columns,
+                                  winLength);
+        long start = System.currentTimeMillis();
+        try {
+            solver.solve(outputFile, checkpointFile, workers, port);
+        } catch (IOException ioe) {
+            System.err.println("Error: " + ioe.getMessage());
+            System.exit(1);
+        } catch (InterruptedException ie) {
+            System.exit(1);
+        }
+        double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+        System.out.println(nf.format(solver.getCompleted())
+                + " positions evaluated in " + elapsed + " seconds, "
+                + nf.format(solver.getStolen()) + " units stolen.");
+    }
+}
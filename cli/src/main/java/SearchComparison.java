@@ -0,0 +1,224 @@
+/**
+ * File: SearchComparison.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the search algorithms side by side on a set of positions: plain
+ * alpha-beta, alpha-beta with an engine session, and MTD(f). Each search
+ * starts from a fresh session so that no algorithm profits from another's
+ * work. Reports boards analyzed and wall time per algorithm, and checks
+ * that every algorithm finds the same score as plain alpha-beta.
+ *
+ * The standard set holds two positions each for 0 to 30 checkers played
+ * on the standard board, drawn from random games in which the player to
+ * move cannot win at once. Other sets may be read from a file of move
+ * strings, one per line.
+ */
+public class SearchComparison {
+    public static final String[] STANDARD_POSITIONS = {
+        "", "15", "77", "2341", "7547", "744771", "727665", "72356727",
+        "66737365", "6723441655", "7253175417", "575521175446",
+        "122252343773", "72255167511741", "14124533335115",
+        "3314635726637655", "2253162263143771", "531136227613776277",
+        "756774656571566261", "44472677611163233266",
+        "24257262516631646762", "6673312261643543237445",
+        "7522776625175227765265", "147141421734136245647631",
+        "425717131236243473412633", "66245261272132512614144134",
+        "77252513713324375261323716", "3772571673755361752552111241",
+        "5222434324114226637611361613", "361555327366772257115753223311",
+        "143117521576324323472331122565" };
+    private static final String[] NAMES = {
+        "Alpha-beta", "Alpha-beta + session", "MTD(f)" };
+    private static final int TABLE_BITS = 20;
+    private static final NumberFormat nf = NumberFormat.getInstance();
+
+    private final int depth, rows, columns;
+    private final long[] boards = new long[NAMES.length],
+                         nanos = new long[NAMES.length];
+    private final int[] mismatches = new int[NAMES.length];
+
+    public SearchComparison(int depth, int rows, int columns) {
+        this.depth = depth;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    private Minimax createMinimax(Board board, int mode) {
+        Minimax minimax = new Minimax(board, depth);
+        if (mode > 0) {
+            minimax.setSession(new EngineSession(rows, columns, TABLE_BITS));
+        }
+        if (mode == 2) {
+            minimax.setAlgorithm(ConnectFourConfig.MTDF);
+        }
+        return minimax;
+    }
+
+    public void compare(String position, boolean verbose)
+            throws IllegalArgumentException {
+        Board board = PositionCodec.fromMoveString(position, rows, columns);
+        char player = PositionCodec.getPlayerToMove(board);
+        StringBuilder line = new StringBuilder(String.format("%-32s",
+                position.length() == 0 ? "(empty)" : position));
+        int expected = 0;
+        for (int mode = 0; mode < NAMES.length; mode++) {
+            // Session tables are allocated outside of the timing.
+            Minimax minimax = createMinimax(new Board(board), mode);
+            long start = System.nanoTime();
+            int col = minimax.alphaBeta(player);
+            nanos[mode] += System.nanoTime() - start;
+            boards[mode] += minimax.getBoardsAnalyzed();
+            if (mode == 0) {
+                expected = minimax.getScore();
+            } else if (minimax.getScore() != expected) {
+                mismatches[mode]++;
+            }
+            line.append(String.format(" %2d %12s", col + 1,
+                                      nf.format(minimax.getBoardsAnalyzed())));
+        }
+        if (verbose) {
+            System.out.println(line);
+        }
+    }
+
+    public void report() {
+        System.out.println(String.format("%-22s %16s %10s %10s", "Algorithm",
+                "Boards", "ms", "Mismatches"));
+        for (int mode = 0; mode < NAMES.length; mode++) {
+            System.out.println(String.format("%-22s %16s %10.1f %10d",
+                    NAMES[mode], nf.format(boards[mode]), nanos[mode] / 1e6,
+                    mismatches[mode]));
+        }
+    }
+
+    private static List<String> readPositions(String filename)
+            throws IOException {
+        List<String> positions = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(filename));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.startsWith("#")) {
+                    positions.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return positions;
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d search depth [default 8]\n");
+        builder.append("   -f file of move strings, one per line [default:"
+                + " the standard set]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -v print the column chosen and boards analyzed"
+                + " for each position");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "SearchComparison";
+        Getopt g = new Getopt(programName, args, "c:d:f:hr:v");
+        g.setOpterr(false);
+        int c, depth = 8, rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS;
+        String filename = null;
+        boolean verbose = false;
+        String arg = null;
+        try {
+            while ((c = g.getopt()) != -1) {
+                switch (c) {
+                    case 'c':
+                        arg = g.getOptarg();
+                        columns = Integer.parseInt(arg);
+                        break;
+                    case 'd':
+                        arg = g.getOptarg();
+                        depth = Integer.parseInt(arg);
+                        if (depth < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case 'f':
+                        filename = g.getOptarg();
+                        break;
+                    case 'h':
+                        System.out.println(getHelp(programName));
+                        System.exit(0);
+                    case 'r':
+                        arg = g.getOptarg();
+                        rows = Integer.parseInt(arg);
+                        break;
+                    case 'v':
+                        verbose = true;
+                        break;
+                    case '?':
+                        System.err.println(programName + ": Unknown option '"
+                                + (char)g.getOptopt() + "' received.");
+                        System.exit(1);
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid number '" + arg
+                    + "'.");
+            System.exit(1);
+        }
+
+        List<String> positions = new ArrayList<String>();
+        if (filename == null) {
+            for (String position : STANDARD_POSITIONS) {
+                positions.add(position);
+            }
+        } else {
+            try {
+                positions = readPositions(filename);
+            } catch (IOException ioe) {
+                System.err.println("Error: " + ioe.getMessage());
+                System.exit(1);
+            }
+        }
+
+        SearchComparison comparison = new SearchComparison(depth, rows,
+                                                           columns);
+        if (verbose) {
+            StringBuilder header = new StringBuilder(String.format("%-32s",
+                    "Position"));
+            for (int mode = 0; mode < NAMES.length; mode++) {
+                header.append(String.format(" %2s %12s", "C", "Boards"));
+            }
+            System.out.println(header);
+        }
+        try {
+            for (String position : positions) {
+                comparison.compare(position, verbose);
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        }
+        System.out.println(positions.size() + " positions at depth " + depth
+                + ":");
+        comparison.report();
+    }
+}
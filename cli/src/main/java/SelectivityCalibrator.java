@@ -0,0 +1,373 @@
+/**
+ * File: SelectivityCalibrator.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gathers the statistics the selective search of Minimax relies on, and
+ * checks what the selective search gains and costs.
+ *
+ * Calibration searches positions from random games to a range of depths
+ * and fits, by least squares, the value of each position searched to one
+ * depth to its value searched two plies shallower, for ProbCut, and its
+ * value one ply from the horizon to the score of the move that led to it,
+ * for futility pruning. The tables are printed as Java to be pasted into
+ * Minimax. Positions whose values are wins found near the root are left
+ * out.
+ *
+ * Verification searches the positions of SearchComparison to the given
+ * depth at every selectivity, each with a fresh session, and plays every
+ * level against the full-width search at that depth from every two-ply
+ * opening, once with each color.
+ */
+public class SelectivityCalibrator {
+    private static final int TABLE_BITS = 20, MIN_DEPTH = 3,
+                             WIN_LIMIT = 1 << 24;
+    private static final NumberFormat nf = NumberFormat.getInstance();
+
+    private final int rows, columns;
+    private final Random random;
+
+    public SelectivityCalibrator(int rows, int columns, long seed) {
+        this.rows = rows;
+        this.columns = columns;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns the moves of a random game of a random length up to half the
+     * board, in which nobody has won yet.
+     */
+    private String getRandomGame() {
+        while (true) {
+            Board board = new Board(rows, columns);
+            StringBuilder moves = new StringBuilder();
+            int plies = 2 + random.nextInt(rows * columns / 2 - 1);
+            char player = Board.MARK_RED;
+            while (moves.length() < plies) {
+                int col = random.nextInt(columns);
+                if (!board.isColumnAvailable(col)) {
+                    continue;
+                }
+                board.set(col, player);
+                if (board.getWinner() != Board.UNMARKED) {
+                    break;
+                }
+                moves.append(PositionCodec.getColumnDigit(col));
+                player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                  : Board.MARK_RED;
+            }
+            if (moves.length() == plies) {
+                return moves.toString();
+            }
+        }
+    }
+
+    private int getValue(Board board, int depth) {
+        Minimax minimax = new Minimax(new Board(board), depth);
+        minimax.setSession(new EngineSession(rows, columns, TABLE_BITS));
+        minimax.analyze(PositionCodec.getPlayerToMove(board));
+        return minimax.getScore();
+    }
+
+    /**
+     * Least-squares fit of y to x, keeping the sums as they are added.
+     */
+    private static class Fit {
+        private double n, sumX, sumY, sumXX, sumXY, sumYY;
+
+        void add(double x, double y) {
+            n++;
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+            sumYY += y * y;
+        }
+
+        double getSlope() {
+            double variance = sumXX - sumX * sumX / n;
+            return variance == 0 ? 1 : (sumXY - sumX * sumY / n) / variance;
+        }
+
+        double getIntercept() {
+            return (sumY - getSlope() * sumX) / n;
+        }
+
+        double getSigma() {
+            double a = getSlope(), b = getIntercept();
+            double squares = sumYY - 2 * a * sumXY - 2 * b * sumY
+                             + a * a * sumXX + 2 * a * b * sumX + b * b * n;
+            return Math.sqrt(Math.max(squares, 0) / n);
+        }
+    }
+
+    public void calibrate(int positions, int maxDepth) {
+        Fit futility = new Fit();
+        Fit[] probCut = new Fit[maxDepth + 1];
+        for (int depth = MIN_DEPTH; depth <= maxDepth; depth++) {
+            probCut[depth] = new Fit();
+        }
+        for (int i = 0; i < positions; i++) {
+            String moves = getRandomGame();
+            Board board = PositionCodec.fromMoveString(moves, rows, columns);
+            int[] values = new int[maxDepth + 1];
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                values[depth] = getValue(board, depth);
+            }
+            for (int depth = MIN_DEPTH; depth <= maxDepth; depth++) {
+                int shallow = values[depth - 2], deep = values[depth];
+                if (Math.abs(shallow) < WIN_LIMIT
+                        && Math.abs(deep) < WIN_LIMIT) {
+                    probCut[depth].add(shallow, deep);
+                }
+            }
+            // Futility pruning only considers nodes reached by a move that
+            // made no threat.
+            int col = PositionCodec.getColumn(
+                    moves.charAt(moves.length() - 1));
+            char mover = moves.length() % 2 == 1 ? Board.MARK_RED
+                                                 : Board.MARK_BLACK;
+            int score = board.getHeuristicScore(mover, col, 3, 4);
+            if (!board.threatFound() && Math.abs(values[1]) < WIN_LIMIT) {
+                futility.add(score, values[1]);
+            }
+        }
+        System.out.println(String.format(
+                "    private static final double FUTILITY_SLOPE = %.3f,",
+                futility.getSlope()));
+        System.out.println(String.format(
+                "                                FUTILITY_INTERCEPT = %.1f,",
+                futility.getIntercept()));
+        System.out.println(String.format(
+                "                                FUTILITY_SIGMA = %.1f;",
+                futility.getSigma()));
+        String[] slopes = new String[maxDepth + 1],
+                 intercepts = new String[maxDepth + 1],
+                 sigmas = new String[maxDepth + 1];
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            Fit fit = probCut[depth];
+            slopes[depth] = fit == null ? "0"
+                    : String.format("%.3f", fit.getSlope());
+            intercepts[depth] = fit == null ? "0"
+                    : String.format("%.1f", fit.getIntercept());
+            sigmas[depth] = fit == null ? "0"
+                    : String.format("%.1f", fit.getSigma());
+        }
+        printTable("PROBCUT_SLOPES", slopes);
+        printTable("PROBCUT_INTERCEPTS", intercepts);
+        printTable("PROBCUT_SIGMAS", sigmas);
+    }
+
+    private static void printTable(String name, String[] values) {
+        System.out.println("    private static final double[] " + name
+                + " = {");
+        StringBuilder line = new StringBuilder("       ");
+        for (int i = 0; i < values.length; i++) {
+            String value = " " + values[i]
+                           + (i < values.length - 1 ? "," : " };");
+            if (line.length() + value.length() > 78) {
+                System.out.println(line);
+                line = new StringBuilder("       ");
+            }
+            line.append(value);
+        }
+        System.out.println(line);
+    }
+
+    public void verify(int depth) {
+        System.out.println(String.format("%-12s %16s %10s %10s %16s",
+                "Selectivity", "Boards", "ms", "Changed", "Against 0"));
+        SelfPlay selfPlay = new SelfPlay(rows, columns,
+                                         Board.DEFAULT_WIN_LENGTH, 1);
+        List<String> openings = selfPlay.getOpenings(2);
+        selfPlay.shutdown();
+        int[] expected = new int[SearchComparison.STANDARD_POSITIONS.length];
+        // The full-width search is run twice, the first time only to warm
+        // up the compiler.
+        for (int pass = -1; pass <= 3; pass++) {
+            int selectivity = Math.max(pass, 0);
+            long boards = 0, nanos = 0;
+            int changed = 0;
+            for (int i = 0; i < expected.length; i++) {
+                Board board = PositionCodec.fromMoveString(
+                        SearchComparison.STANDARD_POSITIONS[i], rows, columns);
+                Minimax minimax = createMinimax(board, depth, selectivity,
+                        new EngineSession(rows, columns, TABLE_BITS));
+                long start = System.nanoTime();
+                int col = minimax.alphaBeta(
+                        PositionCodec.getPlayerToMove(board));
+                nanos += System.nanoTime() - start;
+                boards += minimax.getBoardsAnalyzed();
+                if (selectivity == 0) {
+                    expected[i] = col;
+                } else if (col != expected[i]) {
+                    changed++;
+                }
+            }
+            if (pass < 0) {
+                continue;
+            }
+            String match = selectivity == 0 ? ""
+                    : play(openings, depth, selectivity);
+            System.out.println(String.format("%-12d %16s %10.1f %10d %16s",
+                    selectivity, nf.format(boards), nanos / 1e6, changed,
+                    match));
+        }
+    }
+
+    private static Minimax createMinimax(Board board, int depth,
+            int selectivity, EngineSession session) {
+        Minimax minimax = new Minimax(board, depth);
+        minimax.setSession(session);
+        minimax.setSelectivity(selectivity);
+        return minimax;
+    }
+
+    /**
+     * Plays the selective search against the full-width one from every
+     * opening, once with each color, each engine keeping its own session
+     * for the game, and returns the result of the selective search.
+     */
+    private String play(List<String> openings, int depth,
+                                      int selectivity) {
+        int wins = 0, draws = 0, losses = 0;
+        for (String opening : openings) {
+            for (int game = 0; game < 2; game++) {
+                char selective = game == 0 ? Board.MARK_RED
+                                           : Board.MARK_BLACK;
+                char winner = playGame(opening, depth, selectivity,
+                                       selective);
+                if (winner == Board.UNMARKED) {
+                    draws++;
+                } else if (winner == selective) {
+                    wins++;
+                } else {
+                    losses++;
+                }
+            }
+        }
+        return "+" + wins + " =" + draws + " -" + losses;
+    }
+
+    private char playGame(String opening, int depth, int selectivity,
+                          char selective) {
+        Board board = PositionCodec.fromMoveString(opening, rows, columns);
+        EngineSession selectiveSession = new EngineSession(rows, columns,
+                                                           TABLE_BITS),
+                      fullSession = new EngineSession(rows, columns,
+                                                      TABLE_BITS);
+        char player = PositionCodec.getPlayerToMove(board);
+        for (int plays = opening.length(); plays < rows * columns; plays++) {
+            Minimax minimax = player == selective
+                    ? createMinimax(new Board(board), depth, selectivity,
+                                    selectiveSession)
+                    : createMinimax(new Board(board), depth, 0, fullSession);
+            board.set(minimax.alphaBeta(player), player);
+            char winner = board.getWinner();
+            if (winner != Board.UNMARKED) {
+                return winner;
+            }
+            player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                              : Board.MARK_RED;
+        }
+        return Board.UNMARKED;
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d deepest search calibrated [default 11]\n");
+        builder.append("   -n number of positions [default 3000]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -s random seed [default 1]\n");
+        builder.append("   -v depth, verifies the selective search at the"
+                + " given depth instead");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "SelectivityCalibrator";
+        Getopt g = new Getopt(programName, args, "c:d:hn:r:s:v:");
+        g.setOpterr(false);
+        int c, maxDepth = 11, positions = 3000, verifyDepth = 0,
+            rows = Board.DEFAULT_ROWS, columns = Board.DEFAULT_COLUMNS;
+        long seed = 1;
+        String arg = null;
+        try {
+            while ((c = g.getopt()) != -1) {
+                switch (c) {
+                    case 'c':
+                        arg = g.getOptarg();
+                        columns = Integer.parseInt(arg);
+                        break;
+                    case 'd':
+                        arg = g.getOptarg();
+                        maxDepth = Integer.parseInt(arg);
+                        if (maxDepth < MIN_DEPTH) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case 'h':
+                        System.out.println(getHelp(programName));
+                        System.exit(0);
+                    case 'n':
+                        arg = g.getOptarg();
+                        positions = Integer.parseInt(arg);
+                        if (positions < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case 'r':
+                        arg = g.getOptarg();
+                        rows = Integer.parseInt(arg);
+                        break;
+                    case 's':
+                        arg = g.getOptarg();
+                        seed = Long.parseLong(arg);
+                        break;
+                    case 'v':
+                        arg = g.getOptarg();
+                        verifyDepth = Integer.parseInt(arg);
+                        if (verifyDepth < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case '?':
+                        System.err.println(programName + ": Unknown option '"
+                                + (char)g.getOptopt() + "' received.");
+                        System.exit(1);
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid number '" + arg
+                    + "'.");
+            System.exit(1);
+        }
+
+        try {
+            SelectivityCalibrator calibrator =
+                    new SelectivityCalibrator(rows, columns, seed);
+            if (verifyDepth > 0) {
+                calibrator.verify(verifyDepth);
+            } else {
+                calibrator.calibrate(positions, maxDepth);
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * File: TacticalSuite.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how much search each evaluation needs to find the correct move
+ * in tactical positions. For every position the computer deepens one ply
+ * at a time, as under a time control, and the boards analyzed are counted
+ * up to the shallowest depth from which every iteration, to the maximum
+ * depth, chooses a correct move. A position never settled on a correct
+ * move is charged every board searched.
+ *
+ * A move is correct if it keeps the value of the position with perfect
+ * play, as established by the Solver. The standard suite holds positions
+ * from random games on the standard board in which the player to move can
+ * neither win at once nor must block, and at most half of the moves are
+ * correct; the correct columns are stored after each move string. Other
+ * suites may be read from a file in the same format, one position per
+ * line; positions given without their correct columns are solved first.
+ */
+public class TacticalSuite {
+    public static final String[] STANDARD_SUITE = {
+        "5521247521424 15", "437111256115 4", "1775127766716174144432 3",
+        "1762327771712 3", "4124312675 4", "12265573273 356",
+        "21454712637674222 4", "11171136336 4", "2167754445 5",
+        "7274721717533 15", "6167431315413756637554 45", "734117223456 4",
+        "67411116761653756336472 5", "13227421666 24", "35775342472 47",
+        "42565725255415 4", "721455134344 34", "5222461717322 347",
+        "457217776715666421 5", "133737316372265614 45", "4355427666 45",
+        "537164135547213 3", "65314145331334462 5", "664444276275 17",
+        "664534626756 45", "1552355562132 13", "1356736717733 56",
+        "22711332716547 3", "7133367645443462777612 3", "73316565244 4",
+        "31163355625533 146", "574563343654224614726 235", "7543314334324 2",
+        "351514762764613 45", "5635571133144572 47", "4555625731 36",
+        "22722127447412471 5", "56633661127667233344 2", "363251776633 456",
+        "6377213645 345", "6425221245366616774163177 234",
+        "112363143176663 24", "771457757447366134 35", "323537654454434275 3",
+        "26544662543621 24", "431376431511555275335637 6",
+        "21532537625347 45", "76765264145122272235 5", "4764311712231561 46",
+        "11334221356776332 5", "7425665247737335662 4",
+        "676757741571155425 4", "1657326775234461 346",
+        "5614771553546344 156", "525243155333331 4", "1313427473333625 7",
+        "1633563736217764637 145", "417445277333773 245",
+        "22456374411766121175317 234", "52615114355155772 2",
+        "411433446417657112 356", "46166541763432464 5", "37476163251253 36",
+        "6471161117755231 236", "55457661272377512562724 4",
+        "161113333245643 4", "23425367365172 135", "73334114777223153 2",
+        "152163751211557664 347", "2777516324625436613 134" };
+    private static final int[] EVALUATIONS = {
+        ConnectFourConfig.WINDOW_EVALUATION,
+        ConnectFourConfig.THREAT_EVALUATION };
+    private static final String[] NAMES = { "Windows", "Windows + threats" };
+    private static final int TABLE_BITS = 20;
+    private static final NumberFormat nf = NumberFormat.getInstance();
+
+    private final int maxDepth, rows, columns;
+    private final long[] boards = new long[EVALUATIONS.length],
+                         nanos = new long[EVALUATIONS.length];
+    private final int[] found = new int[EVALUATIONS.length],
+                        depths = new int[EVALUATIONS.length];
+    private Solver solver;
+
+    public TacticalSuite(int maxDepth, int rows, int columns) {
+        this.maxDepth = maxDepth;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the correct columns of the position as a string of column
+     * digits.
+     */
+    public String solve(Board board) throws IllegalArgumentException {
+        if (solver == null) {
+            solver = new Solver(rows, columns, board.getWinLength());
+        }
+        int[] values = solver.getColumnValues(board);
+        int best = Integer.MIN_VALUE;
+        for (int value : values) {
+            best = Math.max(best, value);
+        }
+        StringBuilder correct = new StringBuilder();
+        for (int col = 0; col < columns; col++) {
+            if (values[col] == best) {
+                correct.append(PositionCodec.getColumnDigit(col));
+            }
+        }
+        return correct.toString();
+    }
+
+    /**
+     * Runs every evaluation on the position, given as a move string
+     * optionally followed by the correct columns.
+     */
+    public void run(String entry, boolean verbose)
+            throws IllegalArgumentException {
+        String[] fields = entry.trim().split("\\s+");
+        String position = fields[0].equals("-") ? "" : fields[0];
+        Board board = PositionCodec.fromMoveString(position, rows, columns);
+        char player = PositionCodec.getPlayerToMove(board);
+        String correct = fields.length > 1 ? fields[1] : solve(board);
+        StringBuilder line = new StringBuilder(String.format("%-26s %-7s",
+                position.length() == 0 ? "(empty)" : position, correct));
+        for (int i = 0; i < EVALUATIONS.length; i++) {
+            EngineSession session = new EngineSession(rows, columns,
+                                                      TABLE_BITS);
+            long start = System.nanoTime(), searched = 0, needed = 0;
+            int settled = -1;
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                Minimax minimax = new Minimax(new Board(board), depth);
+                minimax.setSession(session);
+                minimax.setEvaluation(EVALUATIONS[i]);
+                int col = minimax.alphaBeta(player);
+                searched += minimax.getBoardsAnalyzed();
+                if (correct.indexOf(PositionCodec.getColumnDigit(col)) < 0) {
+                    settled = -1;
+                } else if (settled == -1) {
+                    settled = depth;
+                    needed = searched;
+                }
+            }
+            nanos[i] += System.nanoTime() - start;
+            if (settled == -1) {
+                needed = searched;
+            } else {
+                found[i]++;
+                depths[i] += settled;
+            }
+            boards[i] += needed;
+            line.append(String.format(" %3s %12s",
+                    settled == -1 ? "-" : String.valueOf(settled),
+                    nf.format(needed)));
+        }
+        if (verbose) {
+            System.out.println(line);
+        }
+    }
+
+    public void report(int positions) {
+        System.out.println(String.format("%-18s %7s %10s %16s %10s",
+                "Evaluation", "Found", "Avg depth", "Boards to move", "ms"));
+        for (int i = 0; i < EVALUATIONS.length; i++) {
+            System.out.println(String.format("%-18s %3d/%-3d %10s %16s %10.1f",
+                    NAMES[i], found[i], positions, found[i] == 0 ? "-"
+                    : String.format("%.2f", (double)depths[i] / found[i]),
+                    nf.format(boards[i]), nanos[i] / 1e6));
+        }
+        if (boards[0] > 0) {
+            System.out.println(String.format("%s needs %.1f%% of the boards"
+                    + " of %s to settle on the correct move.", NAMES[1],
+                    100.0 * boards[1] / boards[0], NAMES[0]));
+        }
+    }
+
+    private static List<String> readPositions(String filename)
+            throws IOException {
+        List<String> positions = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(filename));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0 && !line.startsWith("#")) {
+                    positions.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return positions;
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d maximum search depth [default 10]\n");
+        builder.append("   -f file of move strings, each optionally followed"
+                + " by the correct columns,\n      one per line [default:"
+                + " the standard suite]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -s solve every position again instead of using"
+                + " the correct columns given\n");
+        builder.append("   -v print the depth and boards needed for each"
+                + " position");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "TacticalSuite";
+        Getopt g = new Getopt(programName, args, "c:d:f:hr:sv");
+        g.setOpterr(false);
+        int c, depth = 10, rows = Board.DEFAULT_ROWS,
+            columns = Board.DEFAULT_COLUMNS;
+        String filename = null;
+        boolean resolve = false, verbose = false;
+        String arg = null;
+        try {
+            while ((c = g.getopt()) != -1) {
+                switch (c) {
+                    case 'c':
+                        arg = g.getOptarg();
+                        columns = Integer.parseInt(arg);
+                        break;
+                    case 'd':
+                        arg = g.getOptarg();
+                        depth = Integer.parseInt(arg);
+                        if (depth < 1) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                    case 'f':
+                        filename = g.getOptarg();
+                        break;
+                    case 'h':
+                        System.out.println(getHelp(programName));
+                        System.exit(0);
+                    case 'r':
+                        arg = g.getOptarg();
+                        rows = Integer.parseInt(arg);
+                        break;
+                    case 's':
+                        resolve = true;
+                        break;
+                    case 'v':
+                        verbose = true;
+                        break;
+                    case '?':
+                        System.err.println(programName + ": Unknown option '"
+                                + (char)g.getOptopt() + "' received.");
+                        System.exit(1);
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid number '" + arg
+                    + "'.");
+            System.exit(1);
+        }
+
+        List<String> positions = new ArrayList<String>();
+        if (filename == null) {
+            for (String position : STANDARD_SUITE) {
+                positions.add(position);
+            }
+        } else {
+            try {
+                positions = readPositions(filename);
+            } catch (IOException ioe) {
+                System.err.println("Error: " + ioe.getMessage());
+                System.exit(1);
+            }
+        }
+
+        TacticalSuite suite = new TacticalSuite(depth, rows, columns);
+        if (verbose) {
+            StringBuilder header = new StringBuilder(String.format(
+                    "%-26s %-7s", "Position", "Correct"));
+            for (int i = 0; i < EVALUATIONS.length; i++) {
+                header.append(String.format(" %3s %12s", "D", "Boards"));
+            }
+            System.out.println(header);
+        }
+        try {
+            for (String position : positions) {
+                suite.run(resolve ? position.trim().split("\\s+")[0]
+                                  : position, verbose);
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println("Error: " + iae.getMessage());
+            System.exit(1);
+        }
+        System.out.println(positions.size() + " positions, deepening to "
+                + depth + ":");
+        suite.report(positions.size());
+    }
+}
@@ -0,0 +1,423 @@
+/**
+ * File: TraceAnalyzer.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Summarizes a trace written by SearchTrace: for every depth, the nodes,
+ * how many children the nodes with children searched, and how soon the
+ * nodes that were cut off found the move that did it. A well ordered
+ * search cuts off at its first move nearly every time.
+ *
+ * It can also draw the largest subtrees, those holding at least a given
+ * share of the nodes, as a Graphviz graph or as folded stacks for
+ * flamegraph.pl, in which the width of a frame is the number of nodes
+ * searched below that line of play. Cutoffs are drawn in red.
+ *
+ * With -s, a search of the given position is traced first. The trace is
+ * read in one pass through a direct buffer, and only the large subtrees
+ * are kept in memory, so traces far larger than memory can be analyzed.
+ */
+public class TraceAnalyzer {
+    private static final NumberFormat nf = NumberFormat.getInstance();
+    private static final int READ_BUFFER_SIZE = 1 << 20, MAX_DEPTH = 128,
+                             MAX_INDEX = 8;
+    private static final String ROW_FORMAT =
+            "%5s %12s %12s %9s %7s %11s %8s %9s%n";
+
+    private final long[] nodes = new long[MAX_DEPTH],
+                         interior = new long[MAX_DEPTH],
+                         children = new long[MAX_DEPTH],
+                         cutoffs = new long[MAX_DEPTH],
+                         firstCutoffs = new long[MAX_DEPTH],
+                         cutoffIndexes = new long[MAX_DEPTH],
+                         cutoffHistogram = new long[MAX_INDEX];
+    private final List<Node> roots = new ArrayList<Node>();
+    private final long minSize;
+    private int rows, columns, searches, maxDepth;
+    private long total;
+
+    // Finished subtrees whose parent has not been read yet.
+    private int[] stackDepths = new int[256];
+    private long[] stackSizes = new long[256];
+    private Node[] stackNodes = new Node[256];
+    private int stackSize;
+
+    /**
+     * A node of one of the large subtrees, with its large children.
+     */
+    private static class Node {
+        private final int depth, column, index, cutoff, flags, alpha, beta,
+                          value;
+        private final long size;
+        private final List<Node> children;
+
+        Node(ByteBuffer record, long size, List<Node> children) {
+            depth = record.get(0);
+            column = record.get(1);
+            index = record.get(2);
+            cutoff = record.get(4);
+            flags = record.get(5);
+            alpha = record.getInt(8);
+            beta = record.getInt(12);
+            value = record.getInt(16);
+            this.size = size;
+            this.children = children;
+        }
+    }
+
+    public TraceAnalyzer(long minSize) {
+        this.minSize = minSize;
+    }
+
+    public void read(Path path) throws IOException {
+        try (FileChannel in = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SearchTrace.HEADER_BYTES)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && in.read(header) != -1) {
+            }
+            header.flip();
+            if (header.remaining() < SearchTrace.HEADER_BYTES
+                    || header.getInt() != SearchTrace.MAGIC
+                    || header.getInt() != SearchTrace.VERSION) {
+                throw new IOException(path + " is not a search trace.");
+            }
+            rows = header.getInt();
+            columns = header.getInt();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN),
+                       record = ByteBuffer.allocate(SearchTrace.RECORD_BYTES)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            boolean done = false;
+            while (!done) {
+                done = in.read(buffer) == -1;
+                buffer.flip();
+                while (buffer.remaining() >= SearchTrace.RECORD_BYTES) {
+                    buffer.get(record.array());
+                    add(record);
+                }
+                buffer.compact();
+            }
+            if (buffer.position() > 0) {
+                throw new IOException(path + " ends with a partial node.");
+            }
+        }
+        // Searches that start below the root, as searchAllColumns() does,
+        // leave their subtrees behind.
+        for (int i = 0; i < stackSize; i++) {
+            if (stackNodes[i] != null) {
+                roots.add(stackNodes[i]);
+            }
+        }
+        stackSize = 0;
+    }
+
+    private void add(ByteBuffer record) {
+        int depth = record.get(0), count = record.get(3),
+            cutoff = record.get(4);
+        if (depth < 0 || depth >= MAX_DEPTH) {
+            return;
+        }
+        total++;
+        nodes[depth]++;
+        maxDepth = Math.max(maxDepth, depth);
+        if (count > 0) {
+            interior[depth]++;
+            children[depth] += count;
+        }
+        if (cutoff >= 0) {
+            cutoffs[depth]++;
+            cutoffIndexes[depth] += cutoff;
+            cutoffHistogram[Math.min(cutoff, MAX_INDEX - 1)]++;
+            if (cutoff == 0) {
+                firstCutoffs[depth]++;
+            }
+        }
+        long size = 1;
+        List<Node> large = null;
+        while (stackSize > 0 && stackDepths[stackSize - 1] == depth + 1) {
+            stackSize--;
+            size += stackSizes[stackSize];
+            if (stackNodes[stackSize] != null) {
+                if (large == null) {
+                    large = new ArrayList<Node>();
+                }
+                large.add(0, stackNodes[stackSize]);
+                stackNodes[stackSize] = null;
+            }
+        }
+        Node node = null;
+        if (size >= minSize) {
+            node = new Node(record, size,
+                    large == null ? new ArrayList<Node>() : large);
+        }
+        if (depth == 0) {
+            searches++;
+            if (node != null) {
+                roots.add(node);
+            }
+            return;
+        }
+        if (stackSize == stackDepths.length) {
+            stackDepths = Arrays.copyOf(stackDepths, stackSize * 2);
+            stackSizes = Arrays.copyOf(stackSizes, stackSize * 2);
+            stackNodes = Arrays.copyOf(stackNodes, stackSize * 2);
+        }
+        stackDepths[stackSize] = depth;
+        stackSizes[stackSize] = size;
+        stackNodes[stackSize++] = node;
+    }
+
+    public String getSummary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(nf.format(total) + " nodes in "
+                + nf.format(searches) + " searches on a " + columns + " x "
+                + rows + " board.\n\n");
+        builder.append(String.format(ROW_FORMAT, "depth", "nodes",
+                "interior", "children", "growth", "cutoffs", "first",
+                "avg index"));
+        for (int d = 0; d <= maxDepth; d++) {
+            builder.append(String.format(ROW_FORMAT, d,
+                    nf.format(nodes[d]), nf.format(interior[d]),
+                    format(children[d], interior[d], "%.2f"),
+                    d < maxDepth ? format(nodes[d + 1], nodes[d], "%.2f")
+                                 : "",
+                    nf.format(cutoffs[d]),
+                    format(100 * firstCutoffs[d], cutoffs[d], "%.1f%%"),
+                    format(cutoffIndexes[d], cutoffs[d], "%.2f")));
+        }
+        long allCutoffs = 0;
+        for (long count : cutoffHistogram) {
+            allCutoffs += count;
+        }
+        builder.append("\nCutoffs by the place of the move in the order:");
+        for (int i = 0; i < MAX_INDEX; i++) {
+            builder.append(String.format(" %d%s %s", i + 1,
+                    i == MAX_INDEX - 1 ? "+" : ":",
+                    format(100 * cutoffHistogram[i], allCutoffs, "%.1f%%")));
+        }
+        return builder.toString();
+    }
+
+    private static String format(long numerator, long denominator,
+                                 String format) {
+        return denominator == 0 ? "-"
+               : String.format(format, (double)numerator / denominator);
+    }
+
+    private static String formatBound(int bound) {
+        if (bound <= Integer.MIN_VALUE + 1) {
+            return "-inf";
+        } else if (bound >= Integer.MAX_VALUE - 1) {
+            return "inf";
+        }
+        return String.valueOf(bound);
+    }
+
+    private static String getLabel(Node node) {
+        return (node.column < 0 ? "root" : "col " + (node.column + 1))
+                + ((node.flags & SearchTrace.BLACK_TO_MOVE) != 0
+                   ? ", Black" : ", Red")
+                + "\\n[" + formatBound(node.alpha) + ", "
+                + formatBound(node.beta) + "] -> " + formatBound(node.value)
+                + "\\n" + nf.format(node.size) + " nodes";
+    }
+
+    /**
+     * Writes the large subtrees as a Graphviz graph. Edges are labeled
+     * with the place of the child in the order, and the edge to the child
+     * that cut its parent off is red.
+     */
+    public void writeGraph(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path,
+                StandardCharsets.US_ASCII))) {
+            out.println("digraph trace {");
+            out.println("    node [shape=box, fontname=\"Helvetica\"];");
+            int[] next = { 0 };
+            for (Node root : roots) {
+                writeGraph(out, root, next);
+            }
+            out.println("}");
+        }
+    }
+
+    private int writeGraph(PrintWriter out, Node node, int[] next) {
+        int id = next[0]++;
+        out.println("    n" + id + " [label=\"" + getLabel(node) + "\"];");
+        for (Node child : node.children) {
+            int childId = writeGraph(out, child, next);
+            out.println("    n" + id + " -> n" + childId + " [label=\""
+                    + (child.index + 1) + "\""
+                    + (node.cutoff == child.index ? ", color=red" : "")
+                    + "];");
+        }
+        return id;
+    }
+
+    /**
+     * Writes the large subtrees as folded stacks, one line per node with
+     * the nodes below it that belong to no large child.
+     */
+    public void writeFoldedStacks(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path,
+                StandardCharsets.US_ASCII))) {
+            for (int i = 0; i < roots.size(); i++) {
+                writeFoldedStacks(out, roots.get(i), "search " + (i + 1));
+            }
+        }
+    }
+
+    private void writeFoldedStacks(PrintWriter out, Node node,
+                                   String stack) {
+        String frame = stack + (node.column < 0 ? ""
+                : ";" + PositionCodec.getColumnDigit(node.column)
+                  + (node.cutoff >= 0 ? "_[cut]" : ""));
+        long self = node.size;
+        for (Node child : node.children) {
+            writeFoldedStacks(out, child, frame);
+            self -= child.size;
+        }
+        out.println(frame + " " + self);
+    }
+
+    /**
+     * Searches the position to the given depth with a session, writing the
+     * trace to the file.
+     */
+    public static void trace(String moves, int depth, Path path)
+            throws IOException {
+        Board board = PositionCodec.fromMoveString(moves);
+        Minimax minimax = new Minimax(board, depth);
+        minimax.setSession(new EngineSession(board.getRows(),
+                                             board.getColumns()));
+        try (SearchTrace trace = new SearchTrace(path, board.getRows(),
+                                                 board.getColumns())) {
+            minimax.setSearchTrace(trace);
+            long start = System.nanoTime();
+            int col = minimax.alphaBeta(PositionCodec.getPlayerToMove(board));
+            System.out.println("Column " + (col + 1) + ", score "
+                    + minimax.getScore() + ", "
+                    + nf.format(minimax.getBoardsAnalyzed())
+                    + " boards analyzed in "
+                    + String.format("%.0f ms", (System.nanoTime() - start)
+                                               / 1e6) + ".\n");
+        }
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options] trace\n");
+        builder.append("   -D search depth for -s [default 8]\n");
+        builder.append("   -f file to write folded stacks to\n");
+        builder.append("   -g file to write a Graphviz graph to\n");
+        builder.append("   -m smallest share of the nodes, in percent, of"
+                + " a subtree drawn [default 1]\n");
+        builder.append("   -s move string of a position to search and trace"
+                + " first");
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        String programName = "TraceAnalyzer";
+        Getopt g = new Getopt(programName, args, "D:f:g:hm:s:");
+        g.setOpterr(false);
+        int c, depth = 8;
+        double share = 1;
+        String foldedFile = null, graphFile = null, moves = null, arg;
+        while ((c = g.getopt()) != -1) {
+            switch (c) {
+                case 'D':
+                    arg = g.getOptarg();
+                    try {
+                        depth = Integer.parseInt(arg);
+                        if (depth < 1) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid search depth '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 'f':
+                    foldedFile = g.getOptarg();
+                    break;
+                case 'g':
+                    graphFile = g.getOptarg();
+                    break;
+                case 'h':
+                    System.out.println(getHelp(programName));
+                    System.exit(0);
+                case 'm':
+                    arg = g.getOptarg();
+                    try {
+                        share = Double.parseDouble(arg);
+                        if (!(share > 0 && share <= 100)) {
+                            throw new NumberFormatException();
+                        }
+                    } catch (NumberFormatException nfe) {
+                        System.err.println(programName
+                                + ": Invalid share '" + arg + "'.");
+                        System.exit(1);
+                    }
+                    break;
+                case 's':
+                    moves = g.getOptarg();
+                    break;
+                case '?':
+                    System.err.println(programName + ": Unknown option '"
+                            + (char)g.getOptopt() + "' received.");
+                    System.exit(1);
+                default:
+                    break;
+            }
+        }
+        if (args.length - g.getOptind() != 1) {
+            System.err.println(getHelp(programName));
+            System.exit(1);
+        }
+        Path path = Paths.get(args[g.getOptind()]);
+        try {
+            if (moves != null) {
+                trace(moves, depth, path);
+            }
+            long records = (Files.size(path) - SearchTrace.HEADER_BYTES)
+                           / SearchTrace.RECORD_BYTES;
+            TraceAnalyzer analyzer = new TraceAnalyzer(
+                    Math.max(1, (long)Math.ceil(records * share / 100)));
+            analyzer.read(path);
+            System.out.println(analyzer.getSummary());
+            if (graphFile != null) {
+                analyzer.writeGraph(Paths.get(graphFile));
+            }
+            if (foldedFile != null) {
+                analyzer.writeFoldedStacks(Paths.get(foldedFile));
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println(programName + ": " + iae.getMessage());
+            System.exit(1);
+        } catch (IOException ioe) {
+            System.err.println("Error: " + ioe.getMessage());
+            System.exit(1);
+        }
+    }
+}
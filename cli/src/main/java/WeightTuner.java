@@ -0,0 +1,254 @@
+/**
+ * File: WeightTuner.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import gnu.getopt.Getopt;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tunes the evaluation weights by self-play, using simultaneous
+ * perturbation stochastic approximation (SPSA).
+ *
+ * The tuned parameters are the logarithms of increment[2..n], of
+ * toMoveIncrement[1..n] and of the tie score; increment[1] stays at 1 to
+ * fix the scale. Each iteration perturbs every parameter by +c or -c at
+ * random, plays the two resulting engines against each other from every
+ * opening, and moves the parameters towards the side that scored better.
+ *
+ * The result is written to a weights file that EvaluationWeights reads at
+ * startup, followed by a report of the tuned against the starting weights
+ * at several depths, including against the starting weights searching two
+ * plies deeper.
+ */
+public class WeightTuner {
+    private static final double A = 0.5, C = 0.2, STABILITY = 10,
+                                ALPHA = 0.602, GAMMA = 0.101;
+
+    private final SelfPlay selfPlay;
+    private final List<String> openings;
+    private final int winLength, depth;
+    private final Random random;
+
+    public WeightTuner(SelfPlay selfPlay, List<String> openings,
+                       int winLength, int depth, long seed) {
+        this.selfPlay = selfPlay;
+        this.openings = openings;
+        this.winLength = winLength;
+        this.depth = depth;
+        this.random = new Random(seed);
+    }
+
+    private double[] toParameters(EvaluationWeights weights) {
+        int[] increment = weights.getIncrement(),
+              toMove = weights.getToMoveIncrement();
+        double[] theta = new double[2 * winLength];
+        int i = 0;
+        for (int count = 2; count <= winLength; count++) {
+            theta[i++] = Math.log(Math.max(1, increment[count]));
+        }
+        for (int count = 1; count <= winLength; count++) {
+            theta[i++] = Math.log(Math.max(1, toMove[count]));
+        }
+        theta[i] = Math.log(Math.max(1, weights.getTieScore()));
+        return theta;
+    }
+
+    private EvaluationWeights toWeights(double[] theta) {
+        int[] increment = new int[winLength + 1],
+              toMove = new int[winLength + 1];
+        increment[1] = 1;
+        int i = 0;
+        for (int count = 2; count <= winLength; count++) {
+            increment[count] = toWeight(theta[i++]);
+        }
+        for (int count = 1; count <= winLength; count++) {
+            toMove[count] = toWeight(theta[i++]);
+        }
+        return new EvaluationWeights(winLength, increment, toMove,
+                                     toWeight(theta[i]));
+    }
+
+    private int toWeight(double parameter) {
+        // Keep weights within what EvaluationWeights accepts, so that the
+        // score of a move, summed over the windows through its cell, cannot
+        // overflow.
+        return (int)Math.min(Math.round(Math.exp(parameter)),
+                             EvaluationWeights.getMaxWeight(winLength));
+    }
+
+    public EvaluationWeights tune(EvaluationWeights start, int iterations)
+            throws InterruptedException {
+        double[] theta = toParameters(start);
+        for (int k = 0; k < iterations; k++) {
+            double a = A / Math.pow(k + 1 + STABILITY, ALPHA),
+                   c = C / Math.pow(k + 1, GAMMA);
+            double[] delta = new double[theta.length],
+                     plus = new double[theta.length],
+                     minus = new double[theta.length];
+            for (int i = 0; i < theta.length; i++) {
+                delta[i] = random.nextBoolean() ? 1 : -1;
+                plus[i] = theta[i] + c * delta[i];
+                minus[i] = theta[i] - c * delta[i];
+            }
+            SelfPlay.MatchResult result = selfPlay.play(toWeights(plus), depth,
+                    toWeights(minus), depth, openings);
+            // score(plus) - score(minus) = 2 * score - 1
+            double difference = 2 * result.getScore() - 1;
+            for (int i = 0; i < theta.length; i++) {
+                theta[i] += a * difference / (2 * c * delta[i]);
+            }
+            System.out.println("Iteration " + (k + 1) + ": " + result + "; "
+                    + toWeights(theta));
+        }
+        return toWeights(theta);
+    }
+
+    public void report(EvaluationWeights tuned, EvaluationWeights start,
+                       int maxDepth) throws InterruptedException {
+        System.out.println();
+        System.out.println("Tuned against starting weights, "
+                + (openings.size() * 2) + " games each:");
+        System.out.println(String.format("%6s  %-26s  %-26s", "Depth",
+                "vs. same depth", "vs. starting at depth + 2"));
+        for (int d = 2; d <= maxDepth; d += 2) {
+            SelfPlay.MatchResult same = selfPlay.play(tuned, d, start, d,
+                                                      openings),
+                                 deeper = selfPlay.play(tuned, d, start,
+                                                        d + 2, openings);
+            System.out.println(String.format("%6d  %-26s  %-26s", d, same,
+                                             deeper));
+        }
+    }
+
+    public static String getHelp(String programName) {
+        StringBuilder builder = new StringBuilder("Usage: java " + programName
+                + " [options]\n");
+        builder.append("   -c number of columns [default "
+                + Board.DEFAULT_COLUMNS + "]\n");
+        builder.append("   -d search depth used while tuning [default 4]\n");
+        builder.append("   -i iterations [default 100]\n");
+        builder.append("   -m deepest depth in the report [default 6]\n");
+        builder.append("   -n checkers in a row needed to win [default "
+                + Board.DEFAULT_WIN_LENGTH + "]\n");
+        builder.append("   -o weights file to write [default "
+                + EvaluationWeights.DEFAULT_FILE + "]\n");
+        builder.append("   -p plies in each opening [default 2]\n");
+        builder.append("   -r number of rows [default " + Board.DEFAULT_ROWS
+                + "]\n");
+        builder.append("   -s random seed [default 1]\n");
+        builder.append("   -t worker threads [default: number of"
+                + " processors]");
+        return builder.toString();
+    }
+
+    private static int parseInt(String programName, String name, String arg,
+                                int min, int max) {
+        try {
+            int value = Integer.parseInt(arg);
+            if (value < min || value > max) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException nfe) {
+            System.err.println(programName + ": Invalid " + name + " '" + arg
+                    + "'.");
+            System.exit(1);
+            return 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        String programName = "WeightTuner";
+        Getopt g = new Getopt(programName, args, "c:d:hi:m:n:o:p:r:s:t:");
+        g.setOpterr(false);
+        int c, rows = Board.DEFAULT_ROWS, columns = Board.DEFAULT_COLUMNS,
+            winLength = Board.DEFAULT_WIN_LENGTH, depth = 4,
+            iterations = 100, reportDepth = 6, plies = 2, seed = 1,
+            threads = Runtime.getRuntime().availableProcessors();
+        String output = EvaluationWeights.DEFAULT_FILE;
+        while ((c = g.getopt()) != -1) {
+            switch (c) {
+                case 'c':
+                    columns = parseInt(programName, "number of columns",
+                            g.getOptarg(), Board.MIN_SIZE, Board.MAX_SIZE);
+                    break;
+                case 'd':
+                    depth = parseInt(programName, "search depth",
+                            g.getOptarg(), 1, 12);
+                    break;
+                case 'h':
+                    System.out.println(getHelp(programName));
+                    System.exit(0);
+                case 'i':
+                    iterations = parseInt(programName, "number of iterations",
+                            g.getOptarg(), 0, Integer.MAX_VALUE);
+                    break;
+                case 'm':
+                    reportDepth = parseInt(programName, "report depth",
+                            g.getOptarg(), 2, 12);
+                    break;
+                case 'n':
+                    winLength = parseInt(programName, "win length",
+                            g.getOptarg(), Board.MIN_WIN_LENGTH,
+                            Board.MAX_WIN_LENGTH);
+                    break;
+                case 'o':
+                    output = g.getOptarg();
+                    break;
+                case 'p':
+                    plies = parseInt(programName, "number of plies",
+                            g.getOptarg(), 0, 6);
+                    break;
+                case 'r':
+                    rows = parseInt(programName, "number of rows",
+                            g.getOptarg(), Board.MIN_SIZE, Board.MAX_SIZE);
+                    break;
+                case 's':
+                    seed = parseInt(programName, "seed", g.getOptarg(),
+                            Integer.MIN_VALUE, Integer.MAX_VALUE);
+                    break;
+                case 't':
+                    threads = parseInt(programName, "number of threads",
+                            g.getOptarg(), 1, 1024);
+                    break;
+                case '?':
+                    System.err.println(programName + ": Unknown option '"
+                            + (char)g.getOptopt() + "' received.");
+                    System.exit(1);
+                default:
+                    break;
+            }
+        }
+        if (winLength > rows || winLength > columns) {
+            System.err.println(programName + ": Board size " + columns + " x "
+                    + rows + " is too small for " + winLength + " in a row.");
+            System.exit(1);
+        }
+
+        SelfPlay selfPlay = new SelfPlay(rows, columns, winLength, threads);
+        List<String> openings = selfPlay.getOpenings(plies);
+        WeightTuner tuner = new WeightTuner(selfPlay, openings, winLength,
+                                            depth, seed);
+        EvaluationWeights start = EvaluationWeights.getDefault(winLength);
+        System.out.println("Starting weights: " + start);
+        try {
+            EvaluationWeights tuned = tuner.tune(start, iterations);
+            tuned.save(output);
+            System.out.println("Tuned weights written to " + output + ": "
+                    + tuned);
+            tuner.report(tuned, start, reportDepth);
+        } catch (IOException ioe) {
+            System.err.println("Error: " + ioe.getMessage());
+            System.exit(1);
+        } catch (InterruptedException ie) {
+            System.exit(1);
+        } finally {
+            selfPlay.shutdown();
+        }
+    }
+}
@@ -0,0 +1,634 @@
+/**
+ * File: Board.java
+ * Author: Brian Borowski
+ * Date created: April 9, 2012
+ * Date last modified: October 19, 2026
+ */
+import java.util.Arrays;
+
+public class Board {
+    public static final char MARK_RED = 'X', MARK_BLACK = 'O', UNMARKED = ' ',
+                             MARK_PINK = 'P', MARK_GRAY = 'G';
+    public static final String RED = "Red", BLACK = "Black";
+    public static final int DEFAULT_ROWS = 6, DEFAULT_COLUMNS = 7,
+                            MIN_SIZE = 4, MAX_SIZE = 16,
+                            DEFAULT_WIN_LENGTH = 4,
+                            MIN_WIN_LENGTH = 3, MAX_WIN_LENGTH = 6;
+    // Cells hold RED_CODE or BLACK_CODE, so the sum over a window encodes
+    // both counts and indexes the score tables of EvaluationWeights.
+    static final byte EMPTY_CODE = 0, RED_CODE = 1, BLACK_CODE = 16;
+    // Weights of getThreatScore(), in the units of the window scores.
+    static final int THREAT = 8, PARITY_THREAT = 32, STACKED_THREAT = 128,
+                     ZUGZWANG_CONTROL = 256, IMMEDIATE_WIN = 512;
+    private static final byte RED_THREAT = 1, BLACK_THREAT = 2;
+
+    private final int rows, columns, winLength;
+    private final byte[] board;
+    private final int[][] moveNumbers;
+    // The cells filled by set(), in order, for getSnapshot().
+    private final byte[] moveCells;
+    private int moveCount;
+    private final int[] firstAvailableRow;
+    private int[] redScores, blackScores;
+    private EvaluationWeights weights;
+    private final WindowTable windowTable;
+    private final Cell[] winningCells;
+    private byte[] threats;
+    private boolean winnerFound, redWinFound, blackWinFound, threatFound;
+    private int moveNumber;
+    private long positionKey;
+
+    public Board() {
+        this(DEFAULT_ROWS, DEFAULT_COLUMNS);
+    }
+
+    public Board(int rows, int columns) throws IllegalArgumentException {
+        this(rows, columns, DEFAULT_WIN_LENGTH);
+    }
+
+    public Board(int rows, int columns, int winLength)
+            throws IllegalArgumentException {
+        if (rows < MIN_SIZE || rows > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "Invalid number of rows " + rows + " received.");
+        }
+        if (columns < MIN_SIZE || columns > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "Invalid number of columns " + columns + " received.");
+        }
+        if (winLength < MIN_WIN_LENGTH || winLength > MAX_WIN_LENGTH
+                || winLength > rows || winLength > columns) {
+            throw new IllegalArgumentException(
+                "Invalid win length " + winLength + " received.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+        board = new byte[rows * columns];
+        moveNumbers = new int[rows][columns];
+        moveCells = new byte[rows * columns];
+        firstAvailableRow = new int[columns];
+        setWeights(EvaluationWeights.getDefault(winLength));
+        windowTable = WindowTable.getInstance(rows, columns, winLength);
+        winningCells = new Cell[winLength];
+        reset();
+    }
+
+    public Board(Board other) {
+        rows = other.rows;
+        columns = other.columns;
+        winLength = other.winLength;
+        board = other.board.clone();
+        moveNumbers = new int[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                moveNumbers[row][col] = other.moveNumbers[row][col];
+            }
+        }
+        moveCells = other.moveCells.clone();
+        moveCount = other.moveCount;
+        firstAvailableRow = other.firstAvailableRow.clone();
+        redScores = other.redScores;
+        blackScores = other.blackScores;
+        weights = other.weights;
+        windowTable = other.windowTable;
+        winningCells = new Cell[winLength];
+        for (int i = 0; i < winLength; i++) {
+            winningCells[i] = new Cell(0, 0);
+        }
+        moveNumber = other.moveNumber;
+        positionKey = other.positionKey;
+    }
+
+    public void reset() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                board[row * columns + col] = EMPTY_CODE;
+                moveNumbers[row][col] = 0;
+            }
+        }
+        positionKey = 0;
+        moveCount = 0;
+        for (int col = 0; col < columns; col++) {
+            firstAvailableRow[col] = rows - 1;
+            positionKey |= 1L << (col * (rows + 1));
+        }
+        for (int i = 0; i < winLength; i++) {
+            winningCells[i] = new Cell(0, 0);
+        }
+        winnerFound = false;
+        moveNumber = 1;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public void setWeights(EvaluationWeights weights)
+            throws IllegalArgumentException {
+        if (weights.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Weights for "
+                    + weights.getWinLength() + " in a row cannot be used for "
+                    + winLength + " in a row.");
+        }
+        this.weights = weights;
+        redScores = weights.getScoreTable(MARK_RED);
+        blackScores = weights.getScoreTable(MARK_BLACK);
+    }
+
+    public EvaluationWeights getWeights() {
+        return weights;
+    }
+
+    public boolean isColumnAvailable(int column) {
+        return firstAvailableRow[column] != -1;
+    }
+
+    public int getFirstAvailableRow(int column) {
+        return firstAvailableRow[column];
+    }
+
+    public char get(int row, int column) {
+        return toMark(board[row * columns + column]);
+    }
+
+    private static char toMark(byte code) {
+        if (code == RED_CODE) {
+            return MARK_RED;
+        } else if (code == BLACK_CODE) {
+            return MARK_BLACK;
+        }
+        return UNMARKED;
+    }
+
+    public char[][] getGrid() {
+        char[][] grid = new char[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                grid[row][col] = toMark(board[row * columns + col]);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Returns an immutable snapshot of the checkers on the board and of the
+     * order in which they were set.
+     */
+    public BoardSnapshot getSnapshot() {
+        int cells = rows * columns, words = (cells + 63) >>> 6;
+        long[] red = new long[words], black = new long[words];
+        for (int cell = 0; cell < cells; cell++) {
+            if (board[cell] == RED_CODE) {
+                red[cell >>> 6] |= 1L << cell;
+            } else if (board[cell] == BLACK_CODE) {
+                black[cell >>> 6] |= 1L << cell;
+            }
+        }
+        dropRemovedMoves();
+        return new BoardSnapshot(rows, columns, red, black,
+                                 Arrays.copyOf(moveCells, moveCount));
+    }
+
+    /**
+     * Drops from moveCells the checkers removed other than last to first,
+     * which unset() leaves there.
+     */
+    private void dropRemovedMoves() {
+        int n = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (board[moveCells[i] & 0xff] != EMPTY_CODE) {
+                moveCells[n++] = moveCells[i];
+            }
+        }
+        moveCount = n;
+    }
+
+    public void display() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                System.out.print("|" + toMark(board[row * columns + col]));
+            }
+            System.out.println("|");
+        }
+        for (int col = 0; col < columns; col++) {
+            System.out.print("--");
+        }
+        System.out.println("-");
+    }
+
+    public int mark(int col, char mark) throws IllegalArgumentException {
+        int row = firstAvailableRow[col];
+        if (row < 0) {
+            throw new IllegalArgumentException(
+                "Column " + (col + 1) + " is already full.");
+        }
+        int bit = col * (rows + 1) + rows - 1 - row;
+        if (mark == MARK_RED) {
+            board[row * columns + col] = RED_CODE;
+            positionKey += 2L << bit;
+        } else if (mark == MARK_BLACK) {
+            board[row * columns + col] = BLACK_CODE;
+            positionKey += 1L << bit;
+        } else {
+            throw new IllegalArgumentException(
+                "Unknown player " + mark + " received.");
+        }
+        --firstAvailableRow[col];
+        return row;
+    }
+
+    public void set(int col, char mark) throws IllegalArgumentException {
+        int row = mark(col, mark);
+        moveNumbers[row][col] = moveNumber++;
+        if (moveCount == moveCells.length) {
+            dropRemovedMoves();
+        }
+        moveCells[moveCount++] = (byte)(row * columns + col);
+    }
+
+    public void unset(int col) throws IllegalArgumentException {
+        int row = firstAvailableRow[col];
+        if (row >= rows) {
+            throw new IllegalArgumentException(
+                "Column " + (col + 1) + " is already empty.");
+        }
+        row = ++firstAvailableRow[col];
+        if (moveCount > 0
+                && (moveCells[moveCount - 1] & 0xff) == row * columns + col) {
+            moveCount--;
+        }
+        int bit = col * (rows + 1) + rows - 1 - row;
+        positionKey -= (board[row * columns + col] == RED_CODE ? 2L : 1L)
+                       << bit;
+        board[row * columns + col] = EMPTY_CODE;
+    }
+
+    /**
+     * Returns a number that identifies the position alone, whatever the
+     * order of the moves. Column c takes up bits c * (rows + 1) to
+     * c * (rows + 1) + rows, counted from the bottom of the column as in
+     * Solver: the bits of Red's checkers are set, and so is the bit just
+     * above the top checker. It is kept up to date as checkers are dropped
+     * and removed, and is only meaningful if Solver.supports() the board
+     * size.
+     */
+    public long getPositionKey() {
+        return positionKey;
+    }
+
+    public static String getColorOfPlayer(char player)
+            throws IllegalArgumentException {
+
+        if (player == MARK_RED) {
+            return RED;
+        } else if (player == MARK_BLACK) {
+            return BLACK;
+        } else {
+            throw new IllegalArgumentException(
+                "Unknown player " + player + " received.");
+        }
+    }
+
+    public Cell[] getWinningCells() {
+        return winnerFound ? winningCells : null;
+    }
+
+    public int[][] getMoveNumbers() {
+        return moveNumbers;
+    }
+
+    public char getWinner() {
+        winnerFound = false;
+        int[] windows = windowTable.windows;
+        int redWin = winLength * RED_CODE, blackWin = winLength * BLACK_CODE;
+        for (int i = 0; i < windows.length; i += winLength) {
+            int sum = 0;
+            for (int val = 0; val < winLength; val++) {
+                sum += board[windows[i + val]];
+            }
+            if (sum == redWin || sum == blackWin) {
+                for (int val = 0; val < winLength; val++) {
+                    winningCells[val].row = windows[i + val] / columns;
+                    winningCells[val].column = windows[i + val] % columns;
+                }
+                winnerFound = true;
+                return sum == redWin ? MARK_RED : MARK_BLACK;
+            }
+        }
+        return UNMARKED;
+    }
+
+    /**
+     * Returns true if the checker on top of the column completes a line.
+     * Only the lines through that checker are examined, which makes this
+     * much cheaper than getWinner().
+     */
+    public boolean completesLine(int col) {
+        int row = firstAvailableRow[col] + 1;
+        int[] windows = windowTable.cellWindows[row * columns + col];
+        int target = board[row * columns + col] * winLength;
+        for (int i = 0; i < windows.length; i += 3) {
+            int sum = 0,
+                stride = windows[i + 1],
+                end = windows[i] + stride * windows[i + 2];
+            for (int cell = windows[i]; cell != end; cell += stride) {
+                sum += board[cell];
+            }
+            if (sum == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the columns in which the player of the checker on top of the
+     * column could now complete a line through that checker, as a bit set
+     * with bit c set for column c. The opponent must block such a threat
+     * with the next move. Like completesLine(), only the lines through the
+     * checker are examined.
+     */
+    public int getThreatColumns(int col) {
+        int row = firstAvailableRow[col] + 1, cell = row * columns + col;
+        int target = (winLength - 1) * board[cell], threats = 0;
+        // The column needs the cell above, which is always the next to fill.
+        if (row > 0 && row + winLength - 1 <= rows) {
+            int sum = 0;
+            for (int r = row; r < row + winLength - 1; r++) {
+                sum += board[r * columns + col];
+            }
+            if (sum == target) {
+                threats |= 1 << col;
+            }
+        }
+        int[] windows = windowTable.cellWindows[cell];
+        for (int i = 0; i < windows.length; i += 3) {
+            int stride = windows[i + 1];
+            if (stride == columns) {
+                continue;
+            }
+            int sum = 0,
+                end = windows[i] + stride * windows[i + 2];
+            for (int c = windows[i]; c != end; c += stride) {
+                sum += board[c];
+            }
+            // Only a window of the player's checkers and one empty cell
+            // adds up to the target.
+            if (sum == target) {
+                int empty = windows[i];
+                while (board[empty] != EMPTY_CODE) {
+                    empty += stride;
+                }
+                int emptyColumn = empty % columns;
+                if (empty / columns == firstAvailableRow[emptyColumn]) {
+                    threats |= 1 << emptyColumn;
+                }
+            }
+        }
+        return threats;
+    }
+
+    /**
+     * Returns the columns the player can play without losing at once, as a
+     * bit set with bit c set for column c. If the player can win, only the
+     * winning columns are returned. Otherwise a column is left out if the
+     * opponent could then win on top of it, and if the opponent can already
+     * win somewhere, every column but that one is left out. Returns 0 if
+     * every move loses at once, as when the opponent could win in two
+     * places.
+     */
+    public int getNonLosingColumns(char player) {
+        int own = player == MARK_RED ? RED_CODE : BLACK_CODE,
+            other = player == MARK_RED ? BLACK_CODE : RED_CODE;
+        int available = 0, wins = 0, threats = 0, undermined = 0;
+        for (int col = 0; col < columns; col++) {
+            int row = firstAvailableRow[col];
+            if (row < 0) {
+                continue;
+            }
+            int bit = 1 << col, cell = row * columns + col;
+            available |= bit;
+            if (completesLineAt(cell, own)) {
+                wins |= bit;
+            } else if (completesLineAt(cell, other)) {
+                threats |= bit;
+            }
+            if (row > 0 && completesLineAt(cell - columns, other)) {
+                undermined |= bit;
+            }
+        }
+        if (wins != 0) {
+            return wins;
+        } else if (threats != 0) {
+            return Integer.bitCount(threats) == 1 ? threats & ~undermined : 0;
+        }
+        return available & ~undermined;
+    }
+
+    /**
+     * Returns true if a checker with the given code in the empty cell would
+     * complete a line. The diagonal windows of a cell include some that miss
+     * it, which are skipped. A column has no threat above an empty cell, so
+     * the column windows, which run down from their cell, are summed as they
+     * are.
+     */
+    private boolean completesLineAt(int cell, int code) {
+        int[] windows = windowTable.cellWindows[cell];
+        int target = (winLength - 1) * code;
+        for (int i = 0; i < windows.length; i += 3) {
+            int sum = 0,
+                stride = windows[i + 1],
+                end = windows[i] + stride * windows[i + 2],
+                offset = (cell - windows[i]) / stride;
+            if (offset < 0 || offset >= windows[i + 2]) {
+                continue;
+            }
+            for (int c = windows[i]; c != end; c += stride) {
+                sum += board[c];
+            }
+            if (sum == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean redWinFound() {
+        return redWinFound;
+    }
+    
+    public boolean blackWinFound() {
+        return blackWinFound;
+    }
+
+    /**
+     * Returns true if the checker scored by the last call to
+     * getHeuristicScore() may have made a threat, because a line through it
+     * lacks just one checker of its player. getThreatColumns() tells
+     * whether the missing checker can be played at once.
+     */
+    public boolean threatFound() {
+        return threatFound;
+    }
+
+    public int getHeuristicScore(char player, int col, int depth, int maxDepth) {
+        int score = 0,
+            row = firstAvailableRow[col] + 1;
+        int[] scores = player == MARK_RED ? redScores : blackScores;
+        redWinFound = blackWinFound = threatFound = false;
+
+        int[] windows = windowTable.cellWindows[row * columns + col];
+        int redWin = winLength * RED_CODE, blackWin = winLength * BLACK_CODE,
+            nearWin = (winLength - 1) * board[row * columns + col];
+        for (int i = 0; i < windows.length; i += 3) {
+            int sum = 0,
+                stride = windows[i + 1],
+                end = windows[i] + stride * windows[i + 2];
+            for (int cell = windows[i]; cell != end; cell += stride) {
+                sum += board[cell];
+            }
+            // The column is summed from the checker down, so its last cell
+            // is left out for a threat on the cell above.
+            if (sum == nearWin || stride == columns
+                    && sum - board[end - stride] == nearWin) {
+                threatFound = true;
+            }
+            if (sum == redWin) {
+                redWinFound = true;
+                if (depth <= 2) {
+                    return Integer.MIN_VALUE + 1;
+                }
+            } else if (sum == blackWin) {
+                blackWinFound = true;
+                if (depth <= 2) {
+                    return Integer.MAX_VALUE - 1;
+                }
+            }
+            score += scores[sum];
+        }
+        return score;
+    }
+
+    /**
+     * Scores the threats on the board, the empty cells that would complete
+     * a line, for use at the leaves of the search alongside
+     * getHeuristicScore(). Positive scores favor Black.
+     *
+     * A threat only counts if the opponent has no threat lower down in the
+     * same column, since that one will be met first. On a board with an even
+     * number of rows, Black can answer every move in the same column and so
+     * take every cell on an even row, counted from the bottom, while Red
+     * takes the odd rows: threats on those rows are the ones that can win
+     * in the end and are worth more. Red with an odd threat against a Black
+     * without an even one, or Black with an even threat against a Red
+     * without an odd one, controls the zugzwang. Two threats of one player
+     * stacked in a column win as soon as the lower one can be played.
+     * A threat the player to move can play at once, or two the opponent can,
+     * decides the game.
+     */
+    public int getThreatScore(char player) {
+        int cells = rows * columns;
+        if (threats == null) {
+            threats = new byte[cells];
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            threats[cell] = 0;
+        }
+        int[] windows = windowTable.windows;
+        int redThreat = (winLength - 1) * RED_CODE,
+            blackThreat = (winLength - 1) * BLACK_CODE;
+        for (int i = 0; i < windows.length; i += winLength) {
+            int sum = 0;
+            for (int val = 0; val < winLength; val++) {
+                sum += board[windows[i + val]];
+            }
+            if (sum == redThreat || sum == blackThreat) {
+                int val = 0;
+                while (board[windows[i + val]] != EMPTY_CODE) {
+                    val++;
+                }
+                threats[windows[i + val]] |= sum == redThreat ? RED_THREAT
+                                                               : BLACK_THREAT;
+            }
+        }
+
+        boolean parity = rows % 2 == 0;
+        byte own = player == MARK_RED ? RED_THREAT : BLACK_THREAT;
+        int score = 0, playableAgainst = 0, oddRed = 0, evenBlack = 0;
+        for (int col = 0; col < columns; col++) {
+            int top = firstAvailableRow[col];
+            if (top < 0) {
+                continue;
+            }
+            byte playable = threats[top * columns + col];
+            if ((playable & own) != 0) {
+                return player == MARK_RED ? -IMMEDIATE_WIN : IMMEDIATE_WIN;
+            }
+            if (playable != 0) {
+                playableAgainst++;
+            }
+            // Only the lowest threatened cell of the column counts.
+            int row = top;
+            while (row >= 0 && threats[row * columns + col] == 0) {
+                row--;
+            }
+            if (row < 0) {
+                continue;
+            }
+            byte found = threats[row * columns + col];
+            boolean oddRow = (rows - row) % 2 == 1;
+            byte above = row > 0 ? threats[(row - 1) * columns + col] : 0;
+            if ((found & RED_THREAT) != 0) {
+                if (parity && oddRow) {
+                    score -= PARITY_THREAT;
+                    oddRed++;
+                } else {
+                    score -= THREAT;
+                }
+                if ((above & RED_THREAT) != 0) {
+                    score -= STACKED_THREAT;
+                }
+            }
+            if ((found & BLACK_THREAT) != 0) {
+                if (parity && !oddRow) {
+                    score += PARITY_THREAT;
+                    evenBlack++;
+                } else {
+                    score += THREAT;
+                }
+                if ((above & BLACK_THREAT) != 0) {
+                    score += STACKED_THREAT;
+                }
+            }
+        }
+        if (playableAgainst > 1) {
+            return player == MARK_RED ? IMMEDIATE_WIN : -IMMEDIATE_WIN;
+        }
+        if (oddRed > 0 && evenBlack == 0) {
+            score -= ZUGZWANG_CONTROL;
+        } else if (evenBlack > 0 && oddRed == 0) {
+            score += ZUGZWANG_CONTROL;
+        }
+        return score;
+    }
+
+    public boolean isFull() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (board[row * columns + col] == EMPTY_CODE) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * File: BoardSnapshot.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+
+/**
+ * An immutable picture of a board and the order its checkers were played
+ * in, for drawing the board on another thread than the one playing the
+ * game. Since a snapshot never changes, it can be handed over through a
+ * volatile field without locking.
+ *
+ * The checkers of each color are bit sets of the cells, cell
+ * row * columns + column, which on the standard board fill one long each.
+ * The moves are the cells they filled, in the order played; the number of
+ * the move of each cell is worked out from them the first time it is
+ * asked for.
+ */
+public final class BoardSnapshot {
+    // Shared by the snapshots without highlighted cells, for each length.
+    private static final long[][] NO_HIGHLIGHTS =
+            new long[(Board.MAX_SIZE * Board.MAX_SIZE + 63 >>> 6) + 1][];
+
+    static {
+        for (int words = 0; words < NO_HIGHLIGHTS.length; words++) {
+            NO_HIGHLIGHTS[words] = new long[words];
+        }
+    }
+
+    private final int rows, columns;
+    private final long[] red, black, highlighted;
+    private final byte[] moves;
+    private volatile short[] moveNumbers;
+
+    BoardSnapshot(int rows, int columns, long[] red, long[] black,
+                  byte[] moves) {
+        this(rows, columns, red, black, NO_HIGHLIGHTS[red.length], moves);
+    }
+
+    private BoardSnapshot(int rows, int columns, long[] red, long[] black,
+                          long[] highlighted, byte[] moves) {
+        this.rows = rows;
+        this.columns = columns;
+        this.red = red;
+        this.black = black;
+        this.highlighted = highlighted;
+        this.moves = moves;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getPlays() {
+        return moves.length;
+    }
+
+    /**
+     * Returns Board.MARK_RED, Board.MARK_BLACK or Board.UNMARKED.
+     */
+    public char get(int row, int col) {
+        int cell = row * columns + col;
+        if (isSet(red, cell)) {
+            return Board.MARK_RED;
+        } else if (isSet(black, cell)) {
+            return Board.MARK_BLACK;
+        }
+        return Board.UNMARKED;
+    }
+
+    /**
+     * Returns the number of the move that filled the cell, counting from 1,
+     * or 0 if the cell is empty.
+     */
+    public int getMoveNumber(int row, int col) {
+        short[] numbers = moveNumbers;
+        if (numbers == null) {
+            // Threads racing here build equal tables, so any may win.
+            numbers = new short[rows * columns];
+            for (int i = 0; i < moves.length; i++) {
+                numbers[moves[i] & 0xff] = (short)(i + 1);
+            }
+            moveNumbers = numbers;
+        }
+        return numbers[row * columns + col];
+    }
+
+    public boolean isHighlighted(int row, int col) {
+        return isSet(highlighted, row * columns + col);
+    }
+
+    /**
+     * Returns a snapshot of the same board with the cells highlighted, such
+     * as those of the winning line.
+     */
+    public BoardSnapshot highlight(Cell[] cells) {
+        long[] bits = highlighted.clone();
+        for (Cell cell : cells) {
+            int index = cell.row * columns + cell.column;
+            bits[index >>> 6] |= 1L << index;
+        }
+        return new BoardSnapshot(rows, columns, red, black, bits, moves);
+    }
+
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * File: ConnectFour.java
+ * Author: Brian Borowski
+ * Date created: April 9, 2012
+ * Date last modified: October 19, 2026
+ */
+
+/**
+ * A game of Connect Four: the board, the player to move, and the settings
+ * the computer plays with. It has no user interface of its own; the
+ * console and the window drive it.
+ */
+public class ConnectFour {
+    private final Board board;
+    private char player;
+    private final int gameType, maxDepth, depthLimit, algorithm, evaluation,
+                      engine, playoutBudget, extensionBudget,
+                      selectivity;
+    private final TimeManager timeManager;
+    private EngineSession session;
+    private MonteCarloSearch monteCarloSearch;
+    private int plays;
+
+    public ConnectFour(int gameType, int maxDepth)
+            throws IllegalArgumentException {
+        this(gameType, maxDepth, Board.DEFAULT_ROWS, Board.DEFAULT_COLUMNS);
+    }
+
+    public ConnectFour(int gameType, int maxDepth, int rows, int columns)
+            throws IllegalArgumentException {
+        this(gameType, maxDepth, rows, columns, Board.DEFAULT_WIN_LENGTH);
+    }
+
+    public ConnectFour(int gameType, int maxDepth, int rows, int columns,
+                       int winLength) throws IllegalArgumentException {
+        this(gameType, maxDepth, maxDepth, ConnectFourConfig.ALPHA_BETA,
+             ConnectFourConfig.WINDOW_EVALUATION, ConnectFourConfig.MINIMAX, 0,
+             0, 0, rows, columns, winLength,
+             new TimeManager(ConnectFourConfig.NO_TIME_CONTROL, 0, 0));
+    }
+
+    public ConnectFour(ConnectFourConfig config)
+            throws IllegalArgumentException {
+        this(config.getGameType(), config.getMaxDepth(),
+             config.getDepthLimit(), config.getAlgorithm(),
+             config.getEvaluation(), config.getEngine(),
+             config.getPlayoutBudget(), config.getExtensionBudget(),
+             config.getSelectivity(), config.getRows(), config.getColumns(),
+             config.getWinLength(),
+             new TimeManager(config));
+    }
+
+    private ConnectFour(int gameType, int maxDepth, int depthLimit,
+            int algorithm, int evaluation, int engine, int playoutBudget,
+            int extensionBudget, int selectivity, int rows, int columns,
+            int winLength, TimeManager timeManager)
+            throws IllegalArgumentException {
+        this.gameType = gameType;
+        this.maxDepth = maxDepth;
+        this.depthLimit = depthLimit;
+        this.algorithm = algorithm;
+        this.evaluation = evaluation;
+        this.engine = engine;
+        this.playoutBudget = playoutBudget;
+        this.extensionBudget = extensionBudget;
+        this.selectivity = selectivity;
+        this.timeManager = timeManager;
+        player = Board.MARK_RED;
+        plays = 0;
+        board = new Board(rows, columns, winLength);
+    }
+
+    public int getRows() {
+        return board.getRows();
+    }
+
+    public int getColumns() {
+        return board.getColumns();
+    }
+
+    public int getWinLength() {
+        return board.getWinLength();
+    }
+
+    public int getGameType() {
+        return gameType;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public TimeManager getTimeManager() {
+        return timeManager;
+    }
+
+    /**
+     * Starts the clock of the player to move. The clock stops when the
+     * player's checker is dropped.
+     */
+    public void startClock() {
+        timeManager.startClock(player, plays, getMaxPlays());
+    }
+
+    /**
+     * Returns true if the player to move has run out of time.
+     */
+    public boolean isFlagged() {
+        return timeManager.isFlagged(player);
+    }
+
+    /**
+     * Returns the engine session shared by every computer move of this game,
+     * creating it on first use and seeding it from the default session
+     * store, which takes the session back when the next game starts or the
+     * program exits. Hint searches may ask for it from their own threads.
+     */
+    public synchronized EngineSession getSession() {
+        if (session == null) {
+            session = new EngineSession(board.getRows(), board.getColumns());
+            SessionStore store = SessionStore.getDefault();
+            if (store != null) {
+                store.attach(session, SessionStore.getFingerprint(
+                        EvaluationWeights.getDefault(board.getWinLength()),
+                        evaluation, extensionBudget, selectivity));
+            }
+        }
+        return session;
+    }
+
+    public int getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the Monte Carlo engine shared by every computer move of this
+     * game, so that each search can start from the last one's tree.
+     */
+    public MonteCarloSearch getMonteCarloSearch() {
+        if (monteCarloSearch == null) {
+            monteCarloSearch = new MonteCarloSearch(
+                    Runtime.getRuntime().availableProcessors());
+        }
+        return monteCarloSearch;
+    }
+
+    /**
+     * Returns the column the Monte Carlo engine plays for the player to
+     * move, within the playout budget and, under a time control, by the
+     * soft deadline.
+     */
+    public int getComputerMove(MonteCarloSearch search) {
+        // The search marks the board it is given, so it gets a copy.
+        if (!timeManager.isEnabled()) {
+            return search.search(new Board(board), player, playoutBudget);
+        }
+        return search.search(new Board(board), player, playoutBudget,
+                             timeManager.getSoftDeadline());
+    }
+
+    /**
+     * Returns the column the computer plays for the player to move. Without
+     * a time control the search goes to the maximum depth; with one, it
+     * deepens for as long as the clock allows. Either way the search draws
+     * on the game's engine session.
+     */
+    public int getComputerMove(Minimax minimax) {
+        configure(minimax);
+        if (!timeManager.isEnabled()) {
+            return minimax.alphaBeta(player);
+        }
+        return minimax.iterativeDeepening(player, depthLimit,
+                timeManager.getSoftDeadline(), timeManager.getHardDeadline());
+    }
+
+    /**
+     * Makes the search use this game's session, algorithm, evaluation,
+     * extension budget and selectivity, as the computer's own searches do,
+     * so that what it stores in the session is valid for them.
+     */
+    public void configure(Minimax minimax) {
+        minimax.setSession(getSession());
+        minimax.setAlgorithm(algorithm);
+        minimax.setEvaluation(evaluation);
+        minimax.setExtensionBudget(extensionBudget);
+        minimax.setSelectivity(selectivity);
+    }
+
+    public int getPlays() {
+        return plays;
+    }
+
+    public int getMaxPlays() {
+        return board.getRows() * board.getColumns();
+    }
+
+    public char getPlayer() {
+        return player;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public void displayBoard() {
+        board.display();
+    }
+
+    public void switchPlayers() {
+        if (player == Board.MARK_BLACK) {
+            player = Board.MARK_RED;
+        } else {
+            player = Board.MARK_BLACK;
+        }
+    }
+
+    public char getWinner() {
+        return board.getWinner();
+    }
+
+    public void dropChecker(int col, char player)
+            throws IllegalArgumentException {
+        if (player != Board.MARK_RED && player != Board.MARK_BLACK) {
+            throw new IllegalArgumentException(
+                "Invalid player '" + player + "' attempting to mark board.");
+        }
+        if (col < 0 || col >= board.getColumns()) {
+            throw new IllegalArgumentException(
+                "Invalid column " + col + " received.");
+        }
+        board.set(col, player);
+        timeManager.stopClock();
+        plays++;
+    }
+}
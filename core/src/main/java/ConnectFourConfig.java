@@ -0,0 +1,285 @@
+/**
+ * File: ConnectFourConfig.java
+ * Author: Brian Borowski
+ * Date created: April 9, 2012
+ * Date last modified: October 19, 2026
+ */
+public class ConnectFourConfig {
+    public static final int
+        HUMAN_HUMAN = 1,
+        HUMAN_COMPUTER = 2,
+        COMPUTER_HUMAN = 3,
+        COMPUTER_COMPUTER = 4,
+        
+        BEGINNER = 1,
+        INTERMEDIATE = 2,
+        ADVANCED = 3,
+        EXPERT = 4,
+
+        NO_TIME_CONTROL = 0,
+        TIME_PER_MOVE = 1,
+        TIME_PER_GAME = 2,
+
+        ALPHA_BETA = 1,
+        MTDF = 2,
+
+        WINDOW_EVALUATION = 1,
+        THREAT_EVALUATION = 2,
+
+        MINIMAX = 1,
+        MONTE_CARLO = 2;
+    private static final int[] PLAYOUT_BUDGETS = { 0, 500, 3000, 20000,
+                                                   100000 };
+    private static final int[] EXTENSION_BUDGETS = { 0, 0, 0, 0, 2 },
+                               SELECTIVITIES = { 0, 0, 0, 0, 1 };
+    private int gameType, maxDepth, rows, columns, winLength, timeControl,
+                algorithm = ALPHA_BETA, evaluation = WINDOW_EVALUATION,
+                playoutBudget;
+    private final int[] engines = { 0, MINIMAX, MINIMAX, MINIMAX, MINIMAX };
+    private long baseTime, increment;
+
+    public ConnectFourConfig(int gameType, int difficultyLevel) {
+        this(gameType, difficultyLevel, Board.DEFAULT_ROWS,
+             Board.DEFAULT_COLUMNS);
+    }
+
+    public ConnectFourConfig(int gameType, int difficultyLevel, int rows,
+                             int columns) {
+        setGameType(gameType);
+        setDifficulty(difficultyLevel);
+        winLength = Board.DEFAULT_WIN_LENGTH;
+        setBoardSize(rows, columns);
+    }
+
+    public void setGameType(int gameType) throws IllegalArgumentException {
+        if (gameType < HUMAN_HUMAN || gameType > COMPUTER_COMPUTER) {
+            throw new IllegalArgumentException("Invalid value '" + gameType
+                    + "' for game type.");
+        }
+        this.gameType = gameType;
+    }
+
+    public int getGameType() {
+        return gameType;
+    }
+    
+    public int getDifficultyLevel() {
+        return maxDepth >> 1;
+    }
+    
+    public void setDifficulty(int difficultyLevel) throws IllegalArgumentException {
+        if (difficultyLevel < BEGINNER || difficultyLevel > EXPERT) {
+            throw new IllegalArgumentException("Invalid value '"
+                    + difficultyLevel + "' for difficulty level.");
+        }
+        this.maxDepth = difficultyLevel << 1;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the deepest search the computer may make. Without a time
+     * control that is the depth of the difficulty level. With one, the
+     * expert searches as deep as its clock allows, while the lower levels
+     * keep their depth so that they stay beatable.
+     */
+    public int getDepthLimit() {
+        if (timeControl != NO_TIME_CONTROL && getDifficultyLevel() == EXPERT) {
+            return rows * columns;
+        }
+        return maxDepth;
+    }
+
+    public void setBoardSize(int rows, int columns)
+            throws IllegalArgumentException {
+        if (rows < Board.MIN_SIZE || rows > Board.MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid value '" + rows
+                    + "' for number of rows.");
+        }
+        if (columns < Board.MIN_SIZE || columns > Board.MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid value '" + columns
+                    + "' for number of columns.");
+        }
+        if (winLength > rows || winLength > columns) {
+            throw new IllegalArgumentException("Board size " + columns + " x "
+                    + rows + " is too small for " + winLength
+                    + " in a row.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public void setWinLength(int winLength) throws IllegalArgumentException {
+        if (winLength < Board.MIN_WIN_LENGTH
+                || winLength > Board.MAX_WIN_LENGTH) {
+            throw new IllegalArgumentException("Invalid value '" + winLength
+                    + "' for win length.");
+        }
+        if (winLength > rows || winLength > columns) {
+            throw new IllegalArgumentException("Board size " + columns + " x "
+                    + rows + " is too small for " + winLength
+                    + " in a row.");
+        }
+        this.winLength = winLength;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Sets the time control. With TIME_PER_MOVE, baseTime is the time
+     * allowed for each move and increment must be 0. With TIME_PER_GAME,
+     * each player starts with baseTime on the clock and gains increment
+     * after each move. Times are in milliseconds.
+     */
+    public void setTimeControl(int timeControl, long baseTime, long increment)
+            throws IllegalArgumentException {
+        if (timeControl < NO_TIME_CONTROL || timeControl > TIME_PER_GAME) {
+            throw new IllegalArgumentException("Invalid value '" + timeControl
+                    + "' for time control.");
+        }
+        if (timeControl == NO_TIME_CONTROL) {
+            baseTime = increment = 0;
+        } else if (baseTime <= 0) {
+            throw new IllegalArgumentException("Invalid value '" + baseTime
+                    + "' for base time.");
+        }
+        if (increment < 0
+                || timeControl == TIME_PER_MOVE && increment != 0) {
+            throw new IllegalArgumentException("Invalid value '" + increment
+                    + "' for increment.");
+        }
+        this.timeControl = timeControl;
+        this.baseTime = baseTime;
+        this.increment = increment;
+    }
+
+    public int getTimeControl() {
+        return timeControl;
+    }
+
+    public long getBaseTime() {
+        return baseTime;
+    }
+
+    public long getIncrement() {
+        return increment;
+    }
+
+    /**
+     * Selects the search algorithm used by the computer: ALPHA_BETA or MTDF.
+     */
+    public void setAlgorithm(int algorithm) throws IllegalArgumentException {
+        if (algorithm != ALPHA_BETA && algorithm != MTDF) {
+            throw new IllegalArgumentException("Invalid value '" + algorithm
+                    + "' for search algorithm.");
+        }
+        this.algorithm = algorithm;
+    }
+
+    public int getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Selects how the computer scores the positions at the end of its
+     * search: WINDOW_EVALUATION or THREAT_EVALUATION.
+     */
+    public void setEvaluation(int evaluation)
+            throws IllegalArgumentException {
+        if (evaluation != WINDOW_EVALUATION
+                && evaluation != THREAT_EVALUATION) {
+            throw new IllegalArgumentException("Invalid value '" + evaluation
+                    + "' for evaluation.");
+        }
+        this.evaluation = evaluation;
+    }
+
+    public int getEvaluation() {
+        return evaluation;
+    }
+
+    /**
+     * Selects the engine the computer uses at the difficulty level: MINIMAX
+     * or MONTE_CARLO.
+     */
+    public void setEngine(int difficultyLevel, int engine)
+            throws IllegalArgumentException {
+        if (difficultyLevel < BEGINNER || difficultyLevel > EXPERT) {
+            throw new IllegalArgumentException("Invalid value '"
+                    + difficultyLevel + "' for difficulty level.");
+        }
+        if (engine != MINIMAX && engine != MONTE_CARLO) {
+            throw new IllegalArgumentException("Invalid value '" + engine
+                    + "' for engine.");
+        }
+        engines[difficultyLevel] = engine;
+    }
+
+    public int getEngine(int difficultyLevel) {
+        return engines[difficultyLevel];
+    }
+
+    /**
+     * Returns the engine used at the current difficulty level.
+     */
+    public int getEngine() {
+        return engines[getDifficultyLevel()];
+    }
+
+    /**
+     * Sets the number of playouts the Monte Carlo engine makes per move, or
+     * 0 to let it depend on the difficulty level.
+     */
+    public void setPlayoutBudget(int playoutBudget)
+            throws IllegalArgumentException {
+        if (playoutBudget < 0) {
+            throw new IllegalArgumentException("Invalid value '"
+                    + playoutBudget + "' for playout budget.");
+        }
+        this.playoutBudget = playoutBudget;
+    }
+
+    /**
+     * Returns the number of playouts the Monte Carlo engine may make per
+     * move. As with getDepthLimit(), the expert is only bound by its clock
+     * under a time control.
+     */
+    public int getPlayoutBudget() {
+        if (playoutBudget == 0 && timeControl != NO_TIME_CONTROL
+                && getDifficultyLevel() == EXPERT) {
+            return Integer.MAX_VALUE;
+        }
+        return playoutBudget != 0 ? playoutBudget
+                                  : PLAYOUT_BUDGETS[getDifficultyLevel()];
+    }
+
+    /**
+     * Returns the number of plies a line of the minimax search may be
+     * extended beyond its depth to follow threats. Only the expert extends.
+     */
+    public int getExtensionBudget() {
+        return EXTENSION_BUDGETS[getDifficultyLevel()];
+    }
+
+    /**
+     * Returns how selective the minimax search is, as for
+     * Minimax.setSelectivity(). Only the expert searches deep enough to
+     * profit, and then only at the level that plays as well as the
+     * full-width search.
+     */
+    public int getSelectivity() {
+        return SELECTIVITIES[getDifficultyLevel()];
+    }
+}
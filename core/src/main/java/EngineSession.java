@@ -0,0 +1,359 @@
+/**
+ * File: EngineSession.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.text.NumberFormat;
+import java.util.Random;
+
+/**
+ * What the engine learns during one game, kept from one move to the next:
+ * a transposition table, history and killer move tables, and the principal
+ * variation of the last search. Attach a session to each Minimax with
+ * Minimax.setSession(); ConnectFour does so for every computer move.
+ *
+ * Nothing is cleared between moves. Instead, each new move starts a new
+ * generation: table entries from older generations are the first to be
+ * replaced, and the history scores are halved so that recent cutoffs
+ * count for more.
+ *
+ * Because Board.getHeuristicScore() only scores the windows through the
+ * last checker dropped, the value of a node depends on the column last
+ * played as well as on the position. Entries are therefore keyed by both,
+ * and a stored value is only reused at exactly the same remaining depth.
+ * Nodes within two plies of the root score wins differently, so their
+ * entries only supply a best move.
+ *
+ * Searches running in parallel may share a session. Each key is stored
+ * exclusive-ored with its entry, so an entry torn by two threads writing
+ * at once no longer matches its key and is simply not found. The history
+ * and killer tables are only used to order moves, so races on them do no
+ * harm.
+ */
+public class EngineSession {
+    static final int EXACT = 0, LOWER_BOUND = 1, UPPER_BOUND = 2,
+                     MOVE_ONLY = 3;
+    static final long NO_ENTRY = 0;
+    private static final int DEFAULT_TABLE_BITS = 20;
+    private static final int MAX_HISTORY = 1 << 24;
+    private static final long VALID = 1L << 55;
+
+    private final int rows, columns;
+    final long[] redKeys, blackKeys, lastMoveKeys;
+    final long rootKey;
+    private final long[] tableKeys, tableData;
+    private final int tableMask;
+    final int[][] history;
+    final int[][] killers;
+    private int[] principalVariation;
+    private int pvStart, pvLength, lastPlies;
+    private long generation;
+    private long probes, hits, stores;
+
+    public EngineSession(int rows, int columns) {
+        this(rows, columns, DEFAULT_TABLE_BITS);
+    }
+
+    public EngineSession(int rows, int columns, int tableBits) {
+        this.rows = rows;
+        this.columns = columns;
+        int cells = rows * columns;
+        Random random = new Random(0x4c6f6e67L);
+        redKeys = new long[cells];
+        blackKeys = new long[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            redKeys[cell] = random.nextLong();
+            blackKeys[cell] = random.nextLong();
+        }
+        lastMoveKeys = new long[columns];
+        for (int col = 0; col < columns; col++) {
+            lastMoveKeys[col] = random.nextLong();
+        }
+        rootKey = random.nextLong();
+        tableKeys = new long[1 << tableBits];
+        tableData = new long[1 << tableBits];
+        tableMask = (1 << tableBits) - 1;
+        history = new int[2][cells];
+        killers = new int[cells + 1][2];
+        for (int[] pair : killers) {
+            pair[0] = pair[1] = -1;
+        }
+        principalVariation = new int[0];
+        lastPlies = -1;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public long getHash(Board board) {
+        long hash = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                char mark = board.get(row, col);
+                if (mark == Board.MARK_RED) {
+                    hash ^= redKeys[row * columns + col];
+                } else if (mark == Board.MARK_BLACK) {
+                    hash ^= blackKeys[row * columns + col];
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Called at the start of every search with the number of checkers on
+     * the board. A search from a new position starts a new generation;
+     * repeated searches of the same position, as in iterative deepening,
+     * do not.
+     */
+    synchronized void beginSearch(int plies) {
+        if (plies == lastPlies) {
+            return;
+        }
+        lastPlies = plies;
+        generation = (generation + 1) & 0xff;
+        for (int[] scores : history) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the entry stored for the key, or NO_ENTRY.
+     */
+    long probe(long key) {
+        probes++;
+        long entry = lookup(key);
+        if (entry != NO_ENTRY) {
+            hits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores an entry in the two-entry bucket for the key, replacing the
+     * entry for the same key if there is one, otherwise an entry from an
+     * older generation, otherwise the shallower entry.
+     */
+    void store(long key, int value, int depth, int flag, int bestColumn) {
+        stores++;
+        int index = (int)key & tableMask & ~1;
+        long first = tableData[index], second = tableData[index + 1];
+        if ((tableKeys[index] ^ first) != key) {
+            if ((tableKeys[index + 1] ^ second) == key) {
+                index++;
+            } else if (first != NO_ENTRY
+                    && getGeneration(first) == generation
+                    && (second == NO_ENTRY
+                    || getGeneration(second) != generation
+                    || getDepth(second) < getDepth(first))) {
+                index++;
+            }
+        }
+        long entry = (value & 0xffffffffL) | ((long)depth << 32)
+                | ((long)flag << 40) | ((long)(bestColumn + 1) << 42)
+                | (generation << 47) | VALID;
+        tableKeys[index] = key ^ entry;
+        tableData[index] = entry;
+    }
+
+    /**
+     * Copies every entry in the table into the arrays, which must hold
+     * getCapacity() values, and returns the number copied.
+     */
+    int exportEntries(long[] keys, long[] entries) {
+        int count = 0;
+        for (int i = 0; i < tableData.length; i++) {
+            long entry = tableData[i];
+            if (entry != NO_ENTRY) {
+                keys[count] = tableKeys[i] ^ entry;
+                entries[count++] = entry;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds an entry saved by an earlier run. It joins the current
+     * generation, so it is kept until searches need the room.
+     */
+    void importEntry(long key, long entry) {
+        store(key, getValue(entry), getDepth(entry), getFlag(entry),
+              getBestColumn(entry));
+    }
+
+    /**
+     * Returns the entry stored for the key, or NO_ENTRY, without counting
+     * a probe.
+     */
+    long lookup(long key) {
+        int index = (int)key & tableMask & ~1;
+        long entry = tableData[index];
+        if (entry != NO_ENTRY && (tableKeys[index] ^ entry) == key) {
+            return entry;
+        }
+        entry = tableData[index + 1];
+        if (entry != NO_ENTRY && (tableKeys[index + 1] ^ entry) == key) {
+            return entry;
+        }
+        return NO_ENTRY;
+    }
+
+    int getCapacity() {
+        return tableData.length;
+    }
+
+    static boolean isValid(long entry) {
+        return (entry & VALID) != 0;
+    }
+
+    static int getValue(long entry) {
+        return (int)entry;
+    }
+
+    static int getDepth(long entry) {
+        return (int)(entry >>> 32) & 0xff;
+    }
+
+    static int getFlag(long entry) {
+        return (int)(entry >>> 40) & 3;
+    }
+
+    static int getBestColumn(long entry) {
+        return ((int)(entry >>> 42) & 0x1f) - 1;
+    }
+
+    private static long getGeneration(long entry) {
+        return (entry >>> 47) & 0xff;
+    }
+
+    /**
+     * Records a move that caused a cutoff at the given number of checkers
+     * on the board.
+     */
+    void addKiller(int plies, int col) {
+        int[] pair = killers[plies];
+        if (pair[0] != col) {
+            pair[1] = pair[0];
+            pair[0] = col;
+        }
+    }
+
+    /**
+     * Credits a move that caused a cutoff. When a score grows large, all
+     * scores are halved to keep them well below the killer move priorities.
+     */
+    void addHistory(int player, int cell, int bonus) {
+        int[] scores = history[player];
+        if ((scores[cell] += bonus) > MAX_HISTORY) {
+            for (int[] table : history) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    synchronized void setPrincipalVariation(int plies, int[] moves,
+                                            int length) {
+        principalVariation = new int[length];
+        System.arraycopy(moves, 0, principalVariation, 0, length);
+        pvStart = plies;
+        pvLength = length;
+    }
+
+    /**
+     * Returns the rest of the last principal variation as seen from the
+     * board, or an empty array if the moves played since do not follow it.
+     */
+    synchronized int[] getPrincipalVariation(Board board) {
+        int[][] moveNumbers = board.getMoveNumbers();
+        int[] played = new int[rows * columns + 1];
+        int plies = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int moveNumber = moveNumbers[row][col];
+                if (moveNumber != 0) {
+                    played[moveNumber - 1] = col;
+                    plies++;
+                }
+            }
+        }
+        int offset = plies - pvStart;
+        if (offset < 0 || offset >= pvLength) {
+            return new int[0];
+        }
+        for (int i = 0; i < offset; i++) {
+            if (played[pvStart + i] != principalVariation[i]) {
+                return new int[0];
+            }
+        }
+        int[] rest = new int[pvLength - offset];
+        System.arraycopy(principalVariation, offset, rest, 0, rest.length);
+        return rest;
+    }
+
+    public long getProbes() {
+        return probes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getStores() {
+        return stores;
+    }
+
+    /**
+     * Plays a computer against itself at the given depth, once with a
+     * session shared by all of its moves and once with none, and compares
+     * the work done.
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        NumberFormat nf = NumberFormat.getInstance();
+        for (int pass = 0; pass < 2; pass++) {
+            boolean useSession = pass == 0;
+            Board board = new Board();
+            EngineSession session = new EngineSession(board.getRows(),
+                                                      board.getColumns());
+            char player = Board.MARK_RED;
+            long boards = 0, start = System.nanoTime();
+            StringBuilder moves = new StringBuilder();
+            for (int plays = 0; plays < board.getRows() * board.getColumns();
+                    plays++) {
+                Minimax minimax = new Minimax(board, depth);
+                if (useSession) {
+                    minimax.setSession(session);
+                }
+                int col = minimax.alphaBeta(player);
+                boards += minimax.getBoardsAnalyzed();
+                board.set(col, player);
+                moves.append(PositionCodec.getColumnDigit(col));
+                if (board.getWinner() != Board.UNMARKED) {
+                    break;
+                }
+                player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                  : Board.MARK_RED;
+            }
+            double ms = (System.nanoTime() - start) / 1e6;
+            System.out.println((useSession ? "With session:    "
+                                           : "Without session: ")
+                    + moves + ", " + nf.format(boards) + " boards, "
+                    + String.format("%.0f ms", ms));
+            if (useSession) {
+                System.out.println("  table probes " + nf.format(
+                        session.getProbes()) + ", hits "
+                        + nf.format(session.getHits()));
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/**
+ * File: EvaluationWeights.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Properties;
+
+/**
+ * Weights used by Board.getHeuristicScore() to score a window of cells.
+ *
+ * A window in which one player has more checkers than the other is worth
+ * increment[leader's count] - increment[other count] to the leader, unless
+ * the leader is the player about to move, in which case toMoveIncrement is
+ * used for the leader's count. A window with equal counts is worth tieScore
+ * to the player about to move.
+ *
+ * The built-in weights for four in a row are the original hand-picked
+ * ones. Tuned weights, as written by WeightTuner, are read at startup from
+ * the file named by the connectfour.weights system property, or from
+ * weights.properties in the working directory if that file exists.
+ */
+public class EvaluationWeights {
+    public static final String FILE_PROPERTY = "connectfour.weights",
+                               DEFAULT_FILE = "weights.properties";
+    private static final EvaluationWeights[] defaults =
+            new EvaluationWeights[Board.MAX_WIN_LENGTH + 1];
+
+    static {
+        for (int n = Board.MIN_WIN_LENGTH; n <= Board.MAX_WIN_LENGTH; n++) {
+            defaults[n] = getBuiltIn(n);
+        }
+        String filename = System.getProperty(FILE_PROPERTY);
+        if (filename == null && new File(DEFAULT_FILE).isFile()) {
+            filename = DEFAULT_FILE;
+        }
+        if (filename != null) {
+            try {
+                load(filename);
+            } catch (IOException ioe) {
+                System.err.println("Warning: Cannot read evaluation weights"
+                        + " from " + filename + ": " + ioe.getMessage());
+            } catch (IllegalArgumentException iae) {
+                System.err.println("Warning: Invalid evaluation weights in "
+                        + filename + ": " + iae.getMessage());
+            }
+        }
+    }
+
+    private final int winLength, tieScore;
+    private final int[] increment, toMoveIncrement;
+    private int[] redScores, blackScores;
+
+    public EvaluationWeights(int winLength, int[] increment,
+            int[] toMoveIncrement, int tieScore)
+            throws IllegalArgumentException {
+        if (winLength < Board.MIN_WIN_LENGTH
+                || winLength > Board.MAX_WIN_LENGTH) {
+            throw new IllegalArgumentException("Invalid win length "
+                    + winLength + " received.");
+        }
+        if (increment.length != winLength + 1
+                || toMoveIncrement.length != winLength + 1) {
+            throw new IllegalArgumentException("Expected " + (winLength + 1)
+                    + " increments for " + winLength + " in a row.");
+        }
+        int maxWeight = getMaxWeight(winLength);
+        for (int[] weights : new int[][] {
+                increment, toMoveIncrement, { tieScore } }) {
+            for (int weight : weights) {
+                if (weight > maxWeight || weight < -maxWeight) {
+                    throw new IllegalArgumentException("Weight " + weight
+                            + " is too large for " + winLength
+                            + " in a row.");
+                }
+            }
+        }
+        this.winLength = winLength;
+        this.increment = increment.clone();
+        this.toMoveIncrement = toMoveIncrement.clone();
+        this.tieScore = tieScore;
+    }
+
+    /**
+     * Returns the largest weight allowed for the given win length. A
+     * checker is scored over the windows of WindowTable.cellWindows: at
+     * most winLength in its row, one in its column and, on the largest
+     * board, Board.MAX_SIZE - winLength + 1 on each diagonal. Each is worth
+     * at most twice the largest weight, and the sum must stay within half
+     * the range of an int, clear of the win scores of Minimax and of what
+     * Board.getThreatScore() adds to it.
+     */
+    public static int getMaxWeight(int winLength) {
+        int windows = winLength + 1 + 2 * (Board.MAX_SIZE - winLength + 1);
+        return Integer.MAX_VALUE / 2 / (2 * windows);
+    }
+
+    /**
+     * Returns the original weights: each extra checker in a window is worth
+     * four times the last, except the one that leaves a single gap, which
+     * is worth eight, and the player to move is credited with one checker
+     * more than it has. For four in a row that gives increments of
+     * {0, 1, 4, 32, 128} and {0, 4, 32, 128, 512}.
+     */
+    public static EvaluationWeights getBuiltIn(int winLength) {
+        int[] increments = new int[winLength + 2];
+        increments[1] = 1;
+        for (int count = 2; count <= winLength + 1; count++) {
+            increments[count] = increments[count - 1]
+                                * (count == winLength - 1 ? 8 : 4);
+        }
+        int[] increment = new int[winLength + 1],
+              toMoveIncrement = new int[winLength + 1];
+        System.arraycopy(increments, 0, increment, 0, winLength + 1);
+        System.arraycopy(increments, 2, toMoveIncrement, 1, winLength);
+        return new EvaluationWeights(winLength, increment, toMoveIncrement, 1);
+    }
+
+    /**
+     * Returns the weights boards use unless told otherwise: the ones loaded
+     * at startup if any, or the built-in ones.
+     */
+    public static synchronized EvaluationWeights getDefault(int winLength) {
+        return defaults[winLength];
+    }
+
+    public static synchronized void setDefault(EvaluationWeights weights) {
+        defaults[weights.winLength] = weights;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public int getTieScore() {
+        return tieScore;
+    }
+
+    public int[] getIncrement() {
+        return increment.clone();
+    }
+
+    public int[] getToMoveIncrement() {
+        return toMoveIncrement.clone();
+    }
+
+    /**
+     * Returns the score of every window, indexed by the sum of its cell
+     * codes, redCount * Board.RED_CODE + blackCount * Board.BLACK_CODE, as
+     * seen from Black when player is about to move.
+     */
+    synchronized int[] getScoreTable(char player) {
+        if (redScores == null) {
+            redScores = buildScoreTable(Board.MARK_RED);
+            blackScores = buildScoreTable(Board.MARK_BLACK);
+        }
+        return player == Board.MARK_RED ? redScores : blackScores;
+    }
+
+    private int[] buildScoreTable(char player) {
+        int[] table = new int[winLength * (Board.RED_CODE + Board.BLACK_CODE)
+                              + 1];
+        for (int redCount = 0; redCount <= winLength; redCount++) {
+            for (int blackCount = 0; redCount + blackCount <= winLength;
+                    blackCount++) {
+                table[redCount * Board.RED_CODE + blackCount * Board.BLACK_CODE]
+                    = getScoreIncrement(redCount, blackCount, player);
+            }
+        }
+        return table;
+    }
+
+    private int getScoreIncrement(int redCount, int blackCount, char player) {
+        if (redCount == blackCount) {
+            if (player == Board.MARK_RED) {
+                return -tieScore;
+            }
+            return tieScore;
+        } else if (redCount < blackCount) {
+            if (player == Board.MARK_RED) {
+                return increment[blackCount] - increment[redCount];
+            }
+            return toMoveIncrement[blackCount] - increment[redCount];
+        } else {
+            if (player == Board.MARK_RED) {
+                return -toMoveIncrement[redCount] + increment[blackCount];
+            }
+            return -increment[redCount] + increment[blackCount];
+        }
+    }
+
+    /**
+     * Reads weights for any number of win lengths and makes them the
+     * defaults. Win lengths missing from the file keep their weights.
+     */
+    public static void load(String filename)
+            throws IOException, IllegalArgumentException {
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(filename)) {
+            properties.load(reader);
+        }
+        for (int n = Board.MIN_WIN_LENGTH; n <= Board.MAX_WIN_LENGTH; n++) {
+            String prefix = "connect" + n + ".";
+            String increment = properties.getProperty(prefix + "increment"),
+                   toMove = properties.getProperty(prefix + "toMoveIncrement"),
+                   tie = properties.getProperty(prefix + "tie");
+            if (increment == null && toMove == null && tie == null) {
+                continue;
+            }
+            if (increment == null || toMove == null || tie == null) {
+                throw new IllegalArgumentException("Incomplete weights for "
+                        + n + " in a row.");
+            }
+            try {
+                setDefault(new EvaluationWeights(n, parse(increment),
+                        parse(toMove), Integer.parseInt(tie.trim())));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException("Invalid number in weights"
+                        + " for " + n + " in a row.");
+            }
+        }
+    }
+
+    public void save(String filename) throws IOException {
+        Properties properties = new Properties();
+        File file = new File(filename);
+        if (file.isFile()) {
+            try (Reader reader = new FileReader(file)) {
+                properties.load(reader);
+            }
+        }
+        String prefix = "connect" + winLength + ".";
+        properties.setProperty(prefix + "increment", format(increment));
+        properties.setProperty(prefix + "toMoveIncrement",
+                               format(toMoveIncrement));
+        properties.setProperty(prefix + "tie", String.valueOf(tieScore));
+        try (Writer writer = new FileWriter(file)) {
+            properties.store(writer, "Evaluation weights written by"
+                    + " WeightTuner");
+        }
+    }
+
+    private static int[] parse(String list) throws NumberFormatException {
+        String[] values = list.split(",");
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Integer.parseInt(values[i].trim());
+        }
+        return result;
+    }
+
+    private static String format(int[] values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.toString();
+    }
+
+    public String toString() {
+        return "increment " + format(increment) + "; to move "
+                + format(toMoveIncrement) + "; tie " + tieScore;
+    }
+}
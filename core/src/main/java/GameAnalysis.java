@@ -0,0 +1,212 @@
+/**
+ * File: GameAnalysis.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyzes a finished game move by move on all processors.
+ *
+ * Every position of the game is searched once to find the best move and
+ * the value of the position, which is the score before the move played
+ * there. Where another move was played, the position it led to is then
+ * searched one ply less deep, to the same horizon, for the score after it.
+ * A move that costs its player BLUNDER_MARGIN or more is a blunder.
+ *
+ * All searches share one engine session. Since the searches of the second
+ * round end at the horizon of the first, the subtrees they have in common
+ * with it are found in the table rather than searched again.
+ */
+public class GameAnalysis {
+    public static final int BLUNDER_MARGIN = 100,
+                            DEFAULT_DEPTH = ConnectFourConfig.EXPERT << 1;
+    private static final int TABLE_BITS = 22;
+    private static final int WIN = Integer.MAX_VALUE - 1;
+
+    private final int depth;
+    private final ExecutorService executor;
+
+    public GameAnalysis(int depth, int threads)
+            throws IllegalArgumentException {
+        if (depth < 2) {
+            throw new IllegalArgumentException("Invalid analysis depth "
+                    + depth + " received.");
+        }
+        this.depth = depth;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the analysis of every move played on the board, in the order
+     * of the move numbers.
+     */
+    public MoveAnalysis[] analyze(Board board) throws InterruptedException {
+        String moves = PositionCodec.toMoveString(board);
+        int rows = board.getRows(), columns = board.getColumns(),
+            winLength = board.getWinLength();
+        EngineSession session = new EngineSession(rows, columns, TABLE_BITS);
+        MoveAnalysis[] analysis = new MoveAnalysis[moves.length()];
+        List<Future<int[]>> searches = new ArrayList<Future<int[]>>();
+        for (int i = 0; i < moves.length(); i++) {
+            searches.add(executor.submit(new Search(moves.substring(0, i),
+                    rows, columns, winLength, depth, session)));
+        }
+        for (int i = 0; i < moves.length(); i++) {
+            int[] result = getResult(searches.get(i));
+            MoveAnalysis move = new MoveAnalysis();
+            move.number = i + 1;
+            move.player = i % 2 == 0 ? Board.MARK_RED : Board.MARK_BLACK;
+            move.column = PositionCodec.getColumn(moves.charAt(i));
+            move.bestColumn = result[0];
+            move.scoreBefore = move.scoreAfter = result[1];
+            analysis[i] = move;
+        }
+
+        List<Future<int[]>> replies = new ArrayList<Future<int[]>>();
+        for (int i = 0; i < moves.length(); i++) {
+            MoveAnalysis move = analysis[i];
+            if (move.column == move.bestColumn) {
+                replies.add(null);
+            } else if (i == moves.length() - 1 && isWon(board)) {
+                // Only the last move can end the game.
+                move.scoreAfter = move.player == Board.MARK_BLACK ? WIN : -WIN;
+                replies.add(null);
+            } else {
+                replies.add(executor.submit(new Search(moves.substring(0,
+                        i + 1), rows, columns, winLength, depth - 1,
+                        session)));
+            }
+        }
+        for (int i = 0; i < moves.length(); i++) {
+            MoveAnalysis move = analysis[i];
+            if (replies.get(i) != null) {
+                move.scoreAfter = getResult(replies.get(i))[1];
+            }
+            move.blunder = move.getLoss() >= BLUNDER_MARGIN;
+        }
+        return analysis;
+    }
+
+    private static boolean isWon(Board board) {
+        return new Board(board).getWinner() != Board.UNMARKED;
+    }
+
+    private static int[] getResult(Future<int[]> future)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException("Analysis failed.", ee.getCause());
+        }
+    }
+
+    /**
+     * Searches the position reached by a move string and returns the best
+     * column and the value of the position.
+     */
+    private static class Search implements Callable<int[]> {
+        private final String moves;
+        private final int rows, columns, winLength, depth;
+        private final EngineSession session;
+
+        Search(String moves, int rows, int columns, int winLength, int depth,
+               EngineSession session) {
+            this.moves = moves;
+            this.rows = rows;
+            this.columns = columns;
+            this.winLength = winLength;
+            this.depth = depth;
+            this.session = session;
+        }
+
+        public int[] call() {
+            Board board = PositionCodec.fromMoveString(moves, rows, columns,
+                                                       winLength);
+            Minimax minimax = new Minimax(board, depth);
+            minimax.setSession(session);
+            int col = minimax.analyze(moves.length() % 2 == 0
+                                      ? Board.MARK_RED : Board.MARK_BLACK);
+            return new int[] { col, minimax.getScore() };
+        }
+    }
+
+    public static class MoveAnalysis {
+        private int number, column, bestColumn, scoreBefore, scoreAfter;
+        private char player;
+        private boolean blunder;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public char getPlayer() {
+            return player;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public int getBestColumn() {
+            return bestColumn;
+        }
+
+        /**
+         * Returns the value of the position before the move. Positive
+         * scores favor Black, negative scores favor Red.
+         */
+        public int getScoreBefore() {
+            return scoreBefore;
+        }
+
+        public int getScoreAfter() {
+            return scoreAfter;
+        }
+
+        /**
+         * Returns how much the move cost its player, as a positive number.
+         */
+        public long getLoss() {
+            long loss = (long)scoreBefore - scoreAfter;
+            return Math.max(player == Board.MARK_BLACK ? loss : -loss, 0);
+        }
+
+        public boolean isBlunder() {
+            return blunder;
+        }
+
+        public String toString() {
+            return String.format("%3d. %-5s %2d %11s %11s %5s%s", number,
+                    Board.getColorOfPlayer(player), column + 1,
+                    formatScore(scoreBefore), formatScore(scoreAfter),
+                    column == bestColumn ? "" : String.valueOf(bestColumn + 1),
+                    blunder ? "  blunder" : "");
+        }
+    }
+
+    public static String formatScore(int score) {
+        if (score >= WIN) {
+            return Board.BLACK + " wins";
+        } else if (score <= -WIN) {
+            return Board.RED + " wins";
+        }
+        return String.valueOf(score);
+    }
+
+    public static String getHeader() {
+        return String.format("%4s %-5s %2s %11s %11s %5s", "Move", "", "C",
+                "Before", "After", "Best");
+    }
+}
@@ -0,0 +1,1430 @@
+/**
+ * File: Minimax.java
+ * Author: Brian Borowski
+ * Date created: April 10, 2012
+ * Date last modified: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class Minimax {
+    private static final int CHECKPOINT_INTERVAL = 4096,
+                             MTDF_TABLE_BITS = 18,
+                             MAX_SELECTIVITY = 3,
+                             REDUCTION = 2,
+                             MIN_REDUCTION_DEPTH = 6,
+                             MIN_PROBCUT_DEPTH = 5,
+                             PROBCUT_LIMIT = 1 << 24;
+    // Selective search settings by level: the number of moves of a node
+    // searched in full before the rest are reduced, and by how many
+    // standard deviations of the statistics below a cutoff must clear the
+    // window.
+    private static final int[] LATE_MOVES = { 0, 4, 3, 2 };
+    private static final double[] CONFIDENCE = { 0, 3.0, 3.0, 2.0 };
+    // The value of a node one ply above the horizon as a linear function
+    // of the score of the move that led to it, and the standard deviation
+    // of the error, calibrated offline by SelectivityCalibrator.
+    private static final double FUTILITY_SLOPE = -1.988,
+                                FUTILITY_INTERCEPT = -31.1,
+                                FUTILITY_SIGMA = 164.8;
+    // The value of a node searched with each number of plies remaining as
+    // a linear function of its value searched two plies shallower, and the
+    // standard deviation of the error, likewise calibrated.
+    private static final double[] PROBCUT_SLOPES = {
+        0, 0, 0, 1.114, 1.037, 1.024, 1.053, 1.058, 1.063, 1.053, 1.043,
+        1.043 };
+    private static final double[] PROBCUT_INTERCEPTS = {
+        0, 0, 0, -5.5, -9.7, 2.7, -8.7, -4.5, 0.9, -1.7, 0.1, -0.5 };
+    private static final double[] PROBCUT_SIGMAS = {
+        0, 0, 0, 100.8, 185.4, 140.1, 127.7, 107.2, 93.4, 103.5, 103.4,
+        94.6 };
+
+    private final Board board;
+    private final int columns;
+    private int column, score, boardsAnalyzed, maxDepth, nodeLimit,
+                nextCheckpoint, rootMovesSearched, depthReached, algorithm,
+                evaluation, extensionBudget, horizon, extensionLimit,
+                extensions, extendedBoards, selectivity, reductions,
+                reSearches, selectiveCutoffs, databaseHorizon, databaseHits;
+    private long deadline, hash;
+    private boolean redWinFound, blackWinFound, aborted, forced, hasDeadline,
+                    ordered, followingPv, preserveTies;
+    private SearchListener listener;
+    private EngineSession session;
+    private PositionDatabase database;
+    private SearchTrace trace;
+    private int[] traceChildren;
+    private int plies;
+    private int[] pvHint, pvLength, centerOrder;
+    private int[][] moveOrder, moveScores, pvTable;
+
+    public Minimax(Board board, int maxDepth) {
+        this.board = board;
+        this.columns = board.getColumns();
+        this.boardsAnalyzed = 0;
+        this.maxDepth = maxDepth;
+        this.nodeLimit = Integer.MAX_VALUE;
+        this.algorithm = ConnectFourConfig.ALPHA_BETA;
+        this.evaluation = ConnectFourConfig.WINDOW_EVALUATION;
+    }
+
+    public int getBoardsAnalyzed() {
+        return boardsAnalyzed;
+    }
+
+    /**
+     * Returns the value of the pass that chose the last column: positive
+     * scores favor Black, negative scores favor Red.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Caps the number of boards the next search may analyze. When the cap is
+     * reached the search is abandoned and alphaBeta() falls back to the best
+     * fully searched root move.
+     */
+    public void setNodeLimit(int nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Registers a listener that is consulted every few thousand boards. It
+     * may block to yield the CPU, or return false to abandon the search.
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Selects how the main pass of alphaBeta() finds the value of the root:
+     * ConnectFourConfig.ALPHA_BETA for one full-window search, or
+     * ConnectFourConfig.MTDF for a series of null-window searches. MTD(f)
+     * needs a transposition table, so it creates a session of its own if
+     * none is set. It finds the same value, but when several columns share
+     * it, it may choose a different one.
+     */
+    public void setAlgorithm(int algorithm) throws IllegalArgumentException {
+        if (algorithm != ConnectFourConfig.ALPHA_BETA
+                && algorithm != ConnectFourConfig.MTDF) {
+            throw new IllegalArgumentException("Invalid search algorithm "
+                    + algorithm + " received.");
+        }
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Selects how the positions at the end of the search are scored:
+     * ConnectFourConfig.WINDOW_EVALUATION scores the windows through the
+     * last checker dropped, and ConnectFourConfig.THREAT_EVALUATION adds
+     * Board.getThreatScore(), which lets a shallower search see which
+     * threats will decide the game.
+     */
+    public void setEvaluation(int evaluation)
+            throws IllegalArgumentException {
+        if (evaluation != ConnectFourConfig.WINDOW_EVALUATION
+                && evaluation != ConnectFourConfig.THREAT_EVALUATION) {
+            throw new IllegalArgumentException("Invalid evaluation "
+                    + evaluation + " received.");
+        }
+        this.evaluation = evaluation;
+    }
+
+    /**
+     * Lets a line of play be searched up to extensionBudget plies beyond
+     * the nominal depth, one ply at a time, where the move that would end it
+     * at the horizon creates a threat the opponent must block at once, or
+     * is the only reply that does not lose at once. Forcing sequences are
+     * then played out rather than scored halfway by the heuristic. The
+     * default of 0 searches every line to the same depth.
+     *
+     * Sessions must only be shared by searches with the same budget.
+     */
+    public void setExtensionBudget(int extensionBudget)
+            throws IllegalArgumentException {
+        if (extensionBudget < 0) {
+            throw new IllegalArgumentException("Invalid extension budget "
+                    + extensionBudget + " received.");
+        }
+        this.extensionBudget = extensionBudget;
+    }
+
+    /**
+     * Returns the number of moves searched one ply deeper than the nominal
+     * depth, over every search made so far.
+     */
+    public int getExtensions() {
+        return extensions;
+    }
+
+    /**
+     * Returns how many of the boards analyzed lay beyond the nominal depth
+     * and so were only searched because of extensions.
+     */
+    public int getExtendedBoards() {
+        return extendedBoards;
+    }
+
+    /**
+     * Selects how selective the search is when a session is attached, from
+     * 0, which searches every move to the full depth, to 3. Above 0, moves
+     * late in the order that make no threat are first searched two plies
+     * shallower, which keeps the side that moves last, and again in full
+     * only if they turn out better than the moves before them. With the
+     * window evaluation, nodes one ply above the horizon are also pruned
+     * when the score of the move that led to them puts their value outside
+     * the window beyond reasonable doubt. Higher levels reduce sooner.
+     * Level 3 also accepts more doubt, and cuts off deeper nodes when a
+     * search two plies shallower falls outside the window by enough
+     * (ProbCut), which so far costs more boards than it saves. The
+     * statistics behind the pruning were gathered offline with the default
+     * weights.
+     *
+     * Like the extension budget, sessions must only be shared by searches
+     * with the same selectivity.
+     */
+    public void setSelectivity(int selectivity)
+            throws IllegalArgumentException {
+        if (selectivity < 0 || selectivity > MAX_SELECTIVITY) {
+            throw new IllegalArgumentException("Invalid selectivity "
+                    + selectivity + " received.");
+        }
+        this.selectivity = selectivity;
+    }
+
+    /**
+     * Returns the number of moves searched to a reduced depth, over every
+     * search made so far.
+     */
+    public int getReductions() {
+        return reductions;
+    }
+
+    /**
+     * Returns how many of the reduced moves had to be searched again to
+     * the full depth.
+     */
+    public int getReSearches() {
+        return reSearches;
+    }
+
+    /**
+     * Returns the number of nodes cut off by futility pruning or ProbCut
+     * rather than searched.
+     */
+    public int getSelectiveCutoffs() {
+        return selectiveCutoffs;
+    }
+
+    /**
+     * Makes the search take the score of every position below the root
+     * that the database holds from the database rather than search it.
+     * A stored score stands whatever the depth left, so searches sharing a
+     * session should share the database too. The database must have been
+     * built for this board and win length, with scores searched with the
+     * weights, evaluation, extension budget and selectivity of this
+     * search, so those are to be set first. Null turns it off.
+     */
+    public void setPositionDatabase(PositionDatabase database)
+            throws IllegalArgumentException {
+        if (database != null && (database.getRows() != board.getRows()
+                || database.getColumns() != columns
+                || database.getWinLength() != board.getWinLength())) {
+            throw new IllegalArgumentException(
+                "Database does not match the board size and win length.");
+        }
+        if (database != null && database.getFingerprint()
+                != SessionStore.getFingerprint(board.getWeights(),
+                        evaluation, extensionBudget, selectivity)) {
+            throw new IllegalArgumentException(
+                "Database was built with another evaluation.");
+        }
+        this.database = database;
+    }
+
+    /**
+     * Returns the number of positions scored from the database, over every
+     * search made so far.
+     */
+    public int getDatabaseHits() {
+        return databaseHits;
+    }
+
+    /**
+     * Writes every node searched from now on to the trace, or stops
+     * tracing if it is null. The search does not close the trace.
+     */
+    public void setSearchTrace(SearchTrace trace) {
+        this.trace = trace;
+        if (trace != null && traceChildren == null) {
+            traceChildren = new int[board.getRows() * columns + 2];
+        }
+    }
+
+    /**
+     * Makes the search use, and add to, what the session learned in earlier
+     * searches of the same game. The chosen column and score are the same
+     * as without a session, but far fewer boards are analyzed.
+     */
+    public void setSession(EngineSession session)
+            throws IllegalArgumentException {
+        if (session != null && (session.getRows() != board.getRows()
+                || session.getColumns() != columns)) {
+            throw new IllegalArgumentException(
+                "Session does not match the board size.");
+        }
+        this.session = session;
+    }
+
+    /**
+     * Returns the depth of the last iteration completed by
+     * iterativeDeepening().
+     */
+    public int getDepthReached() {
+        return depthReached;
+    }
+
+    /**
+     * Searches one ply deeper at a time until depthLimit is reached, the
+     * search covers the rest of the game, or the time runs out, and returns
+     * the column chosen by the deepest completed iteration.
+     *
+     * An iteration is only started if, judging by how much longer each
+     * iteration took than the one before, it should finish by softDeadline.
+     * An iteration still running at hardDeadline is abandoned. Both are
+     * System.nanoTime() values.
+     */
+    public int iterativeDeepening(char player, int depthLimit,
+                                  long softDeadline, long hardDeadline) {
+        int emptyCells = 0;
+        for (int c = 0; c < columns; c++) {
+            emptyCells += board.getFirstAvailableRow(c) + 1;
+        }
+        depthLimit = Math.max(Math.min(depthLimit, emptyCells), 1);
+        deadline = hardDeadline;
+        hasDeadline = true;
+        int best = -1, bestScore = 0;
+        long previous = 0;
+        depthReached = 0;
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            long start = System.nanoTime();
+            maxDepth = depth;
+            int col = alphaBeta(player);
+            if (aborted) {
+                if (best == -1) {
+                    best = col;
+                    bestScore = score;
+                }
+                break;
+            }
+            best = col;
+            bestScore = score;
+            depthReached = depth;
+            if (forced) {
+                break;
+            }
+            long now = System.nanoTime(), elapsed = now - start;
+            long growth = previous > 0 ? elapsed / previous : 4;
+            growth = Math.max(2, Math.min(growth, 8));
+            if (now + elapsed * growth - softDeadline > 0) {
+                break;
+            }
+            previous = Math.max(elapsed, 1);
+        }
+        hasDeadline = false;
+        score = bestScore;
+        return best;
+    }
+
+    public int alphaBeta(char player) {
+        redWinFound = blackWinFound = aborted = forced = false;
+        rootMovesSearched = 0;
+        // The one-ply searches only look for a win or a block.
+        horizon = extensionLimit = 1;
+        nextCheckpoint = Math.min(boardsAnalyzed + CHECKPOINT_INTERVAL,
+                                  nodeLimit);
+        int fallback;
+        if (player == Board.MARK_BLACK) {
+            score = evaluateBlackMove(0, 1, -1, Integer.MIN_VALUE + 1,
+                    Integer.MAX_VALUE - 1);
+            if (blackWinFound) {
+                forced = true;
+                return column;
+            }
+            fallback = column;
+            redWinFound = blackWinFound = false;
+            score = evaluateRedMove(0, 1, -1, Integer.MIN_VALUE + 1,
+                    Integer.MAX_VALUE - 1);
+            if (redWinFound) {
+                forced = true;
+                return column;
+            }
+            searchMainPass(Board.MARK_BLACK);
+        } else {
+            score = evaluateRedMove(0, 1, -1, Integer.MIN_VALUE + 1,
+                    Integer.MAX_VALUE - 1);
+            if (redWinFound) {
+                forced = true;
+                return column;
+            }
+            fallback = column;
+            redWinFound = blackWinFound = false;
+            score = evaluateBlackMove(0, 1, -1, Integer.MIN_VALUE + 1,
+                    Integer.MAX_VALUE - 1);
+            if (blackWinFound) {
+                forced = true;
+                return column;
+            }
+            searchMainPass(Board.MARK_RED);
+        }
+        if (aborted && rootMovesSearched == 0) {
+            return fallback;
+        }
+        return column;
+    }
+
+    /**
+     * Searches the position to maxDepth and returns the best column, with
+     * the value of the position available from getScore(). Unlike
+     * alphaBeta(), no one-ply search picks a winning or blocking move
+     * first, so the score is always the value of the whole search: a forced
+     * block is scored by what follows it rather than by the win it stops.
+     * Returns -1 if the search is abandoned.
+     */
+    public int analyze(char player) {
+        redWinFound = blackWinFound = aborted = forced = false;
+        nextCheckpoint = Math.min(boardsAnalyzed + CHECKPOINT_INTERVAL,
+                                  nodeLimit);
+        column = -1;
+        searchMainPass(player);
+        return aborted ? -1 : column;
+    }
+
+    /**
+     * Searches every available column to maxDepth and returns them ranked
+     * from best to worst for the player, each with its exact score and the
+     * line of play expected to follow. Equal scores keep the columns in
+     * search order. The best column and its score are also available from
+     * getScore() and as the column searched first by the next search.
+     *
+     * Each column is searched with the full window, so that no score is
+     * only a bound, but all share the transposition table, killer moves and
+     * history of one session: the replies found for the first columns order
+     * the search of the later ones, and positions reached by more than one
+     * column are searched once. A session is created if none is set.
+     * Returns the columns searched so far if the search is abandoned.
+     */
+    public RootMove[] searchAllColumns(char player) {
+        redWinFound = blackWinFound = aborted = forced = false;
+        nextCheckpoint = Math.min(boardsAnalyzed + CHECKPOINT_INTERVAL,
+                                  nodeLimit);
+        if (session == null) {
+            session = new EngineSession(board.getRows(), columns,
+                                        MTDF_TABLE_BITS);
+        }
+        setHorizon(maxDepth);
+        setDatabaseHorizon();
+        beginOrderedSearch();
+        boolean isBlack = player == Board.MARK_BLACK;
+        long[] keys = isBlack ? session.blackKeys : session.redKeys;
+        long key = hash ^ session.rootKey, entry = session.probe(key);
+        int tableMove = entry == EngineSession.NO_ENTRY ? -1
+                        : EngineSession.getBestColumn(entry);
+        int count = orderMoves(0, session.history[isBlack ? 1 : 0], tableMove);
+        int[] order = moveOrder[0].clone();
+        int pvMove = followingPv ? pvHint[0] : -1;
+        List<RootMove> moves = new ArrayList<RootMove>();
+        for (int i = 0; i < count; i++) {
+            int c = order[i];
+            int cell = board.mark(c, player) * columns + c;
+            hash ^= keys[cell];
+            followingPv = c == pvMove;
+            pvLength[1] = 1;
+            int value = isBlack
+                    ? evaluateRedMove(1, maxDepth, c, Integer.MIN_VALUE + 1,
+                                      Integer.MAX_VALUE - 1)
+                    : evaluateBlackMove(1, maxDepth, c, Integer.MIN_VALUE + 1,
+                                        Integer.MAX_VALUE - 1);
+            followingPv = false;
+            board.unset(c);
+            hash ^= keys[cell];
+            if (aborted) {
+                break;
+            }
+            updatePrincipalVariation(0, c);
+            int[] line = new int[pvLength[0]];
+            System.arraycopy(pvTable[0], 0, line, 0, line.length);
+            moves.add(new RootMove(c, value, line));
+        }
+        final int sign = isBlack ? -1 : 1;
+        Collections.sort(moves, new Comparator<RootMove>() {
+            public int compare(RootMove a, RootMove b) {
+                return a.score < b.score ? -sign : a.score > b.score ? sign : 0;
+            }
+        });
+        if (moves.isEmpty()) {
+            column = -1;
+            ordered = false;
+        } else {
+            RootMove best = moves.get(0);
+            column = best.column;
+            score = best.score;
+            System.arraycopy(best.line, 0, pvTable[0], 0, best.line.length);
+            pvLength[0] = best.line.length;
+            if (!aborted) {
+                storeEntry(key, 0, maxDepth, score, Integer.MIN_VALUE + 1,
+                           Integer.MAX_VALUE - 1, column);
+            }
+            endOrderedSearch();
+        }
+        return moves.toArray(new RootMove[moves.size()]);
+    }
+
+    /**
+     * A column searched by searchAllColumns(), with its score and the line
+     * of play that begins with it. The line ends early where the rest of it
+     * was taken from the transposition table.
+     */
+    public static class RootMove {
+        private final int column, score;
+        private final int[] line;
+
+        RootMove(int column, int score, int[] line) {
+            this.column = column;
+            this.score = score;
+            this.line = line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * Returns the score of the column: positive scores favor Black,
+         * negative scores favor Red.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        public int[] getPrincipalVariation() {
+            return line.clone();
+        }
+
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (int c : line) {
+                builder.append(PositionCodec.getColumnDigit(c));
+            }
+            return (column + 1) + " " + score + " " + builder;
+        }
+    }
+
+    private void searchMainPass(char player) {
+        rootMovesSearched = 0;
+        setHorizon(maxDepth);
+        setDatabaseHorizon();
+        beginOrderedSearch();
+        if (algorithm == ConnectFourConfig.MTDF) {
+            score = mtdf(player);
+        } else if (player == Board.MARK_BLACK) {
+            score = evaluateBlackMove(0, maxDepth, -1, Integer.MIN_VALUE + 1,
+                    Integer.MAX_VALUE - 1);
+        } else {
+            score = evaluateRedMove(0, maxDepth, -1, Integer.MIN_VALUE + 1,
+                    Integer.MAX_VALUE - 1);
+        }
+        endOrderedSearch();
+    }
+
+    private void setHorizon(int depth) {
+        horizon = depth;
+        extensionLimit = depth + extensionBudget;
+    }
+
+    /**
+     * Sets the deepest ply from the root at which the database may hold
+     * the position, or 0 for none.
+     */
+    private void setDatabaseHorizon() {
+        databaseHorizon = 0;
+        if (database != null) {
+            databaseHorizon = database.getMaxPlies();
+            for (int c = 0; c < columns; c++) {
+                databaseHorizon -= board.getRows() - 1
+                                   - board.getFirstAvailableRow(c);
+            }
+        }
+    }
+
+    private void beginOrderedSearch() {
+        if (session == null) {
+            if (algorithm != ConnectFourConfig.MTDF) {
+                return;
+            }
+            session = new EngineSession(board.getRows(), columns,
+                                        MTDF_TABLE_BITS);
+        }
+        preserveTies = algorithm != ConnectFourConfig.MTDF;
+        plies = 0;
+        for (int c = 0; c < columns; c++) {
+            plies += board.getRows() - 1 - board.getFirstAvailableRow(c);
+        }
+        session.beginSearch(plies);
+        hash = session.getHash(board);
+        pvHint = session.getPrincipalVariation(board);
+        followingPv = pvHint.length > 0;
+        int deepest = maxDepth + extensionBudget;
+        if (moveOrder == null || moveOrder.length <= deepest) {
+            moveOrder = new int[deepest + 1][columns];
+            moveScores = new int[deepest + 1][columns];
+            pvTable = new int[deepest + 1][deepest + 1];
+            pvLength = new int[deepest + 2];
+        }
+        if (centerOrder == null) {
+            centerOrder = new int[columns];
+            for (int i = 0, left = (columns - 1) >> 1, right = columns >> 1;
+                    i < columns; left--, right++) {
+                centerOrder[i++] = left;
+                if (right != left) {
+                    centerOrder[i++] = right;
+                }
+            }
+        }
+        pvLength[0] = 0;
+        ordered = true;
+    }
+
+    /**
+     * Finds the value of the root by MTD(f): a series of null-window
+     * searches, each of which only tells whether the value lies above or
+     * below a guess, closing in on it from both sides. The transposition
+     * table makes the repeated searches cheap. Every depth up to maxDepth is
+     * searched in turn, each starting from the value found at the last
+     * depth of the same parity, since the evaluation differs with the side
+     * that moves last.
+     */
+    private int mtdf(char player) {
+        int[] guesses = new int[2];
+        int completedColumn = -1, completedScore = 0;
+        for (int depth = 1; depth <= maxDepth && !aborted; depth++) {
+            int g = guesses[depth & 1], best = -1,
+                lower = Integer.MIN_VALUE + 1, upper = Integer.MAX_VALUE - 1;
+            setHorizon(depth);
+            while (lower < upper) {
+                int beta = g == lower ? g + 1 : g;
+                followingPv = pvHint.length > 0;
+                pvLength[0] = 0;
+                if (player == Board.MARK_BLACK) {
+                    g = evaluateBlackMove(0, depth, -1, beta - 1, beta);
+                } else {
+                    g = evaluateRedMove(0, depth, -1, beta - 1, beta);
+                }
+                if (aborted) {
+                    break;
+                }
+                // A move is only proven best by a search that it lifts
+                // above the guess, for Black, or below it, for Red.
+                if (g < beta) {
+                    upper = g;
+                    if (player == Board.MARK_RED) {
+                        best = column;
+                    }
+                } else {
+                    lower = g;
+                    if (player == Board.MARK_BLACK) {
+                        best = column;
+                    }
+                }
+            }
+            if (!aborted) {
+                completedColumn = best != -1 ? best : column;
+                completedScore = guesses[depth & 1] = g;
+            }
+        }
+        // As with a single search, an abandoned search falls back to the
+        // 1-ply choice unless some depth was completed.
+        rootMovesSearched = completedColumn == -1 ? 0 : 1;
+        column = completedColumn;
+        return completedScore;
+    }
+
+    private void endOrderedSearch() {
+        if (!ordered) {
+            return;
+        }
+        ordered = false;
+        if (!aborted) {
+            session.setPrincipalVariation(plies, pvTable[0], pvLength[0]);
+        }
+    }
+
+    /**
+     * Fills order with the available columns, best first: the table move,
+     * the move of the previous principal variation, the killer moves, and
+     * then the rest by history score, nearest the center first on ties.
+     */
+    private int orderMoves(int depth, int[] history, int tableMove) {
+        int[] order = moveOrder[depth], scores = moveScores[depth],
+              killer = session.killers[plies + depth];
+        int pvMove = followingPv && depth < pvHint.length ? pvHint[depth]
+                                                          : -1;
+        int count = 0;
+        for (int i = 0; i < columns; i++) {
+            int c = centerOrder[i];
+            if (!board.isColumnAvailable(c)) {
+                continue;
+            }
+            int s;
+            if (c == tableMove) {
+                s = 1 << 30;
+            } else if (c == pvMove) {
+                s = 1 << 29;
+            } else if (c == killer[0]) {
+                s = 1 << 28;
+            } else if (c == killer[1]) {
+                s = 1 << 27;
+            } else {
+                s = history[board.getFirstAvailableRow(c) * columns + c];
+            }
+            int j = count++;
+            while (j > 0 && scores[j - 1] < s) {
+                order[j] = order[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            order[j] = c;
+            scores[j] = s;
+        }
+        return count;
+    }
+
+    private void updatePrincipalVariation(int depth, int c) {
+        int[] line = pvTable[depth];
+        line[depth] = c;
+        int length = pvLength[depth + 1];
+        if (depth + 1 < pvTable.length) {
+            System.arraycopy(pvTable[depth + 1], depth + 1, line, depth + 1,
+                             length - depth - 1);
+        }
+        pvLength[depth] = Math.max(length, depth + 1);
+    }
+
+    /**
+     * Stores the result of a node. Nothing is kept from a line that was
+     * extended, since the same position reached at the same remaining depth
+     * by another line may have a different extension budget left, and a
+     * forced line has little to teach move ordering.
+     */
+    private void storeEntry(long key, int depth, int remaining, int value,
+                            int alpha, int beta, int best) {
+        if (depth + remaining != horizon) {
+            return;
+        }
+        int flag;
+        if (depth <= 2) {
+            flag = EngineSession.MOVE_ONLY;
+        } else if (value <= alpha) {
+            flag = EngineSession.UPPER_BOUND;
+        } else if (value >= beta) {
+            flag = EngineSession.LOWER_BOUND;
+        } else {
+            flag = EngineSession.EXACT;
+        }
+        session.store(key, value, remaining, flag, best);
+    }
+
+    private boolean continueSearch() {
+        if (boardsAnalyzed >= nodeLimit) {
+            aborted = true;
+        } else if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            aborted = true;
+        } else if (listener != null
+                && !listener.continueSearch(boardsAnalyzed)) {
+            aborted = true;
+        }
+        nextCheckpoint = Math.min(boardsAnalyzed + CHECKPOINT_INTERVAL,
+                                  nodeLimit);
+        return !aborted;
+    }
+
+    /**
+     * Returns the column the player must play to block the immediate win
+     * the opponent threatens with the move just made in column col, or -1
+     * if the move made no such threat or made two. A threat left standing
+     * from earlier is not looked for, since the opponent would have won
+     * with it rather than move elsewhere. Only nodes whose moves may be
+     * extended or refuted need the reply.
+     */
+    private int getOnlyReply(int depth, int maxDepth, int col,
+                             boolean threatened) {
+        if (!threatened || maxDepth == horizon && (depth + 1 != maxDepth
+                || maxDepth >= extensionLimit)) {
+            return -1;
+        }
+        int threats = board.getThreatColumns(col);
+        return Integer.bitCount(threats) == 1
+               ? Integer.numberOfTrailingZeros(threats) : -1;
+    }
+
+    /**
+     * Returns true if the player's move in column c need not be searched
+     * because it lies on a line already extended, neither blocks the
+     * opponent's only immediate win nor wins first, and so loses to the
+     * opponent's next move.
+     */
+    private boolean isRefuted(int maxDepth, int c, int onlyReply,
+                              char player) {
+        if (maxDepth == horizon || onlyReply == -1 || c == onlyReply) {
+            return false;
+        }
+        board.mark(c, player);
+        boolean wins = board.completesLine(c);
+        board.unset(c);
+        return !wins;
+    }
+
+    /**
+     * Returns the depth to search the move in column c to: one ply deeper
+     * if it would end the line at the horizon but is the only reply that
+     * does not lose, and the line has extensions to spare.
+     */
+    private int extend(int depth, int maxDepth, int c, int onlyReply) {
+        if (c == onlyReply && depth + 1 == maxDepth
+                && maxDepth < extensionLimit) {
+            extensions++;
+            return maxDepth + 1;
+        }
+        return maxDepth;
+    }
+
+    /**
+     * Returns the columns worth searching for the player at a node, as a
+     * bit set: those that do not lose at once, or if every move does, the
+     * first available one, whose refutation shows as much. The root and the
+     * nodes one ply above the horizon search every column: the root so that
+     * every column gets its score, where a loss scores as a loss anyway,
+     * and the others since a move's loss is not seen there at all.
+     */
+    private int getCandidateColumns(int depth, int maxDepth, char player) {
+        if (depth == 0 || maxDepth - depth < 2) {
+            return -1;
+        }
+        int moves = board.getNonLosingColumns(player);
+        for (int c = 0; moves == 0 && c < columns; c++) {
+            if (board.isColumnAvailable(c)) {
+                moves = 1 << c;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Moves the horizon, and the extension limit with it, by the given
+     * number of plies, so that a line searched to a reduced depth is
+     * treated as an unextended line of a shallower search.
+     */
+    private void shiftHorizon(int plies) {
+        horizon += plies;
+        extensionLimit += plies;
+    }
+
+    /**
+     * Returns true if the move in column c, the ith in the order of a node
+     * that is neither the root nor answering a threat, may be searched to a
+     * reduced depth: it comes after the moves the search expects to be
+     * best, was not chosen by the table, previous line or killer moves, and
+     * makes no threat of its own. The move has been made on the board.
+     */
+    private boolean canReduce(int depth, int maxDepth, int i, int c,
+                              boolean threatened) {
+        return selectivity != 0 && depth > 0 && !threatened
+                && maxDepth == horizon
+                && maxDepth - depth >= MIN_REDUCTION_DEPTH
+                && i >= LATE_MOVES[selectivity]
+                && moveScores[depth][i] < 1 << 27
+                && board.getThreatColumns(c) == 0;
+    }
+
+    /**
+     * Returns how far the value expected of a node one ply above the
+     * horizon must lie outside the window for the node to be pruned, or
+     * Integer.MIN_VALUE if the node may not be pruned: it is the root's, it
+     * answers a threat, or it lies on an extended line.
+     */
+    private int getFutilityMargin(int depth, int maxDepth, int col,
+                                  boolean threatened) {
+        if (selectivity == 0 || col == -1 || threatened
+                || depth + 1 != maxDepth || maxDepth != horizon
+                || evaluation != ConnectFourConfig.WINDOW_EVALUATION) {
+            return Integer.MIN_VALUE;
+        }
+        return (int)(CONFIDENCE[selectivity] * FUTILITY_SIGMA);
+    }
+
+    /**
+     * Returns the value expected of a node one ply above the horizon,
+     * reached by a move that scored score.
+     */
+    private static int estimateFrontier(int score) {
+        return (int)(FUTILITY_SLOPE * score + FUTILITY_INTERCEPT);
+    }
+
+    /**
+     * Returns the bound a search two plies shallower must reach for a node
+     * with the given number of plies remaining to be cut off at bound, by
+     * the statistics of the deeper search given the shallower one: a
+     * shallow value at or above the returned bound if upper is false, at or
+     * below it if upper is true. Returns Integer.MIN_VALUE if either bound
+     * is out of range, as near a win.
+     */
+    private int getProbCutBound(int remaining, int bound, boolean upper) {
+        int i = Math.min(remaining, PROBCUT_SLOPES.length - 1);
+        double margin = CONFIDENCE[selectivity] * PROBCUT_SIGMAS[i];
+        double shallow = (bound - PROBCUT_INTERCEPTS[i]
+                          + (upper ? -margin : margin)) / PROBCUT_SLOPES[i];
+        if (Math.abs(bound) >= PROBCUT_LIMIT
+                || Math.abs(shallow) >= PROBCUT_LIMIT) {
+            return Integer.MIN_VALUE;
+        }
+        return (int)(upper ? Math.floor(shallow) : Math.ceil(shallow));
+    }
+
+    private boolean canProbCut(int depth, int maxDepth) {
+        return selectivity == MAX_SELECTIVITY && depth > 0
+                && maxDepth == horizon
+                && maxDepth - depth >= MIN_PROBCUT_DEPTH
+                && evaluation == ConnectFourConfig.WINDOW_EVALUATION;
+    }
+
+    /**
+     * Searches the node with Red to move, and adds it to the trace if
+     * there is one. Each node counts the children its search enters, so
+     * that a child knows its place in the order and, from its value, the
+     * node knows whether its last child cut it off.
+     */
+    private int evaluateRedMove(int depth, int maxDepth, int col,
+                                int alpha, int beta) {
+        if (trace == null) {
+            return searchRedMove(depth, maxDepth, col, alpha, beta);
+        }
+        int index = depth > 0 ? traceChildren[depth - 1]++ : 0;
+        traceChildren[depth] = 0;
+        int value = searchRedMove(depth, maxDepth, col, alpha, beta),
+            children = traceChildren[depth];
+        // Red minimizes: a value at or below alpha is a cutoff.
+        trace.record(depth, col, index, children,
+                     children > 0 && value <= alpha ? children - 1 : -1,
+                     aborted ? SearchTrace.ABORTED : 0, alpha, beta, value);
+        return value;
+    }
+
+    private int searchRedMove(int depth, int maxDepth, int col, int alpha, int beta) {
+        if (++boardsAnalyzed >= nextCheckpoint && !continueSearch()) {
+            return 0;
+        }
+        if (depth > horizon) {
+            extendedBoards++;
+        }
+        int min = Integer.MAX_VALUE, score = 0;
+        boolean threatened = false;
+        if (col != -1) {
+            score = board.getHeuristicScore(Board.MARK_BLACK, col, depth, maxDepth);
+            if (board.blackWinFound()) {
+                blackWinFound = true;
+                return score;
+            }
+            threatened = board.threatFound();
+        }
+        if (depth <= databaseHorizon && depth > 0) {
+            int stored = database.lookup(board.getPositionKey());
+            if (stored != PositionDatabase.NOT_FOUND) {
+                databaseHits++;
+                return stored;
+            }
+        }
+        if (depth == maxDepth) {
+            if (!threatened || maxDepth >= extensionLimit
+                    || board.getThreatColumns(col) == 0) {
+                if (evaluation == ConnectFourConfig.THREAT_EVALUATION) {
+                    score += board.getThreatScore(Board.MARK_RED);
+                }
+                return score;
+            }
+            // The move just made threatens to win: search the replies to
+            // it rather than score it.
+            extensions++;
+            maxDepth++;
+        }
+        if (ordered) {
+            int margin = getFutilityMargin(depth, maxDepth, col, threatened);
+            if (margin != Integer.MIN_VALUE
+                    && estimateFrontier(score) - margin >= beta) {
+                selectiveCutoffs++;
+                return beta;
+            }
+            return orderedRedMove(depth, maxDepth, col, threatened, alpha,
+                                  beta);
+        }
+        int onlyReply = getOnlyReply(depth, maxDepth, col, threatened),
+            moves = getCandidateColumns(depth, maxDepth, Board.MARK_RED);
+        for (int c = 0; c < columns; c++) {
+            if (board.isColumnAvailable(c) && (moves & 1 << c) != 0
+                    && !isRefuted(maxDepth, c, onlyReply, Board.MARK_RED)) {
+                board.mark(c, Board.MARK_RED);
+                int childDepth = extend(depth, maxDepth, c, onlyReply);
+                int value = evaluateBlackMove(depth + 1, childDepth, c, alpha,
+                                              beta);
+                board.unset(c);
+                if (aborted) {
+                    return 0;
+                }
+                if (depth == 0) {
+                    rootMovesSearched++;
+                }
+                if (value < min) {
+                    min = value;
+                    if (depth == 0) {
+                        column = c;
+                    }
+                }
+                if (value < beta) {
+                    beta = value;
+                }
+                if (alpha >= beta) {
+                    return beta;
+                }
+            }
+        }
+
+        if (min == Integer.MAX_VALUE) {
+            return 0;
+        }
+        return min;
+    }
+
+
+
+    /**
+     * Searches the node with Black to move, tracing it like
+     * evaluateRedMove().
+     */
+    private int evaluateBlackMove(int depth, int maxDepth, int col,
+                                  int alpha, int beta) {
+        if (trace == null) {
+            return searchBlackMove(depth, maxDepth, col, alpha, beta);
+        }
+        int index = depth > 0 ? traceChildren[depth - 1]++ : 0;
+        traceChildren[depth] = 0;
+        int value = searchBlackMove(depth, maxDepth, col, alpha, beta),
+            children = traceChildren[depth];
+        trace.record(depth, col, index, children,
+                     children > 0 && value >= beta ? children - 1 : -1,
+                     SearchTrace.BLACK_TO_MOVE
+                     | (aborted ? SearchTrace.ABORTED : 0), alpha, beta, value);
+        return value;
+    }
+
+    private int searchBlackMove(int depth, int maxDepth, int col, int alpha, int beta) {
+        if (++boardsAnalyzed >= nextCheckpoint && !continueSearch()) {
+            return 0;
+        }
+        if (depth > horizon) {
+            extendedBoards++;
+        }
+        int max = Integer.MIN_VALUE, score = 0;
+        boolean threatened = false;
+        if (col != -1) {
+            score = board.getHeuristicScore(Board.MARK_RED, col, depth, maxDepth);
+            if (board.redWinFound()) {
+                redWinFound = true;
+                return score;
+            }
+            threatened = board.threatFound();
+        }
+        if (depth <= databaseHorizon && depth > 0) {
+            int stored = database.lookup(board.getPositionKey());
+            if (stored != PositionDatabase.NOT_FOUND) {
+                databaseHits++;
+                return stored;
+            }
+        }
+        if (depth == maxDepth) {
+            if (!threatened || maxDepth >= extensionLimit
+                    || board.getThreatColumns(col) == 0) {
+                if (evaluation == ConnectFourConfig.THREAT_EVALUATION) {
+                    score += board.getThreatScore(Board.MARK_BLACK);
+                }
+                return score;
+            }
+            // The move just made threatens to win: search the replies to
+            // it rather than score it.
+            extensions++;
+            maxDepth++;
+        }
+        if (ordered) {
+            int margin = getFutilityMargin(depth, maxDepth, col, threatened);
+            if (margin != Integer.MIN_VALUE
+                    && estimateFrontier(score) + margin <= alpha) {
+                selectiveCutoffs++;
+                return alpha;
+            }
+            return orderedBlackMove(depth, maxDepth, col, threatened, alpha,
+                                  beta);
+        }
+        int onlyReply = getOnlyReply(depth, maxDepth, col, threatened),
+            moves = getCandidateColumns(depth, maxDepth, Board.MARK_BLACK);
+        for (int c = 0; c < columns; c++) {
+            if (board.isColumnAvailable(c) && (moves & 1 << c) != 0
+                    && !isRefuted(maxDepth, c, onlyReply, Board.MARK_BLACK)) {
+                board.mark(c, Board.MARK_BLACK);
+                int childDepth = extend(depth, maxDepth, c, onlyReply);
+                int value = evaluateRedMove(depth + 1, childDepth, c, alpha,
+                                            beta);
+                board.unset(c);
+                if (aborted) {
+                    return 0;
+                }
+                if (depth == 0) {
+                    rootMovesSearched++;
+                }
+                if (value > max) {
+                    max = value;
+                    if (depth == 0) {
+                        column = c;
+                    }
+                }
+                if (value > alpha) {
+                    alpha = value;
+                }
+                if (alpha >= beta) {
+                    return alpha;
+                }
+            }
+        }
+        if (max == Integer.MIN_VALUE) {
+            return 0;
+        }
+        return max;
+    }
+
+    /**
+     * The loop of searchRedMove() when a session is attached: moves are
+     * searched best first and the transposition table is consulted. At the
+     * root, a move is only preferred to an equally good one in a lower
+     * column if it is strictly better, as in the unordered search.
+     */
+    private int orderedRedMove(int depth, int maxDepth, int col,
+                               boolean threatened, int alpha, int beta) {
+        int remaining = maxDepth - depth;
+        long key = hash ^ (col == -1 ? session.rootKey
+                                     : session.lastMoveKeys[col]);
+        // Extended lines neither use nor add to the table; see storeEntry().
+        long entry = maxDepth == horizon ? session.probe(key)
+                                         : EngineSession.NO_ENTRY;
+        int tableMove = -1;
+        if (entry != EngineSession.NO_ENTRY) {
+            tableMove = EngineSession.getBestColumn(entry);
+            int flag = EngineSession.getFlag(entry),
+                value = EngineSession.getValue(entry);
+            if (depth > 2 && EngineSession.getDepth(entry) == remaining
+                    && (flag == EngineSession.EXACT
+                    || flag == EngineSession.LOWER_BOUND && value >= beta
+                    || flag == EngineSession.UPPER_BOUND && value <= alpha)) {
+                pvLength[depth] = depth;
+                return value;
+            }
+        }
+        if (canProbCut(depth, maxDepth)) {
+            int bound = getProbCutBound(remaining, alpha, true);
+            if (bound != Integer.MIN_VALUE) {
+                boolean onPv = followingPv;
+                followingPv = false;
+                shiftHorizon(-REDUCTION);
+                int value = orderedRedMove(depth, maxDepth - REDUCTION, col,
+                                           threatened, bound, bound + 1);
+                shiftHorizon(REDUCTION);
+                followingPv = onPv;
+                if (aborted) {
+                    return 0;
+                }
+                if (value <= bound) {
+                    selectiveCutoffs++;
+                    pvLength[depth] = depth;
+                    return alpha;
+                }
+            }
+        }
+        int[] history = session.history[0];
+        int count = orderMoves(depth, history, tableMove);
+        int[] order = moveOrder[depth];
+        boolean onPv = followingPv;
+        int pvMove = onPv && depth < pvHint.length ? pvHint[depth] : -1;
+        int min = Integer.MAX_VALUE, best = -1, alphaOrig = alpha,
+            betaOrig = beta;
+        pvLength[depth] = depth;
+        int onlyReply = getOnlyReply(depth, maxDepth, col, threatened),
+            moves = getCandidateColumns(depth, maxDepth, Board.MARK_RED);
+        for (int i = 0; i < count; i++) {
+            int c = order[i], childBeta = beta;
+            if (depth == 0 && preserveTies && best != -1) {
+                childBeta = c < best ? min + 1 : min;
+                if (childBeta <= alpha) {
+                    continue;
+                }
+            }
+            if ((moves & 1 << c) == 0
+                    || isRefuted(maxDepth, c, onlyReply, Board.MARK_RED)) {
+                continue;
+            }
+            int cell = board.mark(c, Board.MARK_RED) * columns + c;
+            hash ^= session.redKeys[cell];
+            followingPv = onPv && c == pvMove;
+            pvLength[depth + 1] = depth + 1;
+            int childDepth = extend(depth, maxDepth, c, onlyReply), value;
+            if (childDepth == maxDepth
+                    && canReduce(depth, maxDepth, i, c, threatened)) {
+                reductions++;
+                shiftHorizon(-REDUCTION);
+                value = evaluateBlackMove(depth + 1, maxDepth - REDUCTION, c,
+                                          alpha, childBeta);
+                shiftHorizon(REDUCTION);
+                if (value < childBeta && !aborted) {
+                    reSearches++;
+                    pvLength[depth + 1] = depth + 1;
+                    value = evaluateBlackMove(depth + 1, childDepth, c, alpha,
+                                              childBeta);
+                }
+            } else {
+                value = evaluateBlackMove(depth + 1, childDepth, c, alpha,
+                                          childBeta);
+            }
+            followingPv = false;
+            board.unset(c);
+            hash ^= session.redKeys[cell];
+            if (aborted) {
+                return 0;
+            }
+            if (depth == 0) {
+                rootMovesSearched++;
+                if (preserveTies) {
+                    if (value < min || value == min && c < best) {
+                        min = value;
+                        best = column = c;
+                        updatePrincipalVariation(depth, c);
+                    }
+                    continue;
+                }
+            }
+            if (value < min) {
+                min = value;
+                best = c;
+                if (depth == 0) {
+                    column = c;
+                }
+                updatePrincipalVariation(depth, c);
+            }
+            if (value < beta) {
+                beta = value;
+            }
+            if (alpha >= beta) {
+                session.addKiller(plies + depth, c);
+                session.addHistory(0, cell, remaining * remaining);
+                storeEntry(key, depth, remaining, beta, alphaOrig, betaOrig,
+                           c);
+                return beta;
+            }
+        }
+        if (min == Integer.MAX_VALUE) {
+            return 0;
+        }
+        storeEntry(key, depth, remaining, min, alphaOrig, betaOrig, best);
+        return min;
+    }
+
+    /**
+     * The loop of searchBlackMove() when a session is attached.
+     */
+    private int orderedBlackMove(int depth, int maxDepth, int col,
+                                 boolean threatened, int alpha, int beta) {
+        int remaining = maxDepth - depth;
+        long key = hash ^ (col == -1 ? session.rootKey
+                                     : session.lastMoveKeys[col]);
+        // Extended lines neither use nor add to the table; see storeEntry().
+        long entry = maxDepth == horizon ? session.probe(key)
+                                         : EngineSession.NO_ENTRY;
+        int tableMove = -1;
+        if (entry != EngineSession.NO_ENTRY) {
+            tableMove = EngineSession.getBestColumn(entry);
+            int flag = EngineSession.getFlag(entry),
+                value = EngineSession.getValue(entry);
+            if (depth > 2 && EngineSession.getDepth(entry) == remaining
+                    && (flag == EngineSession.EXACT
+                    || flag == EngineSession.LOWER_BOUND && value >= beta
+                    || flag == EngineSession.UPPER_BOUND && value <= alpha)) {
+                pvLength[depth] = depth;
+                return value;
+            }
+        }
+        if (canProbCut(depth, maxDepth)) {
+            int bound = getProbCutBound(remaining, beta, false);
+            if (bound != Integer.MIN_VALUE) {
+                boolean onPv = followingPv;
+                followingPv = false;
+                shiftHorizon(-REDUCTION);
+                int value = orderedBlackMove(depth, maxDepth - REDUCTION, col,
+                                             threatened, bound - 1, bound);
+                shiftHorizon(REDUCTION);
+                followingPv = onPv;
+                if (aborted) {
+                    return 0;
+                }
+                if (value >= bound) {
+                    selectiveCutoffs++;
+                    pvLength[depth] = depth;
+                    return beta;
+                }
+            }
+        }
+        int[] history = session.history[1];
+        int count = orderMoves(depth, history, tableMove);
+        int[] order = moveOrder[depth];
+        boolean onPv = followingPv;
+        int pvMove = onPv && depth < pvHint.length ? pvHint[depth] : -1;
+        int max = Integer.MIN_VALUE, best = -1, alphaOrig = alpha,
+            betaOrig = beta;
+        pvLength[depth] = depth;
+        int onlyReply = getOnlyReply(depth, maxDepth, col, threatened),
+            moves = getCandidateColumns(depth, maxDepth, Board.MARK_BLACK);
+        for (int i = 0; i < count; i++) {
+            int c = order[i], childAlpha = alpha;
+            if (depth == 0 && preserveTies && best != -1) {
+                childAlpha = c < best ? max - 1 : max;
+                if (childAlpha >= beta) {
+                    continue;
+                }
+            }
+            if ((moves & 1 << c) == 0
+                    || isRefuted(maxDepth, c, onlyReply, Board.MARK_BLACK)) {
+                continue;
+            }
+            int cell = board.mark(c, Board.MARK_BLACK) * columns + c;
+            hash ^= session.blackKeys[cell];
+            followingPv = onPv && c == pvMove;
+            pvLength[depth + 1] = depth + 1;
+            int childDepth = extend(depth, maxDepth, c, onlyReply), value;
+            if (childDepth == maxDepth
+                    && canReduce(depth, maxDepth, i, c, threatened)) {
+                reductions++;
+                shiftHorizon(-REDUCTION);
+                value = evaluateRedMove(depth + 1, maxDepth - REDUCTION, c,
+                                        childAlpha, beta);
+                shiftHorizon(REDUCTION);
+                if (value > childAlpha && !aborted) {
+                    reSearches++;
+                    pvLength[depth + 1] = depth + 1;
+                    value = evaluateRedMove(depth + 1, childDepth, c,
+                                            childAlpha, beta);
+                }
+            } else {
+                value = evaluateRedMove(depth + 1, childDepth, c, childAlpha,
+                                        beta);
+            }
+            followingPv = false;
+            board.unset(c);
+            hash ^= session.blackKeys[cell];
+            if (aborted) {
+                return 0;
+            }
+            if (depth == 0) {
+                rootMovesSearched++;
+                if (preserveTies) {
+                    if (value > max || value == max && c < best) {
+                        max = value;
+                        best = column = c;
+                        updatePrincipalVariation(depth, c);
+                    }
+                    continue;
+                }
+            }
+            if (value > max) {
+                max = value;
+                best = c;
+                if (depth == 0) {
+                    column = c;
+                }
+                updatePrincipalVariation(depth, c);
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+            if (alpha >= beta) {
+                session.addKiller(plies + depth, c);
+                session.addHistory(1, cell, remaining * remaining);
+                storeEntry(key, depth, remaining, alpha, alphaOrig, betaOrig,
+                           c);
+                return alpha;
+            }
+        }
+        if (max == Integer.MIN_VALUE) {
+            return 0;
+        }
+        storeEntry(key, depth, remaining, max, alphaOrig, betaOrig, best);
+        return max;
+    }
+
+    public static void main(String[] args) {
+        // This section is for testing purposes only, in cases where the
+        // computer makes a seemingly bad choice.
+        Board board = new Board();
+        board.set(0, Board.MARK_RED);
+        board.set(0, Board.MARK_RED);
+
+        board.set(1, Board.MARK_BLACK);
+        board.set(1, Board.MARK_RED);
+        board.set(1, Board.MARK_BLACK);
+        board.set(1, Board.MARK_BLACK);
+        board.set(1, Board.MARK_RED);
+        board.set(1, Board.MARK_RED);
+
+        board.set(2, Board.MARK_RED);
+        board.set(2, Board.MARK_RED);
+        board.set(2, Board.MARK_RED);
+        board.set(2, Board.MARK_BLACK);
+        board.set(2, Board.MARK_RED);
+
+        board.set(3, Board.MARK_RED);
+        board.set(3, Board.MARK_BLACK);
+        board.set(3, Board.MARK_RED);
+        board.set(3, Board.MARK_BLACK);
+        board.set(3, Board.MARK_BLACK);
+        board.set(3, Board.MARK_BLACK);
+
+        board.set(4, Board.MARK_BLACK);
+        board.set(4, Board.MARK_RED);
+        board.set(4, Board.MARK_BLACK);
+        board.set(4, Board.MARK_RED);
+
+        board.set(6, Board.MARK_BLACK);
+        board.set(6, Board.MARK_BLACK);
+        board.set(6, Board.MARK_BLACK);
+        board.set(6, Board.MARK_RED);
+        board.set(6, Board.MARK_BLACK);
+
+        board.display();
+        Minimax minimax = new Minimax(board, 3);
+        char mark = Board.MARK_RED;
+        int col = minimax.alphaBeta(mark);
+        System.out.println("Place in column: " + col);
+        System.out.println("Boards analyzed: " + minimax.getBoardsAnalyzed());
+        board.set(col, mark);
+        board.display();
+    }
+}
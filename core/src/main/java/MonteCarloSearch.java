@@ -0,0 +1,499 @@
+/**
+ * File: MonteCarloSearch.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.text.NumberFormat;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Monte Carlo tree search engine, an alternative to Minimax that needs no
+ * evaluation function and scales with the number of processors.
+ *
+ * All threads grow one shared tree. A thread walks down it by UCT, plays
+ * the game out from the leaf it reaches on its own copy of the board, and
+ * credits the result to every node on the way. Node statistics are updated
+ * with atomic operations and children are attached with a single
+ * compare-and-set, so threads never lock. A node's visit is counted as
+ * soon as a thread enters it and its reward only when the playout ends;
+ * until then the visit counts as a loss, which steers the other threads to
+ * different lines.
+ *
+ * Playouts follow a light policy: win at once if possible, otherwise block
+ * an immediate win of the opponent, otherwise play at random. The search
+ * stops after the playout budget or at the deadline, whichever comes
+ * first, and plays the most visited move.
+ *
+ * The tree is kept between searches. When the next search starts from a
+ * position reached through the tree, the subtree below it becomes the new
+ * root along with all of its playouts, and the rest of the tree is dropped.
+ * The node count, which caps the growth of the tree, is then the size of
+ * that subtree.
+ */
+public class MonteCarloSearch {
+    private static final double EXPLORATION = 1.0;
+    private static final int EXPAND_AFTER = 2, MAX_NODES = 4000000;
+    private static final byte NOT_TERMINAL = 0, WIN = 1, DRAW = 2;
+
+    private static final AtomicIntegerFieldUpdater<Node> VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+    private static final AtomicIntegerFieldUpdater<Node> REWARD =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "reward");
+    private static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class,
+                                                   "children");
+
+    /**
+     * A position in the tree, reached by playing column for player. The
+     * reward counts two points for each playout won by player and one for
+     * each draw.
+     */
+    static final class Node {
+        final int column;
+        final char player;
+        final byte terminal;
+        volatile int visits, reward;
+        volatile Node[] children;
+
+        Node(int column, char player, byte terminal) {
+            this.column = column;
+            this.player = player;
+            this.terminal = terminal;
+        }
+    }
+
+    private final int threads;
+    private final AtomicInteger playouts = new AtomicInteger(),
+                                nodes = new AtomicInteger();
+    private volatile boolean stopped;
+    private Node root;
+    private String rootMoves;
+    private int budget, reusedPlayouts, reusedNodes;
+    private long deadline, elapsedNanos;
+    private boolean hasDeadline;
+
+    public MonteCarloSearch(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the number of playouts made by the last search.
+     */
+    public int getPlayouts() {
+        return playouts.get();
+    }
+
+    /**
+     * Returns the number of playouts of the subtree the last search started
+     * from, all made by earlier searches.
+     */
+    public int getReusedPlayouts() {
+        return reusedPlayouts;
+    }
+
+    /**
+     * Returns the number of nodes of the subtree the last search started
+     * from.
+     */
+    public int getReusedNodes() {
+        return reusedNodes;
+    }
+
+    /**
+     * Returns the number of nodes in the tree.
+     */
+    public int getNodes() {
+        return nodes.get();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts.get() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Abandons the running search, which returns its best move so far.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Returns the share of the last search's root playouts that went to
+     * each column, or 0 for columns that cannot be played.
+     */
+    public double[] getVisitShares() {
+        Node node = root;
+        double[] shares = new double[0];
+        if (node != null && node.children != null) {
+            Node[] children = node.children;
+            int max = 0;
+            for (Node child : children) {
+                max = Math.max(max, child.column + 1);
+            }
+            shares = new double[max];
+            for (Node child : children) {
+                shares[child.column] = (double)child.visits
+                                       / Math.max(node.visits, 1);
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Searches for the player's move with at most budget playouts, and
+     * returns the column chosen.
+     */
+    public int search(Board board, char player, int budget) {
+        return search(board, player, budget, 0, false);
+    }
+
+    /**
+     * Searches for the player's move until budget playouts have been made
+     * or System.nanoTime() passes deadline.
+     */
+    public int search(Board board, char player, int budget, long deadline) {
+        return search(board, player, budget, deadline, true);
+    }
+
+    private synchronized int search(Board board, char player, int budget,
+                                    long deadline, boolean hasDeadline) {
+        long start = System.nanoTime();
+        this.budget = budget;
+        this.deadline = deadline;
+        this.hasDeadline = hasDeadline;
+        stopped = false;
+        playouts.set(0);
+        setRoot(board, player);
+        reusedPlayouts = root.visits;
+
+        int winning = getImmediateWin(board, player);
+        if (winning != -1) {
+            elapsedNanos = System.nanoTime() - start;
+            return winning;
+        }
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            final Board copy = new Board(board);
+            final long seed = start + i;
+            final char first = player;
+            workers[i] = new Thread(new Runnable() {
+                public void run() {
+                    work(copy, first, new Random(seed));
+                }
+            }, "MonteCarloSearch-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException ie) {
+                stopped = true;
+                Thread.currentThread().interrupt();
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return getBestColumn(board);
+    }
+
+    private void setRoot(Board board, char player) {
+        String moves = PositionCodec.toMoveString(board);
+        Node node = null;
+        if (root != null && rootMoves != null
+                && moves.startsWith(rootMoves)) {
+            node = root;
+            for (int i = rootMoves.length(); i < moves.length() && node != null;
+                    i++) {
+                int col = Character.digit(moves.charAt(i), 17) - 1;
+                Node[] children = node.children;
+                node = null;
+                if (children != null) {
+                    for (Node child : children) {
+                        if (child.column == col) {
+                            node = child;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        if (node == null || node.terminal != NOT_TERMINAL) {
+            node = new Node(-1, player == Board.MARK_RED ? Board.MARK_BLACK
+                                                         : Board.MARK_RED,
+                            NOT_TERMINAL);
+            nodes.set(1);
+        } else if (node != root) {
+            nodes.set(countNodes(node));
+        }
+        root = node;
+        rootMoves = moves;
+        reusedNodes = nodes.get();
+    }
+
+    /**
+     * Returns the number of nodes in the subtree below node, node
+     * included.
+     */
+    private static int countNodes(Node node) {
+        int count = 1;
+        Node[] children = node.children;
+        if (children != null) {
+            for (Node child : children) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private static int getImmediateWin(Board board, char player) {
+        for (int col = 0; col < board.getColumns(); col++) {
+            if (board.isColumnAvailable(col)) {
+                board.mark(col, player);
+                boolean win = board.completesLine(col);
+                board.unset(col);
+                if (win) {
+                    return col;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int getBestColumn(Board board) {
+        Node[] children = root.children;
+        Node best = null;
+        if (children != null) {
+            for (Node child : children) {
+                if (best == null || child.visits > best.visits
+                        || child.visits == best.visits
+                        && child.reward > best.reward) {
+                    best = child;
+                }
+            }
+        }
+        if (best != null) {
+            return best.column;
+        }
+        for (int col = 0; col < board.getColumns(); col++) {
+            if (board.isColumnAvailable(col)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isDone() {
+        return stopped || playouts.get() >= budget
+               || hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    private void work(Board board, char rootPlayer, Random random) {
+        int cells = board.getRows() * board.getColumns();
+        Node[] path = new Node[cells + 1];
+        int[] moves = new int[cells];
+        while (!isDone()) {
+            int length = 0, moveCount = 0;
+            Node node = root;
+            char player = rootPlayer;
+            VISITS.incrementAndGet(node);
+            path[length++] = node;
+            while (node.terminal == NOT_TERMINAL) {
+                Node[] children = node.children;
+                if (children == null) {
+                    if (node.visits < EXPAND_AFTER && node != root
+                            || nodes.get() >= MAX_NODES) {
+                        break;
+                    }
+                    children = expand(node, board, player);
+                    if (children.length == 0) {
+                        break;
+                    }
+                }
+                node = select(node, children);
+                VISITS.incrementAndGet(node);
+                path[length++] = node;
+                board.mark(node.column, player);
+                moves[moveCount++] = node.column;
+                player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                  : Board.MARK_RED;
+            }
+
+            char winner;
+            if (node.terminal == WIN) {
+                winner = node.player;
+            } else if (node.terminal == DRAW) {
+                winner = Board.UNMARKED;
+            } else {
+                winner = playout(board, player, random);
+            }
+            for (int i = 0; i < length; i++) {
+                Node n = path[i];
+                if (winner == Board.UNMARKED) {
+                    REWARD.addAndGet(n, 1);
+                } else if (winner == n.player) {
+                    REWARD.addAndGet(n, 2);
+                }
+            }
+            while (moveCount > 0) {
+                board.unset(moves[--moveCount]);
+            }
+            playouts.incrementAndGet();
+        }
+    }
+
+    private Node[] expand(Node node, Board board, char player) {
+        int columns = board.getColumns(), count = 0;
+        Node[] buffer = new Node[columns];
+        for (int col = 0; col < columns; col++) {
+            if (board.isColumnAvailable(col)) {
+                board.mark(col, player);
+                byte terminal = NOT_TERMINAL;
+                if (board.completesLine(col)) {
+                    terminal = WIN;
+                } else if (board.isFull()) {
+                    terminal = DRAW;
+                }
+                board.unset(col);
+                buffer[count++] = new Node(col, player, terminal);
+            }
+        }
+        Node[] children = new Node[count];
+        System.arraycopy(buffer, 0, children, 0, count);
+        if (CHILDREN.compareAndSet(node, null, children)) {
+            nodes.addAndGet(count);
+            return children;
+        }
+        return node.children;
+    }
+
+    private static Node select(Node parent, Node[] children) {
+        double logVisits = Math.log(Math.max(parent.visits, 1));
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+            int visits = child.visits;
+            if (child.terminal == WIN) {
+                return child;
+            }
+            if (visits == 0) {
+                return child;
+            }
+            double value = child.reward / (2.0 * visits)
+                    + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays the game out from the board, which is left as it was, and
+     * returns the winner or Board.UNMARKED for a draw.
+     */
+    private static char playout(Board board, char player, Random random) {
+        int columns = board.getColumns();
+        int[] moves = new int[board.getRows() * columns],
+              available = new int[columns];
+        int moveCount = 0;
+        char winner = Board.UNMARKED;
+        char opponent = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                 : Board.MARK_RED;
+        while (true) {
+            int count = 0, choice = -1;
+            for (int col = 0; col < columns; col++) {
+                if (board.isColumnAvailable(col)) {
+                    available[count++] = col;
+                }
+            }
+            if (count == 0) {
+                break;
+            }
+            for (int i = 0; i < count && choice == -1; i++) {
+                board.mark(available[i], player);
+                if (board.completesLine(available[i])) {
+                    choice = available[i];
+                }
+                board.unset(available[i]);
+            }
+            if (choice != -1) {
+                winner = player;
+                break;
+            }
+            for (int i = 0; i < count && choice == -1; i++) {
+                board.mark(available[i], opponent);
+                if (board.completesLine(available[i])) {
+                    choice = available[i];
+                }
+                board.unset(available[i]);
+            }
+            if (choice == -1) {
+                choice = available[random.nextInt(count)];
+            }
+            board.mark(choice, player);
+            moves[moveCount++] = choice;
+            char next = opponent;
+            opponent = player;
+            player = next;
+        }
+        while (moveCount > 0) {
+            board.unset(moves[--moveCount]);
+        }
+        return winner;
+    }
+
+    /**
+     * Reports playouts per second from the empty board for each number of
+     * threads up to the number of processors, or to the number given. Then
+     * plays 20 moves against itself, checking after every search that the
+     * node count matches the tree kept and that the tree still grew.
+     */
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        int budget = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+        NumberFormat nf = NumberFormat.getInstance();
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            MonteCarloSearch search = new MonteCarloSearch(threads);
+            Board board = new Board();
+            int col = search.search(board, Board.MARK_RED, budget);
+            System.out.println(threads + " thread(s): column " + (col + 1)
+                    + ", " + nf.format(search.getPlayouts()) + " playouts, "
+                    + nf.format(Math.round(search.getPlayoutsPerSecond()))
+                    + " per second, " + nf.format(search.getNodes())
+                    + " nodes");
+        }
+
+        MonteCarloSearch search = new MonteCarloSearch(maxThreads);
+        Board board = new Board();
+        char player = Board.MARK_RED;
+        int searches = 0, wrong = 0;
+        while (searches < 20 && board.getWinner() == Board.UNMARKED) {
+            int col = search.search(board, player, budget / 4);
+            searches++;
+            if (search.getNodes() != countNodes(search.root)
+                    || search.getPlayouts() > 0
+                       && search.getNodes() <= search.getReusedNodes()) {
+                wrong++;
+            }
+            board.set(col, player);
+            player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                              : Board.MARK_RED;
+        }
+        System.out.println(searches + " searches reusing the tree, "
+                + wrong + " wrong");
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * File: Perft.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts the positions reached from a position by every sequence of a given
+ * number of moves, as chess programs do to test and time move generation. A
+ * game that ends sooner, with a win or a full board, counts once where it
+ * ends. Every move, the last included, is played with Board.mark(), tested
+ * with Board.completesLine() and taken back with Board.unset(), so the rate
+ * measures those alone, apart from any evaluation.
+ *
+ * The positions SPLIT_PLIES moves deep are counted in parallel, each on a
+ * copy of the board.
+ */
+public class Perft {
+    private static final int SPLIT_PLIES = 3;
+
+    private final ExecutorService executor;
+
+    public Perft(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the number of positions depth moves ahead of the board, with
+     * player to move.
+     */
+    public long count(Board board, char player, int depth)
+            throws InterruptedException {
+        int empty = 0;
+        for (int col = 0; col < board.getColumns(); col++) {
+            empty += board.getFirstAvailableRow(col) + 1;
+        }
+        Board copy = new Board(board);
+        if (depth == 0 || empty == 0 || copy.getWinner() != Board.UNMARKED) {
+            return 1;
+        }
+        List<Future<Long>> tasks = new ArrayList<Future<Long>>();
+        long leaves = split(copy, player, depth, Math.min(SPLIT_PLIES,
+                            depth - 1), empty, tasks);
+        try {
+            for (Future<Long> task : tasks) {
+                leaves += task.get();
+            }
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException("Perft failed.", ee.getCause());
+        } finally {
+            for (Future<Long> task : tasks) {
+                task.cancel(true);
+            }
+        }
+        return leaves;
+    }
+
+    /**
+     * Plays the first plies on the calling thread, submitting a task for
+     * each position reached, and returns the positions counted on the way.
+     */
+    private long split(Board board, final char player, final int depth,
+                       int plies, final int empty, List<Future<Long>> tasks) {
+        if (plies == 0) {
+            final Board copy = new Board(board);
+            tasks.add(executor.submit(new Callable<Long>() {
+                public Long call() {
+                    return count(copy, player, depth, empty);
+                }
+            }));
+            return 0;
+        }
+        long leaves = 0;
+        char next = player == Board.MARK_RED ? Board.MARK_BLACK
+                                             : Board.MARK_RED;
+        for (int col = 0; col < board.getColumns(); col++) {
+            if (!board.isColumnAvailable(col)) {
+                continue;
+            }
+            board.mark(col, player);
+            if (board.completesLine(col) || empty == 1) {
+                leaves++;
+            } else {
+                leaves += split(board, next, depth - 1, plies - 1, empty - 1,
+                                tasks);
+            }
+            board.unset(col);
+        }
+        return leaves;
+    }
+
+    private static long count(Board board, char player, int depth,
+                              int empty) {
+        long leaves = 0;
+        char next = player == Board.MARK_RED ? Board.MARK_BLACK
+                                             : Board.MARK_RED;
+        for (int col = 0; col < board.getColumns(); col++) {
+            if (!board.isColumnAvailable(col)) {
+                continue;
+            }
+            board.mark(col, player);
+            if (board.completesLine(col) || depth == 1 || empty == 1) {
+                leaves++;
+            } else {
+                leaves += count(board, next, depth - 1, empty - 1);
+            }
+            board.unset(col);
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * File: PositionCodec.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.nio.ByteBuffer;
+
+/**
+ * Converts boards to and from the two interchange formats used by the
+ * analysis tools.
+ *
+ * A move string lists the columns played, one character per move, starting
+ * with Red: "4453" means Red 4, Black 4, Red 5, Black 3. Columns are
+ * numbered from 1 as in the text interface; columns 10 to 16 of wide
+ * boards are written 'a' to 'g'.
+ *
+ * A key is a fixed-length binary form of the position alone: a big-endian
+ * bit mask of the Red checkers followed by one of the Black checkers, each
+ * a whole number of longs. Bit (column * rows + height) is set when the
+ * checker at that height, counted from the bottom of the column, belongs to
+ * the player. On boards of up to 64 cells, the standard board included,
+ * a key is 16 bytes. The move order is not recorded, so two boards reached
+ * by different sequences share a key.
+ */
+public class PositionCodec {
+    public static final int KEY_BYTES = 16;
+    private static final String COLUMN_DIGITS = "123456789abcdefg";
+
+    private PositionCodec() { }
+
+    public static int getKeyLength(int rows, int columns) {
+        return ((rows * columns + 63) >> 6) << 4;
+    }
+
+    public static char getColumnDigit(int col) {
+        return COLUMN_DIGITS.charAt(col);
+    }
+
+    /**
+     * Returns the column of a column digit, or -1 if it is not one.
+     */
+    public static int getColumn(char digit) {
+        return COLUMN_DIGITS.indexOf(Character.toLowerCase(digit));
+    }
+
+    public static String toMoveString(Board board) {
+        int rows = board.getRows(), columns = board.getColumns();
+        int[][] moveNumbers = board.getMoveNumbers();
+        char[] moves = new char[rows * columns];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int moveNumber = moveNumbers[row][col];
+                if (moveNumber != 0) {
+                    moves[moveNumber - 1] = getColumnDigit(col);
+                    count++;
+                }
+            }
+        }
+        return new String(moves, 0, count);
+    }
+
+    public static Board fromMoveString(CharSequence moves)
+            throws IllegalArgumentException {
+        return fromMoveString(moves, Board.DEFAULT_ROWS,
+                              Board.DEFAULT_COLUMNS);
+    }
+
+    public static Board fromMoveString(CharSequence moves, int rows,
+            int columns) throws IllegalArgumentException {
+        return fromMoveString(moves, rows, columns, Board.DEFAULT_WIN_LENGTH);
+    }
+
+    public static Board fromMoveString(CharSequence moves, int rows,
+            int columns, int winLength) throws IllegalArgumentException {
+        Board board = new Board(rows, columns, winLength);
+        char player = Board.MARK_RED;
+        for (int i = 0; i < moves.length(); i++) {
+            int col = getColumn(moves.charAt(i));
+            if (col < 0 || col >= columns) {
+                throw new IllegalArgumentException("Invalid column '"
+                        + moves.charAt(i) + "' at move " + (i + 1) + ".");
+            }
+            board.set(col, player);
+            player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                              : Board.MARK_RED;
+        }
+        return board;
+    }
+
+    public static byte[] toKey(Board board) {
+        ByteBuffer buffer = ByteBuffer.allocate(
+                getKeyLength(board.getRows(), board.getColumns()));
+        putKey(board, buffer);
+        return buffer.array();
+    }
+
+    public static void putKey(Board board, ByteBuffer buffer) {
+        int rows = board.getRows(), columns = board.getColumns();
+        long[] red = new long[(rows * columns + 63) >> 6],
+               black = new long[red.length];
+        for (int col = 0; col < columns; col++) {
+            for (int height = 0; height < rows; height++) {
+                char mark = board.get(rows - 1 - height, col);
+                int bit = col * rows + height;
+                if (mark == Board.MARK_RED) {
+                    red[bit >> 6] |= 1L << bit;
+                } else if (mark == Board.MARK_BLACK) {
+                    black[bit >> 6] |= 1L << bit;
+                } else {
+                    break;
+                }
+            }
+        }
+        for (long word : red) {
+            buffer.putLong(word);
+        }
+        for (long word : black) {
+            buffer.putLong(word);
+        }
+    }
+
+    public static Board fromKey(byte[] key) throws IllegalArgumentException {
+        return fromKey(key, Board.DEFAULT_ROWS, Board.DEFAULT_COLUMNS);
+    }
+
+    public static Board fromKey(byte[] key, int rows, int columns)
+            throws IllegalArgumentException {
+        if (key.length != getKeyLength(rows, columns)) {
+            throw new IllegalArgumentException("Invalid key length "
+                    + key.length + " received.");
+        }
+        return getKey(ByteBuffer.wrap(key), rows, columns);
+    }
+
+    /**
+     * Reads one key from the buffer and rebuilds the board. Move numbers
+     * are not restored since keys do not record the move order.
+     */
+    public static Board getKey(ByteBuffer buffer, int rows, int columns)
+            throws IllegalArgumentException {
+        long[] red = new long[(rows * columns + 63) >> 6],
+               black = new long[red.length];
+        for (int i = 0; i < red.length; i++) {
+            red[i] = buffer.getLong();
+        }
+        for (int i = 0; i < black.length; i++) {
+            black[i] = buffer.getLong();
+            if ((red[i] & black[i]) != 0) {
+                throw new IllegalArgumentException(
+                    "Key marks the same cell for both players.");
+            }
+        }
+        Board board = new Board(rows, columns);
+        for (int col = 0; col < columns; col++) {
+            boolean empty = false;
+            for (int height = 0; height < rows; height++) {
+                int bit = col * rows + height;
+                long mask = 1L << bit;
+                boolean isRed = (red[bit >> 6] & mask) != 0,
+                        isBlack = (black[bit >> 6] & mask) != 0;
+                if (!isRed && !isBlack) {
+                    empty = true;
+                } else if (empty) {
+                    throw new IllegalArgumentException(
+                        "Key has a floating checker in column " + (col + 1)
+                        + ".");
+                } else {
+                    board.mark(col, isRed ? Board.MARK_RED
+                                          : Board.MARK_BLACK);
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Returns the player to move, assuming Red moved first.
+     */
+    public static char getPlayerToMove(Board board) {
+        int red = 0, black = 0;
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getColumns(); col++) {
+                char mark = board.get(row, col);
+                if (mark == Board.MARK_RED) {
+                    red++;
+                } else if (mark == Board.MARK_BLACK) {
+                    black++;
+                }
+            }
+        }
+        return red == black ? Board.MARK_RED : Board.MARK_BLACK;
+    }
+}
@@ -0,0 +1,636 @@
+/**
+ * File: PositionDatabase.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A read-only table of position scores, kept in a memory-mapped file and
+ * small enough to hold millions of positions.
+ *
+ * Positions are identified by Board.getPositionKey(). The keys of real
+ * games crowd into a small part of their range, so each is first mixed
+ * by a one-to-one function of the same number of bits, which spreads
+ * them evenly. The mixed keys are sorted and stored Elias-Fano style: the
+ * low bits of each key are packed side
+ * by side, and the high bits are written in unary as a bit vector in
+ * which key i sets bit (high + i), so that the keys cost little more than
+ * two bits each over the logarithm of the spacing between them. Scores
+ * are packed in scoreBits bits each, shifted right by scoreShift bits,
+ * and read back as scoreBits-bit signed numbers shifted left again. The
+ * lowest and highest of those numbers stand for the win scores of
+ * Minimax, Integer.MIN_VALUE + 1 and Integer.MAX_VALUE - 1, and other
+ * scores are clamped to the numbers in between. The
+ * only thing held in memory is the position of every 64th zero of the
+ * bit vector, from which a lookup finds the keys sharing its high bits in
+ * a few words.
+ *
+ * A header gives the version, the board size and win length, the
+ * fingerprint of the evaluation the scores were searched with, as given
+ * by SessionStore.getFingerprint(), the number of keys, the packing and a
+ * checksum over the rest of the file, which is checked when the file is
+ * opened. Files are written by a Builder.
+ *
+ * The scores are meant to be those of Minimax, positive favoring Black,
+ * and Minimax.setPositionDatabase() uses them in place of searching the
+ * positions they cover.
+ */
+public class PositionDatabase {
+    // Stored scores, shifted back, stay well clear of NOT_FOUND and of the
+    // win scores of Minimax.
+    public static final int NOT_FOUND = Integer.MIN_VALUE,
+                            RED_WIN = Integer.MIN_VALUE + 1,
+                            BLACK_WIN = Integer.MAX_VALUE - 1,
+                            MIN_SCORE_BITS = 2, MAX_SCORE_BITS = 31;
+    private static final int MAGIC = 0x43345044, VERSION = 2,
+                             HEADER_BYTES = 72, ZERO_SAMPLE_BITS = 6;
+    private static final int OFFSET_MAGIC = 0, OFFSET_VERSION = 4,
+                             OFFSET_ROWS = 8, OFFSET_COLUMNS = 12,
+                             OFFSET_WIN_LENGTH = 16, OFFSET_LOW_BITS = 20,
+                             OFFSET_SCORE_BITS = 24, OFFSET_SCORE_SHIFT = 28,
+                             OFFSET_MAX_PLIES = 32, OFFSET_COUNT = 40,
+                             OFFSET_BUCKETS = 48, OFFSET_FINGERPRINT = 56,
+                             OFFSET_CHECKSUM = 64;
+    private static final long CHECKSUM_PRIME = 0x100000001b3L,
+                              MIX_MULTIPLIER_1 = 0x9e3779b97f4a7c15L,
+                              MIX_MULTIPLIER_2 = 0xbf58476d1ce4e5b9L;
+
+    private final int rows, columns, winLength, keyBits, lowBits, scoreBits,
+                      scoreShift, maxPlies, redWinCode, blackWinCode;
+    private final long fingerprint, count, buckets, keyMask, lowMask,
+                       scoreMask;
+    private final LongBuffer lows, highs, scores;
+    private final long[] zeroSamples;
+
+    /**
+     * Maps the file, checks it and indexes it.
+     */
+    public PositionDatabase(File file) throws IOException {
+        MappedByteBuffer buffer;
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            if (raf.length() < HEADER_BYTES) {
+                throw new IOException(file + " is not a position database.");
+            }
+            // The mapping stays valid once the file is closed.
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0,
+                                          raf.length());
+        } finally {
+            raf.close();
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(OFFSET_MAGIC) != MAGIC
+                || buffer.getInt(OFFSET_VERSION) != VERSION) {
+            throw new IOException(file + " is not a position database.");
+        }
+        rows = buffer.getInt(OFFSET_ROWS);
+        columns = buffer.getInt(OFFSET_COLUMNS);
+        winLength = buffer.getInt(OFFSET_WIN_LENGTH);
+        fingerprint = buffer.getLong(OFFSET_FINGERPRINT);
+        count = buffer.getLong(OFFSET_COUNT);
+        buckets = buffer.getLong(OFFSET_BUCKETS);
+        lowBits = buffer.getInt(OFFSET_LOW_BITS);
+        scoreBits = buffer.getInt(OFFSET_SCORE_BITS);
+        scoreShift = buffer.getInt(OFFSET_SCORE_SHIFT);
+        maxPlies = buffer.getInt(OFFSET_MAX_PLIES);
+        long lowWords = getWords(count, lowBits),
+             highWords = getWords(count + buckets, 1),
+             scoreWords = getWords(count, scoreBits);
+        if (!Solver.supports(rows, columns) || rows < Board.MIN_SIZE
+                || columns < Board.MIN_SIZE
+                || winLength < Board.MIN_WIN_LENGTH
+                || winLength > Board.MAX_WIN_LENGTH
+                || count < 0 || buckets < 0 || lowBits < 0 || lowBits > 63
+                || scoreBits < MIN_SCORE_BITS || scoreShift < 0
+                || scoreBits + scoreShift > MAX_SCORE_BITS
+                || (lowWords + highWords + scoreWords) * 8
+                   != buffer.capacity() - HEADER_BYTES) {
+            throw new IOException(file + " is damaged.");
+        }
+        buffer.position(HEADER_BYTES);
+        LongBuffer words = buffer.slice().order(ByteOrder.LITTLE_ENDIAN)
+                                 .asLongBuffer();
+        long checksum = 0;
+        for (int i = 0; i < words.limit(); i++) {
+            checksum = (checksum ^ words.get(i)) * CHECKSUM_PRIME;
+        }
+        if (checksum != buffer.getLong(OFFSET_CHECKSUM)) {
+            throw new IOException(file + " is damaged.");
+        }
+        lows = slice(words, 0, lowWords);
+        highs = slice(words, lowWords, highWords);
+        scores = slice(words, lowWords + highWords, scoreWords);
+        keyBits = getKeyBits(rows, columns);
+        keyMask = getKeyMask(keyBits);
+        lowMask = (1L << lowBits) - 1;
+        scoreMask = (1L << scoreBits) - 1;
+        redWinCode = getRedWinCode(scoreBits);
+        blackWinCode = getBlackWinCode(scoreBits);
+        zeroSamples = sampleZeros();
+    }
+
+    private static int getKeyBits(int rows, int columns) {
+        return (rows + 1) * columns;
+    }
+
+    private static long getKeyMask(int keyBits) {
+        return keyBits == 64 ? -1L : (1L << keyBits) - 1;
+    }
+
+    /**
+     * Scrambles the keys of the given number of bits one to one:
+     * multiplying by an odd number and folding the high half onto the low
+     * half can both be undone.
+     */
+    private static long mix(long key, int keyBits, long keyMask) {
+        int shift = keyBits >> 1;
+        key = key * MIX_MULTIPLIER_1 & keyMask;
+        key ^= key >>> shift;
+        key = key * MIX_MULTIPLIER_2 & keyMask;
+        return key ^ key >>> shift;
+    }
+
+    /**
+     * Returns the lowest of the packed scores, which stands for a win for
+     * Red.
+     */
+    private static int getRedWinCode(int scoreBits) {
+        return -(1 << (scoreBits - 1));
+    }
+
+    /**
+     * Returns the highest of the packed scores, which stands for a win for
+     * Black.
+     */
+    private static int getBlackWinCode(int scoreBits) {
+        return (1 << (scoreBits - 1)) - 1;
+    }
+
+    private static long getWords(long values, int bits) {
+        return (values * bits + 63) >>> 6;
+    }
+
+    private static LongBuffer slice(LongBuffer words, long offset,
+                                    long length) {
+        words.position((int)offset);
+        LongBuffer slice = words.slice();
+        slice.limit((int)length);
+        return slice;
+    }
+
+    /**
+     * Returns the position of every 64th zero of the high bits, starting
+     * with the first.
+     */
+    private long[] sampleZeros() {
+        long[] samples = new long[(int)((buckets >>> ZERO_SAMPLE_BITS) + 1)];
+        long zeros = 0;
+        for (int w = 0; w < highs.limit(); w++) {
+            long word = ~highs.get(w);
+            while (word != 0) {
+                if ((zeros & ((1 << ZERO_SAMPLE_BITS) - 1)) == 0
+                        && zeros < buckets) {
+                    samples[(int)(zeros >>> ZERO_SAMPLE_BITS)] =
+                            ((long)w << 6) + Long.numberOfTrailingZeros(word);
+                }
+                zeros++;
+                word &= word - 1;
+            }
+        }
+        return samples;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Returns the fingerprint of the evaluation the scores were searched
+     * with.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the most checkers on the board in any stored position.
+     */
+    public int getMaxPlies() {
+        return maxPlies;
+    }
+
+    public int getScoreBits() {
+        return scoreBits;
+    }
+
+    public int getScoreShift() {
+        return scoreShift;
+    }
+
+    /**
+     * Returns the score of the position, or NOT_FOUND.
+     */
+    public int lookup(Board board) {
+        return lookup(board.getPositionKey());
+    }
+
+    /**
+     * Returns the score of the position with the given key, or NOT_FOUND.
+     * Allocates nothing, so that Minimax can call it at every node.
+     */
+    public int lookup(long key) {
+        key = mix(key, keyBits, keyMask);
+        long high = key >>> lowBits;
+        if (Long.compareUnsigned(high, buckets) >= 0) {
+            return NOT_FOUND;
+        }
+        // Key i of the bucket sits just after the high-th zero, at bit
+        // (high + i).
+        long bit = high == 0 ? 0 : selectZero(high - 1) + 1,
+             low = key & lowMask;
+        for (long i = bit - high; getBit(highs, bit); bit++, i++) {
+            long stored = getBits(lows, i * lowBits, lowBits, lowMask);
+            if (stored == low) {
+                long value = getBits(scores, i * scoreBits, scoreBits,
+                                     scoreMask);
+                int code = (int)(value << (64 - scoreBits)
+                                 >> (64 - scoreBits));
+                return code == redWinCode ? RED_WIN
+                       : code == blackWinCode ? BLACK_WIN
+                       : code << scoreShift;
+            }
+            if (stored > low) {
+                break;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the position of the given zero of the high bits, counted
+     * from 0.
+     */
+    private long selectZero(long rank) {
+        long bit = zeroSamples[(int)(rank >>> ZERO_SAMPLE_BITS)];
+        long left = rank & ((1 << ZERO_SAMPLE_BITS) - 1);
+        int w = (int)(bit >>> 6);
+        long word = ~highs.get(w) & (-1L << (bit & 63));
+        while (true) {
+            int zeros = Long.bitCount(word);
+            if (left < zeros) {
+                for (; left > 0; left--) {
+                    word &= word - 1;
+                }
+                return ((long)w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            left -= zeros;
+            word = ~highs.get(++w);
+        }
+    }
+
+    private static boolean getBit(LongBuffer words, long bit) {
+        int w = (int)(bit >>> 6);
+        return w < words.limit() && (words.get(w) >>> (bit & 63) & 1) != 0;
+    }
+
+    private static long getBits(LongBuffer words, long offset, int bits,
+                                long mask) {
+        if (bits == 0) {
+            return 0;
+        }
+        int w = (int)(offset >>> 6), shift = (int)(offset & 63);
+        long value = words.get(w) >>> shift;
+        if (shift + bits > 64) {
+            value |= words.get(w + 1) << (64 - shift);
+        }
+        return value & mask;
+    }
+
+    /**
+     * Collects (position, score) pairs, in any order, and writes them out
+     * as a database. Of two scores for the same position, the one added
+     * last is kept. The win scores are kept as such, and other scores
+     * beyond what the packing can hold are clamped.
+     */
+    public static class Builder {
+        private final int rows, columns, winLength, keyBits, scoreBits,
+                          scoreShift;
+        private final long fingerprint, keyMask;
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private int count, maxPlies;
+
+        /**
+         * Creates a builder for positions of the given board, scored by
+         * searches with the given fingerprint.
+         */
+        public Builder(int rows, int columns, int winLength,
+                       long fingerprint, int scoreBits, int scoreShift)
+                throws IllegalArgumentException {
+            if (!Solver.supports(rows, columns)) {
+                throw new IllegalArgumentException("Board size " + columns
+                        + " x " + rows + " is too large for a position"
+                        + " database.");
+            }
+            if (winLength < Board.MIN_WIN_LENGTH
+                    || winLength > Board.MAX_WIN_LENGTH) {
+                throw new IllegalArgumentException("Invalid win length "
+                        + winLength + " received.");
+            }
+            if (scoreBits < MIN_SCORE_BITS || scoreBits > MAX_SCORE_BITS) {
+                throw new IllegalArgumentException("Invalid score bits "
+                        + scoreBits + " received.");
+            }
+            if (scoreShift < 0 || scoreBits + scoreShift > MAX_SCORE_BITS) {
+                throw new IllegalArgumentException("Invalid score shift "
+                        + scoreShift + " received.");
+            }
+            this.rows = rows;
+            this.columns = columns;
+            this.winLength = winLength;
+            this.fingerprint = fingerprint;
+            this.scoreBits = scoreBits;
+            this.scoreShift = scoreShift;
+            keyBits = getKeyBits(rows, columns);
+            keyMask = getKeyMask(keyBits);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void add(Board board, int score)
+                throws IllegalArgumentException {
+            if (board.getRows() != rows || board.getColumns() != columns
+                    || board.getWinLength() != winLength) {
+                throw new IllegalArgumentException("Board "
+                        + board.getColumns() + " x " + board.getRows()
+                        + ", " + board.getWinLength()
+                        + " in a row, does not match the database.");
+            }
+            add(board.getPositionKey(), score);
+        }
+
+        public void add(long key, int score) {
+            if (count == keys.length) {
+                long[] newKeys = new long[count * 2];
+                int[] newValues = new int[count * 2];
+                System.arraycopy(keys, 0, newKeys, 0, count);
+                System.arraycopy(values, 0, newValues, 0, count);
+                keys = newKeys;
+                values = newValues;
+            }
+            maxPlies = Math.max(maxPlies, getPlies(key));
+            keys[count] = mix(key, keyBits, keyMask);
+            values[count++] = pack(score);
+        }
+
+        /**
+         * Returns the packed score: a win code for a win score, or else
+         * the score shifted and clamped between the win codes.
+         */
+        private int pack(int score) {
+            int redWin = getRedWinCode(scoreBits),
+                blackWin = getBlackWinCode(scoreBits);
+            if (score <= RED_WIN) {
+                return redWin;
+            }
+            if (score >= BLACK_WIN) {
+                return blackWin;
+            }
+            return Math.max(redWin + 1,
+                            Math.min(blackWin - 1, score >> scoreShift));
+        }
+
+        /**
+         * Sorts the keys, least significant byte first so that equal keys
+         * keep the order they were added in.
+         */
+        private void sort() {
+            long[] fromKeys = keys, toKeys = new long[count];
+            int[] fromValues = values, toValues = new int[count];
+            for (int shift = 0; shift < keyBits; shift += 8) {
+                int[] next = new int[257];
+                for (int i = 0; i < count; i++) {
+                    next[(int)(fromKeys[i] >>> shift & 0xff) + 1]++;
+                }
+                for (int b = 0; b < 256; b++) {
+                    next[b + 1] += next[b];
+                }
+                for (int i = 0; i < count; i++) {
+                    int slot = next[(int)(fromKeys[i] >>> shift & 0xff)]++;
+                    toKeys[slot] = fromKeys[i];
+                    toValues[slot] = fromValues[i];
+                }
+                long[] swapKeys = fromKeys;
+                fromKeys = toKeys;
+                toKeys = swapKeys;
+                int[] swapValues = fromValues;
+                fromValues = toValues;
+                toValues = swapValues;
+            }
+            keys = fromKeys;
+            values = fromValues;
+        }
+
+        /**
+         * Writes the positions added so far to the file. The header is
+         * written last, so that an interrupted write leaves a file that is
+         * rejected.
+         */
+        public void write(File file) throws IOException {
+            sort();
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (i + 1 < count && keys[i + 1] == keys[i]) {
+                    continue;
+                }
+                keys[n] = keys[i];
+                values[n++] = values[i];
+            }
+            count = n;
+            long last = n == 0 ? 0 : keys[n - 1],
+                 spacing = n == 0 ? 0 : Long.divideUnsigned(last, n);
+            int lowBits = spacing == 0 ? 0
+                          : 63 - Long.numberOfLeadingZeros(spacing);
+            long buckets = n == 0 ? 0 : (last >>> lowBits) + 1;
+            long[] lows = new long[(int)getWords(n, lowBits)],
+                   highs = new long[(int)getWords(n + buckets, 1)],
+                   scores = new long[(int)getWords(n, scoreBits)];
+            long lowMask = (1L << lowBits) - 1,
+                 scoreMask = (1L << scoreBits) - 1;
+            for (int i = 0; i < n; i++) {
+                setBits(lows, (long)i * lowBits, lowBits, keys[i] & lowMask);
+                long bit = (keys[i] >>> lowBits) + i;
+                highs[(int)(bit >>> 6)] |= 1L << (bit & 63);
+                setBits(scores, (long)i * scoreBits, scoreBits,
+                        values[i] & scoreMask);
+            }
+            long size = HEADER_BYTES
+                    + 8L * (lows.length + highs.length + scores.length);
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                raf.setLength(0);
+                raf.setLength(size);
+                MappedByteBuffer buffer = raf.getChannel().map(
+                        FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.position(HEADER_BYTES);
+                long checksum = 0;
+                for (long[] section : new long[][] { lows, highs, scores }) {
+                    for (long word : section) {
+                        buffer.putLong(word);
+                        checksum = (checksum ^ word) * CHECKSUM_PRIME;
+                    }
+                }
+                buffer.force();
+                buffer.putInt(OFFSET_VERSION, VERSION);
+                buffer.putInt(OFFSET_ROWS, rows);
+                buffer.putInt(OFFSET_COLUMNS, columns);
+                buffer.putInt(OFFSET_WIN_LENGTH, winLength);
+                buffer.putLong(OFFSET_FINGERPRINT, fingerprint);
+                buffer.putLong(OFFSET_COUNT, n);
+                buffer.putLong(OFFSET_BUCKETS, buckets);
+                buffer.putInt(OFFSET_LOW_BITS, lowBits);
+                buffer.putInt(OFFSET_SCORE_BITS, scoreBits);
+                buffer.putInt(OFFSET_SCORE_SHIFT, scoreShift);
+                buffer.putInt(OFFSET_MAX_PLIES, maxPlies);
+                buffer.putLong(OFFSET_CHECKSUM, checksum);
+                buffer.force();
+                buffer.putInt(OFFSET_MAGIC, MAGIC);
+                buffer.force();
+            } finally {
+                raf.close();
+            }
+        }
+
+        /**
+         * Returns the number of checkers in the position with the given
+         * key: in each column, the height of the bit above the top checker.
+         */
+        private int getPlies(long key) {
+            int plies = 0, height = rows + 1;
+            for (int col = 0; col < columns; col++) {
+                long column = key >>> (col * height) & ((1L << height) - 1);
+                plies += 63 - Long.numberOfLeadingZeros(column);
+            }
+            return plies;
+        }
+
+        private static void setBits(long[] words, long offset, int bits,
+                                    long value) {
+            if (bits == 0) {
+                return;
+            }
+            int w = (int)(offset >>> 6), shift = (int)(offset & 63);
+            words[w] |= value << shift;
+            if (shift + bits > 64) {
+                words[w + 1] |= value >>> (64 - shift);
+            }
+        }
+    }
+
+    /**
+     * Stores the positions of random games with random scores, checks
+     * that every one is found with its score and that other positions are
+     * not, and times the lookups.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        NumberFormat nf = NumberFormat.getInstance();
+        Random random = new Random(1);
+        Board board = new Board();
+        int rows = board.getRows(), columns = board.getColumns();
+        Builder builder = new Builder(rows, columns, board.getWinLength(),
+                SessionStore.getFingerprint(EvaluationWeights.getDefault(
+                        board.getWinLength()),
+                        ConnectFourConfig.WINDOW_EVALUATION), 8, 0);
+        HashMap<Long, Integer> expected =
+                new HashMap<Long, Integer>();
+        long[] absent = new long[games];
+        for (int game = 0; game < games; game++) {
+            board.reset();
+            char player = Board.MARK_RED;
+            int plies = 1 + random.nextInt(rows * columns / 2);
+            for (int ply = 0; ply < plies; ply++) {
+                int col;
+                do {
+                    col = random.nextInt(columns);
+                } while (!board.isColumnAvailable(col));
+                board.set(col, player);
+                player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                  : Board.MARK_RED;
+            }
+            int score = game % 100 == 0 ? RED_WIN
+                        : game % 100 == 1 ? BLACK_WIN
+                        : random.nextInt(254) - 127;
+            builder.add(board, score);
+            expected.put(board.getPositionKey(), score);
+            int col = random.nextInt(columns);
+            if (board.isColumnAvailable(col)) {
+                board.set(col, player);
+            }
+            absent[game] = board.getPositionKey();
+        }
+        File file = File.createTempFile("positions", ".db");
+        file.deleteOnExit();
+        builder.write(file);
+        PositionDatabase database = new PositionDatabase(file);
+        int wrong = 0;
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            if (database.lookup(entry.getKey()) != entry.getValue()) {
+                wrong++;
+            }
+        }
+        for (long key : absent) {
+            if (!expected.containsKey(key)
+                    && database.lookup(key) != NOT_FOUND) {
+                wrong++;
+            }
+        }
+        long[] keys = new long[expected.size()];
+        int k = 0;
+        for (long key : expected.keySet()) {
+            keys[k++] = key;
+        }
+        long sum = 0, start = 0;
+        for (int pass = 0; pass < 5; pass++) {
+            start = System.nanoTime();
+            for (long key : keys) {
+                sum += database.lookup(key);
+            }
+        }
+        double ns = (double)(System.nanoTime() - start) / keys.length;
+        System.out.println(nf.format(database.getCount()) + " positions in "
+                + nf.format(file.length()) + " bytes ("
+                + String.format("%.1f", file.length() * 8.0
+                                        / database.getCount())
+                + " bits each), " + wrong + " wrong, "
+                + String.format("%.0f ns", ns) + " per lookup (" + sum
+                + ")");
+    }
+}
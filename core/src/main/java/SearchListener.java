@@ -0,0 +1,21 @@
+/**
+ * File: SearchListener.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+
+/**
+ * Callback polled by Minimax at regular intervals during a search.
+ */
+public interface SearchListener {
+
+    /**
+     * Called from the searching thread every few thousand boards. The
+     * implementation may block, for instance to hand the CPU over to more
+     * urgent work, before returning.
+     *
+     * @return false if the search should be abandoned
+     */
+    boolean continueSearch(int boardsAnalyzed);
+}
@@ -0,0 +1,48 @@
+/**
+ * File: SearchResult.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+
+/**
+ * Outcome of a search run by the SearchScheduler.
+ */
+public class SearchResult {
+    private final int column, boardsAnalyzed;
+    private final long queueNanos, runNanos;
+    private final boolean overBudget;
+
+    public SearchResult(int column, int boardsAnalyzed, long queueNanos,
+                        long runNanos, boolean overBudget) {
+        this.column = column;
+        this.boardsAnalyzed = boardsAnalyzed;
+        this.queueNanos = queueNanos;
+        this.runNanos = runNanos;
+        this.overBudget = overBudget;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getBoardsAnalyzed() {
+        return boardsAnalyzed;
+    }
+
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    public long getRunNanos() {
+        return runNanos;
+    }
+
+    /**
+     * Returns true if the search ran out of its node budget and the column
+     * is the best of the root moves searched before that point.
+     */
+    public boolean isOverBudget() {
+        return overBudget;
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * File: SearchScheduler.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs Minimax searches for many concurrent games on a shared pool of CPUs.
+ *
+ * Every request is placed in a priority class derived from the difficulty
+ * level of its configuration, and is given a node budget for that level.
+ * Each class has its own bounded queue and worker threads, so a request is
+ * never queued behind a search of a different class, and a full queue
+ * rejects new work instead of letting latency grow without bound.
+ *
+ * The number of searches actually running is limited to the number of
+ * processors. Deep searches are time-sliced: every few thousand boards they
+ * check whether a more urgent request is waiting for a processor and, if so,
+ * hand theirs over until the urgent work has been admitted.
+ */
+public class SearchScheduler {
+    public static final int
+        INTERACTIVE = 0,
+        STANDARD = 1,
+        BACKGROUND = 2;
+    private static final int PRIORITY_CLASSES = 3;
+    private static final String[] CLASS_NAMES =
+        { "interactive", "standard", "background" };
+    private static final int[] NODE_BUDGETS =
+        { 0, 20000, 200000, 2000000, 20000000 };
+    private static final int QUEUE_CAPACITY = 256;
+
+    private final ThreadPoolExecutor[] executors;
+    private final Stats[] stats;
+    private final int[] waiting;
+    private int freeProcessors;
+
+    public SearchScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), QUEUE_CAPACITY);
+    }
+
+    public SearchScheduler(int processors, int queueCapacity) {
+        if (processors < 1) {
+            throw new IllegalArgumentException("Invalid number of processors "
+                    + processors + " received.");
+        }
+        freeProcessors = processors;
+        waiting = new int[PRIORITY_CLASSES];
+        stats = new Stats[PRIORITY_CLASSES];
+        executors = new ThreadPoolExecutor[PRIORITY_CLASSES];
+        for (int i = 0; i < PRIORITY_CLASSES; i++) {
+            stats[i] = new Stats();
+            executors[i] = new ThreadPoolExecutor(processors, processors,
+                    30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(queueCapacity),
+                    new SearchThreadFactory(CLASS_NAMES[i]),
+                    new ThreadPoolExecutor.AbortPolicy());
+            executors[i].allowCoreThreadTimeOut(true);
+        }
+    }
+
+    public static int getPriorityClass(ConnectFourConfig config) {
+        switch (config.getDifficultyLevel()) {
+            case ConnectFourConfig.BEGINNER:
+            case ConnectFourConfig.INTERMEDIATE:
+                return INTERACTIVE;
+            case ConnectFourConfig.ADVANCED:
+                return STANDARD;
+            default:
+                return BACKGROUND;
+        }
+    }
+
+    public static int getNodeBudget(ConnectFourConfig config) {
+        return NODE_BUDGETS[config.getDifficultyLevel()];
+    }
+
+    /**
+     * Queues a search for the best move of player on a copy of board.
+     *
+     * @throws RejectedExecutionException if the queue of the request's
+     *         priority class is full or the scheduler has been shut down
+     */
+    public Future<SearchResult> submit(Board board, char player,
+            ConnectFourConfig config) throws RejectedExecutionException {
+        int priorityClass = getPriorityClass(config);
+        SearchTask task = new SearchTask(new Board(board), player,
+                config.getMaxDepth(), getNodeBudget(config), priorityClass);
+        try {
+            Future<SearchResult> future =
+                    executors[priorityClass].submit(task);
+            stats[priorityClass].submitted.incrementAndGet();
+            return future;
+        } catch (RejectedExecutionException ree) {
+            stats[priorityClass].rejected.incrementAndGet();
+            throw ree;
+        }
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor executor : executors) {
+            long remaining = deadline - System.nanoTime();
+            if (!executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getQueueLatencyPercentile(int priorityClass,
+                                          double percentile) {
+        return stats[priorityClass].getPercentile(percentile);
+    }
+
+    public String getMetrics() {
+        NumberFormat nf = NumberFormat.getInstance();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < PRIORITY_CLASSES; i++) {
+            Stats s = stats[i];
+            builder.append(String.format("%-12s", CLASS_NAMES[i]));
+            builder.append("submitted " + nf.format(s.submitted.get()));
+            builder.append(", rejected " + nf.format(s.rejected.get()));
+            builder.append(", completed " + nf.format(s.completed.get()));
+            builder.append(", over budget " + nf.format(s.overBudget.get()));
+            builder.append(", queue p50 " + nf.format(s.getPercentile(0.50)));
+            builder.append(" us, p99 " + nf.format(s.getPercentile(0.99)));
+            builder.append(" us, max " + nf.format(s.getPercentile(1.0)));
+            builder.append(" us\n");
+        }
+        return builder.toString();
+    }
+
+    private synchronized void acquireProcessor(int priorityClass)
+            throws InterruptedException {
+        waiting[priorityClass]++;
+        try {
+            while (freeProcessors == 0 || isMoreUrgentWaiting(priorityClass)) {
+                wait();
+            }
+        } finally {
+            waiting[priorityClass]--;
+        }
+        freeProcessors--;
+    }
+
+    private synchronized void releaseProcessor() {
+        freeProcessors++;
+        notifyAll();
+    }
+
+    private synchronized boolean shouldYield(int priorityClass) {
+        return freeProcessors == 0 && isMoreUrgentWaiting(priorityClass);
+    }
+
+    private boolean isMoreUrgentWaiting(int priorityClass) {
+        for (int i = 0; i < priorityClass; i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queueing latency histogram with power-of-two microsecond buckets.
+     */
+    private static class Stats {
+        private static final int BUCKETS = 40;
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final AtomicInteger submitted = new AtomicInteger(),
+                                    rejected = new AtomicInteger(),
+                                    completed = new AtomicInteger(),
+                                    overBudget = new AtomicInteger();
+
+        void recordQueueLatency(long nanos) {
+            long micros = Math.max(1, nanos / 1000);
+            int bucket = 63 - Long.numberOfLeadingZeros(micros);
+            histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+        }
+
+        long getPercentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += histogram.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long)Math.ceil(percentile * total), seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= rank) {
+                    return (2L << i) - 1;
+                }
+            }
+            return (2L << (BUCKETS - 1)) - 1;
+        }
+    }
+
+    private class SearchTask implements Callable<SearchResult>, SearchListener {
+        private final Board board;
+        private final char player;
+        private final int maxDepth, nodeBudget, priorityClass;
+        private final long submitTime;
+
+        SearchTask(Board board, char player, int maxDepth, int nodeBudget,
+                   int priorityClass) {
+            this.board = board;
+            this.player = player;
+            this.maxDepth = maxDepth;
+            this.nodeBudget = nodeBudget;
+            this.priorityClass = priorityClass;
+            this.submitTime = System.nanoTime();
+        }
+
+        public SearchResult call() throws InterruptedException {
+            acquireProcessor(priorityClass);
+            long start = System.nanoTime();
+            stats[priorityClass].recordQueueLatency(start - submitTime);
+            try {
+                Minimax minimax = new Minimax(board, maxDepth);
+                minimax.setNodeLimit(nodeBudget);
+                if (priorityClass != INTERACTIVE) {
+                    minimax.setSearchListener(this);
+                }
+                int column = minimax.alphaBeta(player);
+                stats[priorityClass].completed.incrementAndGet();
+                if (minimax.isAborted()) {
+                    stats[priorityClass].overBudget.incrementAndGet();
+                }
+                return new SearchResult(column, minimax.getBoardsAnalyzed(),
+                        start - submitTime, System.nanoTime() - start,
+                        minimax.isAborted());
+            } finally {
+                releaseProcessor();
+            }
+        }
+
+        public boolean continueSearch(int boardsAnalyzed) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (shouldYield(priorityClass)) {
+                releaseProcessor();
+                try {
+                    acquireProcessor(priorityClass);
+                } catch (InterruptedException ie) {
+                    // Reclaim the processor so that call() can release it.
+                    synchronized (SearchScheduler.this) {
+                        freeProcessors--;
+                    }
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class SearchThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        SearchThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "search-" + prefix + "-"
+                    + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException,
+            ExecutionException {
+        // Mixed load: a handful of expert searches alongside a steady stream
+        // of beginner moves. Beginner p99 should stay in the low milliseconds.
+        SearchScheduler scheduler = new SearchScheduler();
+        Board board = new Board();
+        board.set(3, Board.MARK_RED);
+        board.set(3, Board.MARK_BLACK);
+        board.set(2, Board.MARK_RED);
+        ConnectFourConfig expert = new ConnectFourConfig(
+                ConnectFourConfig.COMPUTER_COMPUTER, ConnectFourConfig.EXPERT),
+            beginner = new ConnectFourConfig(
+                ConnectFourConfig.COMPUTER_COMPUTER, ConnectFourConfig.BEGINNER);
+        List<Future<SearchResult>> futures =
+                new ArrayList<Future<SearchResult>>();
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < processors * 2; i++) {
+            futures.add(scheduler.submit(board, Board.MARK_BLACK, expert));
+        }
+        for (int i = 0; i < 200; i++) {
+            futures.add(scheduler.submit(board, Board.MARK_BLACK, beginner));
+            Thread.sleep(5);
+        }
+        for (Future<SearchResult> future : futures) {
+            future.get();
+        }
+        scheduler.shutdown();
+        System.out.print(scheduler.getMetrics());
+    }
+}
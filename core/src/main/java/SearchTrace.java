@@ -0,0 +1,112 @@
+/**
+ * File: SearchTrace.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every node a Minimax search visits to a binary trace file, for
+ * TraceAnalyzer to study offline. Attach one with
+ * Minimax.setSearchTrace(); without one, the search does nothing extra.
+ *
+ * The file starts with a header of four little-endian ints: MAGIC, the
+ * version, and the rows and columns of the board. Then come the nodes,
+ * RECORD_BYTES each, in the order they are left, so that a node follows
+ * all of its children:
+ *
+ *     byte   depth, counted from the root of the search
+ *     byte   column of the move that led to the node, or -1 at the root
+ *     byte   index of the node among the children of its parent
+ *     byte   number of children searched
+ *     byte   index of the child that cut the node off, or -1
+ *     byte   flags: BLACK_TO_MOVE, ABORTED
+ *     short  unused
+ *     int    alpha on entry
+ *     int    beta on entry
+ *     int    value returned
+ *
+ * Black maximizes and Red minimizes, so the window on exit follows from
+ * the value. Every search writes its own tree, ending with its root;
+ * moves searched again after a reduction appear twice. Records are
+ * gathered in a direct buffer and written out when it fills, so the
+ * search only pays for a few stores per node.
+ */
+public class SearchTrace implements Closeable {
+    public static final int MAGIC = 0x43345452, VERSION = 1,
+                            HEADER_BYTES = 16, RECORD_BYTES = 20;
+    public static final int BLACK_TO_MOVE = 1, ABORTED = 2;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long nodes;
+    private IOException failure;
+
+    /**
+     * Creates the trace file, replacing any file of that name.
+     */
+    public SearchTrace(Path path, int rows, int columns) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+                           .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Adds a node. Errors are kept until close(), so that the search need
+     * not handle them.
+     */
+    void record(int depth, int column, int index, int children, int cutoff,
+                int flags, int alpha, int beta, int value) {
+        if (buffer.remaining() < RECORD_BYTES) {
+            drain();
+        }
+        buffer.put((byte)depth).put((byte)column)
+              .put((byte)Math.min(index, 127))
+              .put((byte)Math.min(children, 127))
+              .put((byte)Math.min(cutoff, 127)).put((byte)flags)
+              .putShort((short)0)
+              .putInt(alpha).putInt(beta).putInt(value);
+        nodes++;
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ioe) {
+            if (failure == null) {
+                failure = ioe;
+            }
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes out the nodes still buffered and closes the file, throwing
+     * the first error met while tracing.
+     */
+    public void close() throws IOException {
+        drain();
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
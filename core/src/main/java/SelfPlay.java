@@ -0,0 +1,179 @@
+/**
+ * File: SelfPlay.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays matches between two engine settings on all processors.
+ *
+ * Since Minimax is deterministic, variety comes from the openings: every
+ * game starts from one of a fixed list of move strings, and every opening
+ * is played twice with the colors swapped.
+ */
+public class SelfPlay {
+    private final int rows, columns, winLength;
+    private final ExecutorService executor;
+
+    public SelfPlay(int rows, int columns, int winLength, int threads) {
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns every opening of the given number of plies that does not
+     * already decide the game, as move strings.
+     */
+    public List<String> getOpenings(int plies) {
+        List<String> openings = new ArrayList<String>();
+        addOpenings(new Board(rows, columns, winLength), "", plies,
+                    Board.MARK_RED, openings);
+        return openings;
+    }
+
+    private void addOpenings(Board board, String moves, int plies,
+                             char player, List<String> openings) {
+        if (plies == 0) {
+            openings.add(moves);
+            return;
+        }
+        for (int col = 0; col < columns; col++) {
+            if (board.isColumnAvailable(col)) {
+                board.set(col, player);
+                if (board.getWinner() == Board.UNMARKED) {
+                    addOpenings(board, moves + PositionCodec.getColumnDigit(col),
+                            plies - 1, player == Board.MARK_RED
+                            ? Board.MARK_BLACK : Board.MARK_RED, openings);
+                }
+                board.unset(col);
+            }
+        }
+    }
+
+    /**
+     * Plays every opening twice, once with each color, and returns the
+     * result from the point of view of the first engine.
+     */
+    public MatchResult play(EvaluationWeights first, int firstDepth,
+            EvaluationWeights second, int secondDepth, List<String> openings)
+            throws InterruptedException {
+        List<Future<Character>> games = new ArrayList<Future<Character>>();
+        for (String opening : openings) {
+            games.add(executor.submit(new Game(opening, first, firstDepth,
+                                               second, secondDepth)));
+            games.add(executor.submit(new Game(opening, second, secondDepth,
+                                               first, firstDepth)));
+        }
+        MatchResult result = new MatchResult();
+        for (int i = 0; i < games.size(); i++) {
+            char winner;
+            try {
+                winner = games.get(i).get();
+            } catch (ExecutionException ee) {
+                throw new IllegalStateException("Game failed.", ee.getCause());
+            }
+            char firstColor = i % 2 == 0 ? Board.MARK_RED : Board.MARK_BLACK;
+            if (winner == Board.UNMARKED) {
+                result.draws++;
+            } else if (winner == firstColor) {
+                result.wins++;
+            } else {
+                result.losses++;
+            }
+        }
+        return result;
+    }
+
+    private class Game implements Callable<Character> {
+        private final String opening;
+        private final EvaluationWeights redWeights, blackWeights;
+        private final int redDepth, blackDepth;
+
+        Game(String opening, EvaluationWeights redWeights, int redDepth,
+             EvaluationWeights blackWeights, int blackDepth) {
+            this.opening = opening;
+            this.redWeights = redWeights;
+            this.redDepth = redDepth;
+            this.blackWeights = blackWeights;
+            this.blackDepth = blackDepth;
+        }
+
+        public Character call() {
+            // Each engine searches its own copy of the position so that it
+            // sees it through its own weights.
+            Board red = PositionCodec.fromMoveString(opening, rows, columns,
+                                                     winLength),
+                  black = new Board(red);
+            red.setWeights(redWeights);
+            black.setWeights(blackWeights);
+            char player = opening.length() % 2 == 0 ? Board.MARK_RED
+                                                    : Board.MARK_BLACK;
+            for (int plays = opening.length(); plays < rows * columns;
+                    plays++) {
+                int col;
+                if (player == Board.MARK_RED) {
+                    col = new Minimax(red, redDepth).alphaBeta(player);
+                } else {
+                    col = new Minimax(black, blackDepth).alphaBeta(player);
+                }
+                red.set(col, player);
+                black.set(col, player);
+                char winner = red.getWinner();
+                if (winner != Board.UNMARKED) {
+                    return winner;
+                }
+                player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                  : Board.MARK_RED;
+            }
+            return Board.UNMARKED;
+        }
+    }
+
+    public static class MatchResult {
+        private int wins, draws, losses;
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+
+        public int getGames() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * Returns the fraction of points won by the first engine, counting
+         * a draw as half a point.
+         */
+        public double getScore() {
+            int games = getGames();
+            return games == 0 ? 0.5 : (wins + 0.5 * draws) / games;
+        }
+
+        public String toString() {
+            return "+" + wins + " =" + draws + " -" + losses
+                    + String.format(" (%.1f%%)", 100 * getScore());
+        }
+    }
+}
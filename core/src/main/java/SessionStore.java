@@ -0,0 +1,535 @@
+/**
+ * File: SessionStore.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the transposition table entries of the engine sessions on disk
+ * between runs, so that the openings played again and again are not
+ * searched from scratch at every launch. The default store is read at
+ * startup from the file named by the connectfour.cache system property,
+ * or from engine.cache in the working directory, and written back when
+ * the program exits. An empty property turns the store off.
+ *
+ * Entries are kept in sections, one for each board size and fingerprint
+ * of the evaluation the values were computed with, so that a game at
+ * another level or with another evaluation does not wipe out the entries
+ * of the others. There are at most MAX_SECTIONS; a new one replaces the
+ * section used least recently.
+ *
+ * The file is memory-mapped and has a fixed size. A header gives its
+ * version, the number of entries, a checksum over them and, for each
+ * section, its board size, fingerprint, number of entries and when it was
+ * last used. The entries follow, section by section. A file that fails
+ * any of these checks is ignored, as is any entry that is not well formed,
+ * so a damaged or outdated file costs nothing but the time to read it.
+ *
+ * Every new session is seeded with the entries of its section. When a
+ * session is done with, its entries are merged back: where both have an
+ * entry for the same key the session's is kept, and when there are more
+ * entries than the file holds, the shallowest of all sections are evicted
+ * first, since they are the cheapest to compute again.
+ */
+public class SessionStore {
+    public static final String FILE_PROPERTY = "connectfour.cache",
+                               DEFAULT_FILE = "engine.cache";
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 17, MAX_SECTIONS = 8;
+    private static final int MAGIC = 0x43344543, VERSION = 2,
+                             SECTION_BYTES = 32, ENTRY_BYTES = 16;
+    private static final int OFFSET_MAGIC = 0, OFFSET_VERSION = 4,
+                             OFFSET_SECTIONS = 8, OFFSET_COUNT = 12,
+                             OFFSET_CHECKSUM = 16, OFFSET_SECTION_TABLE = 24;
+    // Offsets within a section of the header.
+    private static final int SECTION_ROWS = 0, SECTION_COLUMNS = 4,
+                             SECTION_FINGERPRINT = 8, SECTION_COUNT = 16,
+                             SECTION_LAST_USE = 24;
+    // The entries start on a multiple of their size.
+    private static final int HEADER_BYTES =
+            (OFFSET_SECTION_TABLE + MAX_SECTIONS * SECTION_BYTES
+             + ENTRY_BYTES - 1) / ENTRY_BYTES * ENTRY_BYTES;
+    private static final long CHECKSUM_PRIME = 0x100000001b3L;
+    private static SessionStore defaultStore;
+
+    /**
+     * The entries computed for one board size and fingerprint.
+     */
+    private static final class Section {
+        final int rows, columns;
+        final long fingerprint;
+        long lastUse;
+
+        Section(int rows, int columns, long fingerprint, long lastUse) {
+            this.rows = rows;
+            this.columns = columns;
+            this.fingerprint = fingerprint;
+            this.lastUse = lastUse;
+        }
+    }
+
+    private final File file;
+    private final int maxEntries;
+    private final List<Section> sections = new ArrayList<Section>();
+    private int count;
+    private long clock;
+    private final long[] keys, entries;
+    // The section of each entry, as an index into sections.
+    private final int[] owners;
+    private EngineSession attached;
+    private long attachedFingerprint;
+
+    public SessionStore(File file, int maxEntries) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        keys = new long[maxEntries];
+        entries = new long[maxEntries];
+        owners = new int[maxEntries];
+    }
+
+    /**
+     * Returns the store used by the games, loading it on first use and
+     * arranging for it to be saved at exit, or null if it is turned off.
+     */
+    public static synchronized SessionStore getDefault() {
+        if (defaultStore == null) {
+            String filename = System.getProperty(FILE_PROPERTY, DEFAULT_FILE);
+            if (filename.length() == 0) {
+                return null;
+            }
+            final SessionStore store = new SessionStore(new File(filename),
+                                                        DEFAULT_MAX_ENTRIES);
+            try {
+                store.load();
+            } catch (IOException ioe) {
+                System.err.println("Warning: Cannot read the engine cache "
+                        + filename + ": " + ioe.getMessage());
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        store.save();
+                    } catch (IOException ioe) {
+                        System.err.println("Warning: Cannot write the engine"
+                                + " cache " + store.file + ": "
+                                + ioe.getMessage());
+                    }
+                }
+            });
+            defaultStore = store;
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Returns a fingerprint of what table values depend on besides the
+     * board size: the win length, the evaluation and its weights.
+     */
+    public static long getFingerprint(EvaluationWeights weights,
+                                      int evaluation) {
+        return getFingerprint(weights, evaluation, 0, 0);
+    }
+
+    /**
+     * Returns the fingerprint of a search that also extends threatening
+     * lines by up to the given number of plies and is as selective as
+     * given. Without either it is the fingerprint above, so tables saved
+     * before extensions and selective search stay valid.
+     */
+    public static long getFingerprint(EvaluationWeights weights,
+            int evaluation, int extensionBudget, int selectivity) {
+        long hash = weights.getWinLength();
+        hash = hash * 31 + evaluation;
+        hash = hash * 31 + weights.getTieScore();
+        hash = hash * 31 + Arrays.hashCode(weights.getIncrement());
+        hash = hash * 31 + Arrays.hashCode(weights.getToMoveIncrement());
+        if (extensionBudget != 0) {
+            hash = hash * 31 + extensionBudget;
+        }
+        if (selectivity != 0) {
+            // A different multiplier keeps it apart from the budget.
+            hash = hash * 37 + selectivity;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the number of entries stored, over all sections.
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of entries stored for the board size and
+     * fingerprint.
+     */
+    public synchronized int getCount(int rows, int columns,
+                                     long fingerprint) {
+        int section = findSection(rows, columns, fingerprint), n = 0;
+        for (int i = 0; i < count; i++) {
+            if (owners[i] == section) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Seeds the session with the stored entries computed for the same
+     * board size and fingerprint, and remembers the session so that its
+     * entries are merged back when the next session is attached or the
+     * store is saved. Returns the number of entries restored.
+     */
+    public synchronized int attach(EngineSession session, long fingerprint) {
+        detach();
+        attached = session;
+        attachedFingerprint = fingerprint;
+        int section = findSection(session.getRows(), session.getColumns(),
+                                  fingerprint);
+        if (section == -1) {
+            return 0;
+        }
+        sections.get(section).lastUse = ++clock;
+        int restored = 0;
+        for (int i = 0; i < count; i++) {
+            if (owners[i] == section) {
+                session.importEntry(keys[i], entries[i]);
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private int findSection(int rows, int columns, long fingerprint) {
+        for (int s = 0; s < sections.size(); s++) {
+            Section section = sections.get(s);
+            if (section.rows == rows && section.columns == columns
+                    && section.fingerprint == fingerprint) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Merges the entries of the attached session into its section,
+     * starting a section if there is none for its board size and
+     * fingerprint. The other sections are left as they are, but for the
+     * entries evicted to make room.
+     */
+    public synchronized void detach() {
+        if (attached == null) {
+            return;
+        }
+        EngineSession session = attached;
+        attached = null;
+        int section = findSection(session.getRows(), session.getColumns(),
+                                  attachedFingerprint);
+        if (section == -1) {
+            if (sections.size() == MAX_SECTIONS) {
+                removeLeastRecentlyUsed();
+            }
+            sections.add(new Section(session.getRows(), session.getColumns(),
+                                     attachedFingerprint, 0));
+            section = sections.size() - 1;
+        }
+        sections.get(section).lastUse = ++clock;
+        int capacity = session.getCapacity();
+        long[] mergedKeys = new long[capacity + count],
+               mergedEntries = new long[capacity + count];
+        int[] mergedOwners = new int[capacity + count];
+        int merged = session.exportEntries(mergedKeys, mergedEntries);
+        Arrays.fill(mergedOwners, 0, merged, section);
+        for (int i = 0; i < count; i++) {
+            if (owners[i] != section
+                    || session.lookup(keys[i]) == EngineSession.NO_ENTRY) {
+                mergedKeys[merged] = keys[i];
+                mergedEntries[merged] = entries[i];
+                mergedOwners[merged++] = owners[i];
+            }
+        }
+        count = selectDeepest(mergedKeys, mergedEntries, mergedOwners,
+                              merged);
+        removeEmptySections();
+    }
+
+    private void removeLeastRecentlyUsed() {
+        int oldest = 0;
+        for (int s = 1; s < sections.size(); s++) {
+            if (sections.get(s).lastUse < sections.get(oldest).lastUse) {
+                oldest = s;
+            }
+        }
+        removeSection(oldest);
+    }
+
+    private void removeEmptySections() {
+        int[] counts = new int[sections.size()];
+        for (int i = 0; i < count; i++) {
+            counts[owners[i]]++;
+        }
+        for (int s = sections.size() - 1; s >= 0; s--) {
+            if (counts[s] == 0) {
+                removeSection(s);
+            }
+        }
+    }
+
+    /**
+     * Drops the section and its entries, keeping the others in order.
+     */
+    private void removeSection(int section) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (owners[i] != section) {
+                keys[n] = keys[i];
+                entries[n] = entries[i];
+                owners[n++] = owners[i] > section ? owners[i] - 1
+                                                  : owners[i];
+            }
+        }
+        count = n;
+        sections.remove(section);
+    }
+
+    /**
+     * Keeps the deepest maxEntries of the entries, deepest first and in
+     * their original order within a depth. Returns the number kept.
+     */
+    private int selectDeepest(long[] fromKeys, long[] fromEntries,
+                              int[] fromOwners, int n) {
+        int[] next = new int[256];
+        for (int i = 0; i < n; i++) {
+            next[EngineSession.getDepth(fromEntries[i])]++;
+        }
+        int offset = 0;
+        for (int depth = next.length - 1; depth >= 0; depth--) {
+            int depthCount = next[depth];
+            next[depth] = offset;
+            offset += depthCount;
+        }
+        for (int i = 0; i < n; i++) {
+            int slot = next[EngineSession.getDepth(fromEntries[i])]++;
+            if (slot < maxEntries) {
+                keys[slot] = fromKeys[i];
+                entries[slot] = fromEntries[i];
+                owners[slot] = fromOwners[i];
+            }
+        }
+        return Math.min(n, maxEntries);
+    }
+
+    /**
+     * Reads the file into the store. A missing, outdated or damaged file
+     * leaves the store empty.
+     */
+    public synchronized void load() throws IOException {
+        count = 0;
+        sections.clear();
+        clock = 0;
+        if (!file.isFile() || file.length() < HEADER_BYTES) {
+            return;
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            MappedByteBuffer buffer = raf.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            int fileSections = buffer.getInt(OFFSET_SECTIONS),
+                fileCount = buffer.getInt(OFFSET_COUNT);
+            if (buffer.getInt(OFFSET_MAGIC) != MAGIC
+                    || buffer.getInt(OFFSET_VERSION) != VERSION
+                    || fileSections < 0 || fileSections > MAX_SECTIONS
+                    || fileCount < 0 || (long)fileCount * ENTRY_BYTES
+                       > raf.length() - HEADER_BYTES) {
+                return;
+            }
+            List<Section> fileSectionList = new ArrayList<Section>();
+            long checksum = 0;
+            int n = 0, i = 0;
+            for (int s = 0; s < fileSections; s++) {
+                int offset = OFFSET_SECTION_TABLE + s * SECTION_BYTES,
+                    rows = buffer.getInt(offset + SECTION_ROWS),
+                    columns = buffer.getInt(offset + SECTION_COLUMNS),
+                    sectionCount = buffer.getInt(offset + SECTION_COUNT);
+                if (sectionCount < 0 || sectionCount > fileCount - i) {
+                    return;
+                }
+                Section section = new Section(rows, columns,
+                        buffer.getLong(offset + SECTION_FINGERPRINT),
+                        buffer.getLong(offset + SECTION_LAST_USE));
+                for (int end = i + sectionCount; i < end; i++) {
+                    long key = buffer.getLong(HEADER_BYTES + i * ENTRY_BYTES),
+                         entry = buffer.getLong(HEADER_BYTES
+                                                + i * ENTRY_BYTES + 8);
+                    checksum = updateChecksum(checksum, key, entry);
+                    if (n < maxEntries && isWellFormed(entry, rows,
+                                                       columns)) {
+                        keys[n] = key;
+                        entries[n] = entry;
+                        owners[n++] = s;
+                    }
+                }
+                fileSectionList.add(section);
+            }
+            if (i != fileCount
+                    || checksum != buffer.getLong(OFFSET_CHECKSUM)) {
+                return;
+            }
+            sections.addAll(fileSectionList);
+            for (Section section : sections) {
+                clock = Math.max(clock, section.lastUse);
+            }
+            count = n;
+            removeEmptySections();
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static boolean isWellFormed(long entry, int rows, int columns) {
+        return EngineSession.isValid(entry)
+               && EngineSession.getDepth(entry) <= rows * columns
+               && EngineSession.getBestColumn(entry) < columns;
+    }
+
+    private static long updateChecksum(long checksum, long key, long entry) {
+        checksum = (checksum ^ key) * CHECKSUM_PRIME;
+        return (checksum ^ entry) * CHECKSUM_PRIME;
+    }
+
+    /**
+     * Merges the attached session, if any, and writes the store to the
+     * file. The header is invalidated while the entries are written and
+     * completed last, so that an interrupted write leaves a file that is
+     * ignored rather than one that is wrong.
+     */
+    public synchronized void save() throws IOException {
+        detach();
+        if (count == 0) {
+            return;
+        }
+        long size = HEADER_BYTES + (long)maxEntries * ENTRY_BYTES;
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            // The size never changes, so a mapping left over from load()
+            // does not stand in the way.
+            if (raf.length() != size) {
+                raf.setLength(size);
+            }
+            MappedByteBuffer buffer = raf.getChannel().map(
+                    FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(OFFSET_MAGIC, 0);
+            buffer.force();
+            long checksum = 0;
+            int n = 0;
+            for (int s = 0; s < sections.size(); s++) {
+                int start = n;
+                for (int i = 0; i < count; i++) {
+                    if (owners[i] == s) {
+                        buffer.putLong(HEADER_BYTES + n * ENTRY_BYTES,
+                                       keys[i]);
+                        buffer.putLong(HEADER_BYTES + n++ * ENTRY_BYTES + 8,
+                                       entries[i]);
+                        checksum = updateChecksum(checksum, keys[i],
+                                                  entries[i]);
+                    }
+                }
+                Section section = sections.get(s);
+                int offset = OFFSET_SECTION_TABLE + s * SECTION_BYTES;
+                buffer.putInt(offset + SECTION_ROWS, section.rows);
+                buffer.putInt(offset + SECTION_COLUMNS, section.columns);
+                buffer.putLong(offset + SECTION_FINGERPRINT,
+                               section.fingerprint);
+                buffer.putInt(offset + SECTION_COUNT, n - start);
+                buffer.putLong(offset + SECTION_LAST_USE, section.lastUse);
+            }
+            buffer.putInt(OFFSET_VERSION, VERSION);
+            buffer.putInt(OFFSET_SECTIONS, sections.size());
+            buffer.putInt(OFFSET_COUNT, count);
+            buffer.putLong(OFFSET_CHECKSUM, checksum);
+            buffer.force();
+            buffer.putInt(OFFSET_MAGIC, MAGIC);
+            buffer.force();
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Plays a computer against itself twice at the given depth, each time
+     * with a new session as in a new run of the program, the second time
+     * after the first game was saved to a store file and read back.
+     * Compares the boards analyzed for the first moves of each game. In
+     * between, a shallower game with the threat evaluation is played and
+     * saved, which must leave the entries of the first game in place.
+     */
+    public static void main(String[] args) throws IOException {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8,
+            moves = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        NumberFormat nf = NumberFormat.getInstance();
+        File file = File.createTempFile("engine", ".cache");
+        file.deleteOnExit();
+        Board board = new Board();
+        EvaluationWeights weights =
+                EvaluationWeights.getDefault(board.getWinLength());
+        String[] labels = { "Cold start: ", "Other evaluation: ",
+                            "Warm start: " };
+        for (int run = 0; run < labels.length; run++) {
+            int evaluation = run == 1 ? ConnectFourConfig.THREAT_EVALUATION
+                                      : ConnectFourConfig.WINDOW_EVALUATION,
+                runDepth = run == 1 ? Math.max(depth / 2, 1) : depth;
+            SessionStore store = new SessionStore(file, DEFAULT_MAX_ENTRIES);
+            long start = System.nanoTime();
+            store.load();
+            double loadMs = (System.nanoTime() - start) / 1e6;
+            EngineSession session = new EngineSession(board.getRows(),
+                                                      board.getColumns());
+            int restored = store.attach(session,
+                                        getFingerprint(weights, evaluation));
+            board.reset();
+            char player = Board.MARK_RED;
+            long boards = 0, firstBoards = 0;
+            start = System.nanoTime();
+            for (int plays = 0; plays < board.getRows() * board.getColumns();
+                    plays++) {
+                Minimax minimax = new Minimax(board, runDepth);
+                minimax.setEvaluation(evaluation);
+                minimax.setSession(session);
+                int col = minimax.alphaBeta(player);
+                boards += minimax.getBoardsAnalyzed();
+                if (plays < moves) {
+                    firstBoards += minimax.getBoardsAnalyzed();
+                }
+                board.set(col, player);
+                if (board.getWinner() != Board.UNMARKED) {
+                    break;
+                }
+                player = player == Board.MARK_RED ? Board.MARK_BLACK
+                                                  : Board.MARK_RED;
+            }
+            double ms = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            store.save();
+            double saveMs = (System.nanoTime() - start) / 1e6;
+            System.out.println(labels[run]
+                    + nf.format(restored) + " entries restored in "
+                    + String.format("%.1f ms", loadMs) + ", first " + moves
+                    + " moves " + nf.format(firstBoards) + " boards, game "
+                    + nf.format(boards) + " boards in "
+                    + String.format("%.0f ms", ms) + ", "
+                    + nf.format(store.getCount()) + " entries saved in "
+                    + String.format("%.1f ms", saveMs));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * File: Solver.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+
+/**
+ * Exact solver: tells whether the player to move wins, draws or loses
+ * with perfect play, independently of any evaluation function. Used to
+ * establish the correct moves of test positions.
+ *
+ * Positions are held as two bit masks, one of the checkers of the player
+ * to move and one of all checkers. Column c occupies bits c * (rows + 1)
+ * up to c * (rows + 1) + rows - 1, counted from the bottom, and the bit
+ * above each column stays empty so that lines cannot wrap from one column
+ * into the next. Boards therefore need (rows + 1) * columns <= 64.
+ *
+ * The search is a null-window negamax over the values -1, 0 and 1, with a
+ * transposition table, moves ordered by the number of threats they create,
+ * and immediate wins found without searching.
+ */
+public class Solver {
+    public static final int WIN = 1, DRAW = 0, LOSS = -1;
+    private static final int DEFAULT_TABLE_BITS = 22;
+    private static final byte EXACT = 1, LOWER_BOUND = 2, UPPER_BOUND = 3;
+
+    private final int rows, columns, winLength, height, cells;
+    private final long bottomMask, boardMask;
+    private final long[] columnMasks, bottoms;
+    private final int[] order;
+    private final long[] tableKeys;
+    private final byte[] tableValues;
+    private final int tableMask;
+    private long nodes;
+
+    public Solver(int rows, int columns, int winLength)
+            throws IllegalArgumentException {
+        this(rows, columns, winLength, DEFAULT_TABLE_BITS);
+    }
+
+    public Solver(int rows, int columns, int winLength, int tableBits)
+            throws IllegalArgumentException {
+        if (!supports(rows, columns)) {
+            throw new IllegalArgumentException("Board size " + columns + " x "
+                    + rows + " is too large to solve.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+        this.height = rows + 1;
+        this.cells = rows * columns;
+        columnMasks = new long[columns];
+        bottoms = new long[columns];
+        long bottom = 0;
+        for (int col = 0; col < columns; col++) {
+            bottoms[col] = 1L << (col * height);
+            columnMasks[col] = ((1L << rows) - 1) << (col * height);
+            bottom |= bottoms[col];
+        }
+        bottomMask = bottom;
+        boardMask = bottom * ((1L << rows) - 1);
+        // Center columns first, as they belong to the most lines.
+        order = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            order[i] = i;
+        }
+        for (int i = 1; i < columns; i++) {
+            for (int j = i; j > 0 && Math.abs(2 * order[j] - columns + 1)
+                    < Math.abs(2 * order[j - 1] - columns + 1); j--) {
+                int swap = order[j];
+                order[j] = order[j - 1];
+                order[j - 1] = swap;
+            }
+        }
+        tableKeys = new long[1 << tableBits];
+        tableValues = new byte[1 << tableBits];
+        tableMask = (1 << tableBits) - 1;
+    }
+
+    public static boolean supports(int rows, int columns) {
+        return (rows + 1) * columns <= 64;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns WIN, DRAW or LOSS for the player to move on the board, which
+     * must not already be won.
+     */
+    public int solve(Board board) {
+        long[] position = toPosition(board);
+        return solve(position[0], position[1], position[2]);
+    }
+
+    /**
+     * Returns the value of each column for the player to move on the board,
+     * or Integer.MIN_VALUE for full columns.
+     */
+    public int[] getColumnValues(Board board) {
+        long[] position = toPosition(board);
+        long current = position[0], mask = position[1];
+        int moves = (int)position[2];
+        int[] values = new int[columns];
+        for (int col = 0; col < columns; col++) {
+            if (!canPlay(mask, col)) {
+                values[col] = Integer.MIN_VALUE;
+            } else if (isWinningMove(current, mask, col)) {
+                values[col] = WIN;
+            } else {
+                long move = (mask + bottoms[col]) & columnMasks[col];
+                values[col] = -solve(current ^ mask, mask | move, moves + 1);
+            }
+        }
+        return values;
+    }
+
+    private long[] toPosition(Board board) {
+        long red = 0, black = 0;
+        int moves = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                char mark = board.get(row, col);
+                long bit = 1L << (col * height + rows - 1 - row);
+                if (mark == Board.MARK_RED) {
+                    red |= bit;
+                    moves++;
+                } else if (mark == Board.MARK_BLACK) {
+                    black |= bit;
+                    moves++;
+                }
+            }
+        }
+        long current = moves % 2 == 0 ? red : black;
+        return new long[] { current, red | black, moves };
+    }
+
+    private int solve(long current, long mask, long moves) {
+        if (moves >= cells) {
+            return DRAW;
+        }
+        // Null-window searches: first whether the player to move can win,
+        // then whether he can at least draw.
+        int value = negamax(current, mask, (int)moves, DRAW, WIN);
+        if (value > DRAW) {
+            return WIN;
+        }
+        return negamax(current, mask, (int)moves, LOSS, DRAW) > LOSS ? DRAW
+                                                                    : LOSS;
+    }
+
+    private boolean canPlay(long mask, int col) {
+        return (mask & columnMasks[col]) != columnMasks[col];
+    }
+
+    private boolean isWinningMove(long current, long mask, int col) {
+        long move = (mask + bottoms[col]) & columnMasks[col];
+        return (getWinningCells(current) & move) != 0;
+    }
+
+    /**
+     * Returns the empty cells that would complete a line of the player
+     * whose checkers are given.
+     */
+    private long getWinningCells(long player) {
+        long result = 0;
+        int[] shifts = { 1, height, height - 1, height + 1 };
+        for (int s : shifts) {
+            // The gap may be at any of the winLength places in the line.
+            for (int gap = 0; gap < winLength; gap++) {
+                long cellsMatched = ~0L;
+                for (int k = 0; k < winLength; k++) {
+                    if (k == gap) {
+                        continue;
+                    }
+                    int offset = (k - gap) * s;
+                    cellsMatched &= offset > 0 ? player >>> offset
+                                               : player << -offset;
+                }
+                result |= cellsMatched;
+            }
+        }
+        return result & boardMask & ~player;
+    }
+
+    private int negamax(long current, long mask, int moves, int alpha,
+                        int beta) {
+        nodes++;
+        long possible = (mask + bottomMask) & boardMask;
+        long opponent = current ^ mask;
+        if ((getWinningCells(current) & possible) != 0) {
+            return WIN;
+        }
+        if (moves + 1 >= cells) {
+            // The last checker does not win.
+            return DRAW;
+        }
+
+        long key = current + mask;
+        int index = (int)(key ^ (key >>> 29)) & tableMask;
+        if (tableKeys[index] == key && tableValues[index] != 0) {
+            int stored = tableValues[index] >> 2,
+                flag = tableValues[index] & 3;
+            if (flag == EXACT) {
+                return stored;
+            } else if (flag == LOWER_BOUND) {
+                alpha = Math.max(alpha, stored);
+            } else {
+                beta = Math.min(beta, stored);
+            }
+            if (alpha >= beta) {
+                return stored;
+            }
+        }
+
+        int alphaOrig = alpha;
+        int[] moveOrder = new int[columns], scores = new int[columns];
+        int count = 0;
+        for (int i = 0; i < columns; i++) {
+            int col = order[i];
+            if (!canPlay(mask, col)) {
+                continue;
+            }
+            long move = possible & columnMasks[col];
+            int score = Long.bitCount(getWinningCells(current | move)
+                                      & ~(mask | move));
+            int j = count++;
+            while (j > 0 && scores[j - 1] < score) {
+                moveOrder[j] = moveOrder[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            moveOrder[j] = col;
+            scores[j] = score;
+        }
+        int best = LOSS;
+        for (int i = 0; i < count; i++) {
+            long move = possible & columnMasks[moveOrder[i]];
+            int value = -negamax(opponent, mask | move, moves + 1, -beta,
+                                 -alpha);
+            if (value > best) {
+                best = value;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        byte flag = best <= alphaOrig ? UPPER_BOUND
+                    : best >= beta ? LOWER_BOUND : EXACT;
+        tableKeys[index] = key;
+        tableValues[index] = (byte)((best << 2) | flag);
+        return best;
+    }
+}
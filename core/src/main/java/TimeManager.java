@@ -0,0 +1,178 @@
+/**
+ * File: TimeManager.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+
+/**
+ * Keeps both players' clocks and decides how long the computer may think.
+ *
+ * For each computer move the manager sets two deadlines. The soft deadline
+ * is the time the move should take: iterative deepening does not start an
+ * iteration it expects to finish after it. The hard deadline is the time
+ * the move must not exceed: the search is abandoned when it is reached.
+ * Both leave a safety margin so that the flag never falls while the engine
+ * is thinking.
+ *
+ * Under a game clock the time left is shared out over the moves left,
+ * giving more to the middlegame, where the search is widest and the game
+ * is usually decided, and less to the opening and to the endgame, where
+ * the search soon reaches the end of the game.
+ */
+public class TimeManager {
+    private static final long NANOS_PER_MILLI = 1000000L,
+                              MAX_MARGIN = 50, MIN_MOVE_TIME = 5;
+    private static final int MIN_MOVES_TO_GO = 4;
+
+    private final int timeControl;
+    private final long baseTime, increment;
+    private long redRemaining, blackRemaining, moveStart, softDeadline,
+                 hardDeadline;
+    private char running;
+
+    public TimeManager(ConnectFourConfig config) {
+        this(config.getTimeControl(), config.getBaseTime(),
+             config.getIncrement());
+    }
+
+    public TimeManager(int timeControl, long baseTime, long increment) {
+        this.timeControl = timeControl;
+        this.baseTime = baseTime;
+        this.increment = increment;
+        this.redRemaining = this.blackRemaining = baseTime;
+        this.running = Board.UNMARKED;
+    }
+
+    public boolean isEnabled() {
+        return timeControl != ConnectFourConfig.NO_TIME_CONTROL;
+    }
+
+    /**
+     * Starts the player's clock and works out the deadlines for the move,
+     * given the number of checkers already played and the number of cells.
+     */
+    public synchronized void startClock(char player, int plays, int maxPlays) {
+        running = player;
+        moveStart = System.nanoTime();
+        long remaining = getStoredRemaining(player);
+        long margin = Math.min(MAX_MARGIN, remaining / 10),
+             hard = Math.max(remaining - margin, 0),
+             soft;
+        if (timeControl == ConnectFourConfig.TIME_PER_GAME) {
+            int movesToGo = Math.max((maxPlays - plays + 1) >> 1,
+                                     MIN_MOVES_TO_GO);
+            soft = (long)((remaining / movesToGo + increment)
+                          * getPhaseFactor(plays, maxPlays));
+            // Never bet more than a third of the clock on one move. The
+            // increment is only added once the move is made, so it does not
+            // raise the cap; the soft time, which counts it, is cut to fit.
+            hard = Math.min(hard, remaining / 3);
+        } else {
+            soft = hard;
+        }
+        soft = Math.max(Math.min(soft, hard), Math.min(MIN_MOVE_TIME, hard));
+        softDeadline = moveStart + soft * NANOS_PER_MILLI;
+        hardDeadline = moveStart + hard * NANOS_PER_MILLI;
+    }
+
+    private static double getPhaseFactor(int plays, int maxPlays) {
+        double phase = (double)plays / maxPlays;
+        if (phase < 0.15) {
+            return 0.6;
+        } else if (phase < 0.6) {
+            return 1.4;
+        }
+        return 0.9;
+    }
+
+    /**
+     * Stops the running clock, charges the player for the move and adds the
+     * increment. Returns the time the move took in milliseconds.
+     */
+    public synchronized long stopClock() {
+        if (running == Board.UNMARKED) {
+            return 0;
+        }
+        long elapsed = (System.nanoTime() - moveStart) / NANOS_PER_MILLI;
+        if (timeControl == ConnectFourConfig.TIME_PER_GAME) {
+            if (running == Board.MARK_RED) {
+                redRemaining = redRemaining - elapsed + increment;
+            } else {
+                blackRemaining = blackRemaining - elapsed + increment;
+            }
+        }
+        running = Board.UNMARKED;
+        return elapsed;
+    }
+
+    private long getStoredRemaining(char player) {
+        if (timeControl == ConnectFourConfig.TIME_PER_MOVE) {
+            return baseTime;
+        }
+        return player == Board.MARK_RED ? redRemaining : blackRemaining;
+    }
+
+    /**
+     * Returns the time the player has left in milliseconds: on the game
+     * clock, or for the current move under a time per move.
+     */
+    public synchronized long getRemaining(char player) {
+        long remaining = getStoredRemaining(player);
+        if (player == running) {
+            remaining -= (System.nanoTime() - moveStart) / NANOS_PER_MILLI;
+        }
+        return remaining;
+    }
+
+    /**
+     * Returns true if the player has run out of time on a game clock. A
+     * time per move only binds the computer, so no one loses on time.
+     */
+    public boolean isFlagged(char player) {
+        return timeControl == ConnectFourConfig.TIME_PER_GAME
+               && getRemaining(player) <= 0;
+    }
+
+    public synchronized long getSoftDeadline() {
+        return softDeadline;
+    }
+
+    public synchronized long getHardDeadline() {
+        return hardDeadline;
+    }
+
+    public String getClockText() {
+        if (!isEnabled()) {
+            return "";
+        }
+        return Board.RED + " " + format(getRemaining(Board.MARK_RED)) + "  "
+                + Board.BLACK + " " + format(getRemaining(Board.MARK_BLACK));
+    }
+
+    /**
+     * Formats milliseconds as m:ss.s, or ss.s under a minute.
+     */
+    public static String format(long ms) {
+        if (ms < 0) {
+            ms = 0;
+        }
+        long tenths = ms / 100, minutes = tenths / 600;
+        tenths %= 600;
+        String seconds = (tenths / 10) + "." + (tenths % 10);
+        if (minutes == 0) {
+            return seconds;
+        }
+        return minutes + ":" + (tenths < 100 ? "0" : "") + seconds;
+    }
+
+    public static String getDescription(int timeControl, long baseTime,
+                                        long increment) {
+        if (timeControl == ConnectFourConfig.TIME_PER_MOVE) {
+            return format(baseTime) + " s per move";
+        } else if (timeControl == ConnectFourConfig.TIME_PER_GAME) {
+            return format(baseTime) + " + " + format(increment);
+        }
+        return "No time control";
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * File: WindowTable.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed lines of cells examined by Board for one combination of board
+ * size and win length. Cells are numbered row * columns + column.
+ *
+ * Tables are immutable and shared by every board of the same shape, so the
+ * search pays nothing per node for supporting arbitrary win lengths.
+ */
+class WindowTable {
+    private static final Map<Integer, WindowTable> tables =
+            new HashMap<Integer, WindowTable>();
+
+    /**
+     * Every window of winLength cells on the board, winLength entries per
+     * window, in the order Board.getWinner() scans them: rows, columns,
+     * major diagonals, minor diagonals.
+     */
+    final int[] windows;
+
+    /**
+     * For each cell, the windows scored by Board.getHeuristicScore() when a
+     * checker lands there, each written as three values: its first cell,
+     * the step between its cells and its length. They are the row windows
+     * through the cell, the part of the column from the cell down, and every
+     * window on the two diagonals through the cell.
+     */
+    final int[][] cellWindows;
+
+    private WindowTable(int rows, int columns, int winLength) {
+        int last = winLength - 1;
+        int count = rows * (columns - last) + columns * (rows - last)
+                    + 2 * (rows - last) * (columns - last);
+        windows = new int[count * winLength];
+        int i = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = last; col < columns; col++) {
+                for (int val = 0; val < winLength; val++) {
+                    windows[i++] = row * columns + col - val;
+                }
+            }
+        }
+        for (int col = 0; col < columns; col++) {
+            for (int row = last; row < rows; row++) {
+                for (int val = 0; val < winLength; val++) {
+                    windows[i++] = (row - val) * columns + col;
+                }
+            }
+        }
+        for (int row = rows - winLength; row >= 0; row--) {
+            for (int col = columns - winLength; col >= 0; col--) {
+                for (int val = last; val >= 0; val--) {
+                    windows[i++] = (row + val) * columns + col + val;
+                }
+            }
+        }
+        for (int row = rows - winLength; row >= 0; row--) {
+            for (int col = columns - winLength; col >= 0; col--) {
+                for (int val = last; val >= 0; val--) {
+                    windows[i++] = (row + val) * columns + col - val + last;
+                }
+            }
+        }
+
+        cellWindows = new int[rows * columns][];
+        int[] buffer = new int[3 * 4 * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                i = 0;
+                // Row
+                int colEnd = Math.min(col, columns - winLength);
+                for (int c = Math.max(col - last, 0); c <= colEnd; c++) {
+                    buffer[i++] = row * columns + c;
+                    buffer[i++] = 1;
+                    buffer[i++] = winLength;
+                }
+                // Column, from the cell down
+                buffer[i++] = row * columns + col;
+                buffer[i++] = columns;
+                buffer[i++] = Math.min(rows, row + winLength) - row;
+                // Major diagonal
+                int minValue = Math.min(row, col);
+                for (int r = row - minValue, c = col - minValue;
+                        r <= rows - winLength && c <= columns - winLength;
+                        r++, c++) {
+                    buffer[i++] = r * columns + c;
+                    buffer[i++] = columns + 1;
+                    buffer[i++] = winLength;
+                }
+                // Minor diagonal
+                minValue = Math.min(rows - 1 - row, col);
+                for (int r = row + minValue, c = col - minValue;
+                        r >= last && c <= columns - winLength; r--, c++) {
+                    buffer[i++] = r * columns + c;
+                    buffer[i++] = 1 - columns;
+                    buffer[i++] = winLength;
+                }
+                int[] entry = new int[i];
+                System.arraycopy(buffer, 0, entry, 0, i);
+                cellWindows[row * columns + col] = entry;
+            }
+        }
+    }
+
+    static synchronized WindowTable getInstance(int rows, int columns,
+                                                int winLength) {
+        Integer key = (rows << 16) | (columns << 8) | winLength;
+        WindowTable table = tables.get(key);
+        if (table == null) {
+            table = new WindowTable(rows, columns, winLength);
+            tables.put(key, table);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * File: Application.java
+ * Author: Brian Borowski
+ * Date created: May 1999
+ * Date last modified: October 19, 2026
+ */
+import java.lang.management.ManagementFactory;
+
+/**
+ * Main class for starting the application.
+ */
+public class Application {
+    public static final String NAME = "Connect Four";
+    public static final String TIMING_PROPERTY = "connectfour.timing";
+
+    /**
+     * Default constructor.
+     * Creates an instance of the gui.
+     */
+    public Application() {
+        new GUI(null);
+    }
+
+    /**
+     * Main method.
+     * Creates an instance of the application.
+     */
+    public static void main(final String[] args) {
+        System.setProperty("apple.laf.useScreenMenuBar", "true");
+        System.setProperty("com.apple.mrj.application.apple.menu.about.name",
+                Application.NAME);
+        // Read the engine cache while the window is being created, before
+        // the first game needs it.
+        new Thread() {
+            public void run() {
+                SessionStore.getDefault();
+            }
+        }.start();
+        new Application();
+    }
+
+    /**
+     * Prints how long after the virtual machine started a step of startup
+     * was reached, if the system property connectfour.timing is true, so
+     * that the time to the first frame can be tracked.
+     */
+    public static void reportStartup(String step) {
+        if (Boolean.getBoolean(TIMING_PROPERTY)) {
+            System.err.println(step + " after "
+                    + ManagementFactory.getRuntimeMXBean().getUptime()
+                    + " ms.");
+        }
+    }
+}
@@ -2,7 +2,7 @@
  * File: GUI.java
  * Author: Brian Borowski
  * Date created: August 27, 2012
- * Date last modified: August 6, 2014
+ * Date last modified: October 19, 2026
  */
 import java.awt.BorderLayout;
 import java.awt.Container;
@@ -37,13 +37,34 @@ public class GUI extends JFrame {
     private final ApplicationStarter applicationStarter;
     private final ConnectFourConfig config;
     private final GamePanel gamePanel;
-    private final JLabel statusLabel, gameTypeDifficultyLabel;
+    private final JLabel statusLabel, gameTypeDifficultyLabel, clockLabel;
     private JRadioButtonMenuItem humanComputerItem, computerHumanItem,
             twoPlayerItem, beginnerItem, intermediateItem, advancedItem,
             expertItem, selectedGameType, selectedDifficultyLevel;
-    private JCheckBoxMenuItem showMoveNumbersItem;
+    private JRadioButtonMenuItem selectedBoardSize, selectedWinLength,
+            selectedTimeControl;
+    private JRadioButtonMenuItem[] boardSizeItems, winLengthItems,
+            timeControlItems;
+    private JCheckBoxMenuItem showMoveNumbersItem, showHintsItem,
+                              monteCarloItem;
     private JMenu difficultyLevelMenu;
-    private ButtonGroup gameTypeGroup, difficultyLevelGroup;
+    private ButtonGroup gameTypeGroup, difficultyLevelGroup, boardSizeGroup,
+            winLengthGroup, timeControlGroup;
+
+    // Columns x rows, as board sizes are usually quoted.
+    private static final int[][] BOARD_SIZES =
+        { {7, 6}, {8, 7}, {9, 7}, {10, 10} };
+
+    // Time control, base time and increment in milliseconds.
+    private static final long[][] TIME_CONTROLS = {
+        { ConnectFourConfig.NO_TIME_CONTROL, 0, 0 },
+        { ConnectFourConfig.TIME_PER_MOVE, 1000, 0 },
+        { ConnectFourConfig.TIME_PER_MOVE, 5000, 0 },
+        { ConnectFourConfig.TIME_PER_GAME, 60000, 1000 },
+        { ConnectFourConfig.TIME_PER_GAME, 300000, 3000 } };
+    private static final String[] TIME_CONTROL_NAMES = {
+        "None", "1 Second per Move", "5 Seconds per Move",
+        "1 Minute + 1 Second", "5 Minutes + 3 Seconds" };
 
     public GUI(final ApplicationStarter appStarter) {
         super(Application.NAME);
@@ -55,6 +76,7 @@ public class GUI extends JFrame {
 
         statusLabel = new JLabel("Welcome to " + Application.NAME + ".");
         gameTypeDifficultyLabel = new JLabel(getGameTypeDifficultyStatus());
+        clockLabel = new JLabel();
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(0, 2, 0, 2);
         gbc.weightx = 1;
@@ -69,11 +91,16 @@ public class GUI extends JFrame {
         statusPanel2.setBorder(new BevelBorder(BevelBorder.LOWERED));
         statusPanel2.add(gameTypeDifficultyLabel, gbc);
         statusPanel2.setPreferredSize(new Dimension(190, 25));
+        final JPanel statusPanel3 = new JPanel();
+        statusPanel3.setLayout(new GridBagLayout());
+        statusPanel3.setBorder(new BevelBorder(BevelBorder.LOWERED));
+        statusPanel3.add(clockLabel, gbc);
+        statusPanel3.setPreferredSize(new Dimension(160, 25));
 
         final JPanel statusPanel = new JPanel();
         statusPanel.setLayout(new GridBagLayout());
         gbc.insets = new Insets(1, 0, 0, 0);
-        gbc.weightx = 0.7;
+        gbc.weightx = 0.5;
         gbc.weighty = 0;
         gbc.gridx = 0;
         gbc.gridy = 0;
@@ -81,12 +108,15 @@ public class GUI extends JFrame {
         gbc.gridwidth = GridBagConstraints.RELATIVE;
         gbc.fill = GridBagConstraints.BOTH;
         statusPanel.add(statusPanel1, gbc);
-        gbc.weightx = 0.3;
+        gbc.weightx = 0.25;
         gbc.gridx = 1;
-        gbc.gridwidth = GridBagConstraints.REMAINDER;
         statusPanel.add(statusPanel2, gbc);
+        gbc.gridx = 2;
+        gbc.gridwidth = GridBagConstraints.REMAINDER;
+        statusPanel.add(statusPanel3, gbc);
 
-        gamePanel = new GamePanel(config, statusLabel);
+        gamePanel = new GamePanel(config, statusLabel, clockLabel);
+        gamePanel.updateClock();
 
         final Container contentPane = getContentPane();
         contentPane.add(gamePanel, BorderLayout.CENTER);
@@ -99,6 +129,7 @@ public class GUI extends JFrame {
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
+        Application.reportStartup("Window shown");
         setFocusable(true);
         requestFocus();
         gamePanel.requestFocusInWindow(); // Must request focus to receive key events.
@@ -130,6 +161,9 @@ public class GUI extends JFrame {
                     builder.append(", Expert");
                     break;
             }
+            if (config.getEngine() == ConnectFourConfig.MONTE_CARLO) {
+                builder.append(", MCTS");
+            }
         }
         return builder.toString();
     }
@@ -146,6 +180,11 @@ public class GUI extends JFrame {
         newGame.setMnemonic(KeyEvent.VK_N);
         newGame.addActionListener(new NewActionListener());
         fileMenu.add(newGame);
+
+        final JMenuItem analyzeGame = new JMenuItem("Analyze Game");
+        analyzeGame.setMnemonic(KeyEvent.VK_A);
+        analyzeGame.addActionListener(new AnalyzeActionListener(this));
+        fileMenu.add(analyzeGame);
         fileMenu.add(new JSeparator());
 
         final JMenuItem exitItem = new JMenuItem("Exit");
@@ -201,6 +240,11 @@ public class GUI extends JFrame {
         difficultyLevelMenu.add(intermediateItem);
         difficultyLevelMenu.add(advancedItem);
         difficultyLevelMenu.add(expertItem);
+        difficultyLevelMenu.add(new JSeparator());
+        monteCarloItem = new JCheckBoxMenuItem("Monte Carlo Tree Search");
+        monteCarloItem.setMnemonic('M');
+        monteCarloItem.addActionListener(new MonteCarloActionListener(this));
+        difficultyLevelMenu.add(monteCarloItem);
 
         difficultyLevelGroup = new ButtonGroup();
         difficultyLevelGroup.add(beginnerItem);
@@ -208,13 +252,79 @@ public class GUI extends JFrame {
         difficultyLevelGroup.add(advancedItem);
         difficultyLevelGroup.add(expertItem);
 
+        final JMenu boardSizeMenu = new JMenu("Board Size");
+        boardSizeMenu.setMnemonic('S');
+        boardSizeItems = new JRadioButtonMenuItem[BOARD_SIZES.length];
+        boardSizeGroup = new ButtonGroup();
+        for (int i = 0; i < BOARD_SIZES.length; i++) {
+            int columns = BOARD_SIZES[i][0], rows = BOARD_SIZES[i][1];
+            boolean selected = rows == config.getRows()
+                               && columns == config.getColumns();
+            boardSizeItems[i] = new JRadioButtonMenuItem(
+                    columns + " x " + rows, selected);
+            boardSizeItems[i].addActionListener(
+                    new BoardSizeActionListener(this));
+            if (selected) {
+                selectedBoardSize = boardSizeItems[i];
+            }
+            boardSizeMenu.add(boardSizeItems[i]);
+            boardSizeGroup.add(boardSizeItems[i]);
+        }
+
+        final JMenu winLengthMenu = new JMenu("Win Length");
+        winLengthMenu.setMnemonic('W');
+        winLengthItems = new JRadioButtonMenuItem[
+                Board.MAX_WIN_LENGTH - Board.MIN_WIN_LENGTH + 1];
+        winLengthGroup = new ButtonGroup();
+        for (int i = 0; i < winLengthItems.length; i++) {
+            int winLength = Board.MIN_WIN_LENGTH + i;
+            boolean selected = winLength == config.getWinLength();
+            winLengthItems[i] = new JRadioButtonMenuItem(
+                    "Connect " + winLength, selected);
+            winLengthItems[i].setMnemonic('0' + winLength);
+            winLengthItems[i].addActionListener(
+                    new WinLengthActionListener(this));
+            if (selected) {
+                selectedWinLength = winLengthItems[i];
+            }
+            winLengthMenu.add(winLengthItems[i]);
+            winLengthGroup.add(winLengthItems[i]);
+        }
+
+        final JMenu timeControlMenu = new JMenu("Time Control");
+        timeControlMenu.setMnemonic('T');
+        timeControlItems = new JRadioButtonMenuItem[TIME_CONTROLS.length];
+        timeControlGroup = new ButtonGroup();
+        for (int i = 0; i < TIME_CONTROLS.length; i++) {
+            boolean selected = TIME_CONTROLS[i][0] == config.getTimeControl()
+                    && TIME_CONTROLS[i][1] == config.getBaseTime()
+                    && TIME_CONTROLS[i][2] == config.getIncrement();
+            timeControlItems[i] = new JRadioButtonMenuItem(
+                    TIME_CONTROL_NAMES[i], selected);
+            timeControlItems[i].addActionListener(
+                    new TimeControlActionListener(this));
+            if (selected) {
+                selectedTimeControl = timeControlItems[i];
+            }
+            timeControlMenu.add(timeControlItems[i]);
+            timeControlGroup.add(timeControlItems[i]);
+        }
+
         showMoveNumbersItem = new JCheckBoxMenuItem("Show Move Numbers");
         showMoveNumbersItem.setMnemonic(KeyEvent.VK_N);
         showMoveNumbersItem.addActionListener(new ShowMoveNumbersActionListener());
 
+        showHintsItem = new JCheckBoxMenuItem("Show Hints");
+        showHintsItem.setMnemonic(KeyEvent.VK_H);
+        showHintsItem.addActionListener(new ShowHintsActionListener());
+
         optionsMenu.add(gameTypeMenu);
         optionsMenu.add(difficultyLevelMenu);
+        optionsMenu.add(boardSizeMenu);
+        optionsMenu.add(winLengthMenu);
+        optionsMenu.add(timeControlMenu);
         optionsMenu.add(showMoveNumbersItem);
+        optionsMenu.add(showHintsItem);
 
         final JMenuItem aboutItem = new JMenuItem("About");
         aboutItem.setMnemonic('A');
@@ -279,6 +389,24 @@ public class GUI extends JFrame {
         }
     }
 
+    class AnalyzeActionListener implements ActionListener {
+        private final JFrame parent;
+
+        public AnalyzeActionListener(final JFrame parent) {
+            this.parent = parent;
+        }
+
+        public void actionPerformed(final ActionEvent e) {
+            if (gamePanel.isRunning()) {
+                JOptionPane.showMessageDialog(parent,
+                        "Finish the game before analyzing it.",
+                        Application.NAME, JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            gamePanel.analyzeGame();
+        }
+    }
+
     class GameTypeActionListener implements ActionListener {
         private JFrame parent;
 
@@ -357,6 +485,8 @@ public class GUI extends JFrame {
                 config.setDifficulty(ConnectFourConfig.EXPERT);
                 selectedDifficultyLevel = expertItem;
             }
+            monteCarloItem.setState(
+                    config.getEngine() == ConnectFourConfig.MONTE_CARLO);
             gameTypeDifficultyLabel.setText(getGameTypeDifficultyStatus());
             if (isRunning) {
                 gamePanel.reset();
@@ -364,6 +494,149 @@ public class GUI extends JFrame {
         }
     }
     
+    class MonteCarloActionListener implements ActionListener {
+        private JFrame parent;
+
+        public MonteCarloActionListener(JFrame parent) {
+            this.parent = parent;
+        }
+
+        public void actionPerformed(final ActionEvent e) {
+            int choice = 0;
+            boolean isRunning = gamePanel.isRunning();
+            if (isRunning) {
+                choice = JOptionPane.showConfirmDialog(parent,
+                        "Changing the engine at this time will\n"
+                                + "require you to abort the current game.\n"
+                                + "Abort game and apply settings now?\n",
+                        "Question", JOptionPane.YES_NO_OPTION);
+                if (choice == JOptionPane.NO_OPTION) {
+                    monteCarloItem.setState(config.getEngine()
+                            == ConnectFourConfig.MONTE_CARLO);
+                    return;
+                }
+            }
+            config.setEngine(config.getDifficultyLevel(),
+                    monteCarloItem.getState() ? ConnectFourConfig.MONTE_CARLO
+                                              : ConnectFourConfig.MINIMAX);
+            gameTypeDifficultyLabel.setText(getGameTypeDifficultyStatus());
+            if (isRunning) {
+                gamePanel.reset();
+            }
+        }
+    }
+
+    class BoardSizeActionListener implements ActionListener {
+        private JFrame parent;
+
+        public BoardSizeActionListener(JFrame parent) {
+            this.parent = parent;
+        }
+
+        public void actionPerformed(final ActionEvent e) {
+            int choice = 0;
+            boolean isRunning = gamePanel.isRunning();
+            if (isRunning) {
+                choice = JOptionPane.showConfirmDialog(parent,
+                        "Changing the board size at this time will\n"
+                                + "require you to abort the current game.\n"
+                                + "Abort game and apply settings now?\n",
+                        "Question", JOptionPane.YES_NO_OPTION);
+                if (choice == JOptionPane.NO_OPTION) {
+                    selectedBoardSize.setSelected(true);
+                    return;
+                }
+                gamePanel.stopGame();
+            }
+            Object o = e.getSource();
+            for (int i = 0; i < boardSizeItems.length; i++) {
+                if (o == boardSizeItems[i]) {
+                    config.setBoardSize(BOARD_SIZES[i][1], BOARD_SIZES[i][0]);
+                    selectedBoardSize = boardSizeItems[i];
+                }
+            }
+            if (gamePanel.updateSize()) {
+                pack();
+                setLocationRelativeTo(null);
+            }
+            gamePanel.repaint();
+            if (isRunning) {
+                gamePanel.reset();
+            }
+        }
+    }
+
+    class WinLengthActionListener implements ActionListener {
+        private JFrame parent;
+
+        public WinLengthActionListener(JFrame parent) {
+            this.parent = parent;
+        }
+
+        public void actionPerformed(final ActionEvent e) {
+            int choice = 0;
+            boolean isRunning = gamePanel.isRunning();
+            if (isRunning) {
+                choice = JOptionPane.showConfirmDialog(parent,
+                        "Changing the win length at this time will\n"
+                                + "require you to abort the current game.\n"
+                                + "Abort game and apply settings now?\n",
+                        "Question", JOptionPane.YES_NO_OPTION);
+                if (choice == JOptionPane.NO_OPTION) {
+                    selectedWinLength.setSelected(true);
+                    return;
+                }
+            }
+            Object o = e.getSource();
+            for (int i = 0; i < winLengthItems.length; i++) {
+                if (o == winLengthItems[i]) {
+                    config.setWinLength(Board.MIN_WIN_LENGTH + i);
+                    selectedWinLength = winLengthItems[i];
+                }
+            }
+            if (isRunning) {
+                gamePanel.reset();
+            }
+        }
+    }
+
+    class TimeControlActionListener implements ActionListener {
+        private JFrame parent;
+
+        public TimeControlActionListener(JFrame parent) {
+            this.parent = parent;
+        }
+
+        public void actionPerformed(final ActionEvent e) {
+            int choice = 0;
+            boolean isRunning = gamePanel.isRunning();
+            if (isRunning) {
+                choice = JOptionPane.showConfirmDialog(parent,
+                        "Changing the time control at this time will\n"
+                                + "require you to abort the current game.\n"
+                                + "Abort game and apply settings now?\n",
+                        "Question", JOptionPane.YES_NO_OPTION);
+                if (choice == JOptionPane.NO_OPTION) {
+                    selectedTimeControl.setSelected(true);
+                    return;
+                }
+            }
+            Object o = e.getSource();
+            for (int i = 0; i < timeControlItems.length; i++) {
+                if (o == timeControlItems[i]) {
+                    config.setTimeControl((int)TIME_CONTROLS[i][0],
+                            TIME_CONTROLS[i][1], TIME_CONTROLS[i][2]);
+                    selectedTimeControl = timeControlItems[i];
+                }
+            }
+            if (isRunning) {
+                gamePanel.reset();
+            } else {
+                gamePanel.updateClock();
+            }
+        }
+    }
+
     class ShowMoveNumbersActionListener implements ActionListener {
 
         public void actionPerformed(final ActionEvent e) {
@@ -372,6 +645,13 @@ public class GUI extends JFrame {
         }
     }
 
+    class ShowHintsActionListener implements ActionListener {
+
+        public void actionPerformed(final ActionEvent e) {
+            gamePanel.setShowHints(showHintsItem.getState());
+        }
+    }
+
     class AboutActionListener implements ActionListener {
         private final JFrame parent;
 
@@ -0,0 +1,793 @@
+/**
+ * File: GamePanel.java
+ * Author: Brian Borowski
+ * Date created: August 27, 2012
+ * Date last modified: October 19, 2026
+ */
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+public class GamePanel extends JPanel implements KeyListener, Runnable {
+    private static final long serialVersionUID = 1L;
+    private static final NumberFormat nf = NumberFormat.getInstance();
+    private static final int CLOCK_INTERVAL = 100, BLUNDER_INSET = 6,
+                             WIN = Integer.MAX_VALUE - 1;
+
+    // Drawn in place of the sprites until the atlas is loaded.
+    private static final Color[] PLACEHOLDER_COLORS = {
+            new Color(0x1c4fa8), Color.BLACK, Color.RED, Color.GRAY,
+            Color.PINK };
+    private static final int PLACEHOLDER_INSET = 5;
+
+    private volatile SpriteAtlas atlas;
+    private final int cellSize;
+    private boolean isFirstFrame = true;
+    private int rows, columns, width, height;
+    private final Font largeFont = new Font("Dialog", Font.PLAIN, 40),
+                       smallFont = new Font("Dialog", Font.BOLD, 15),
+                       numberFont = new Font("Dialog", Font.BOLD, 14),
+                       hintFont = new Font("Dialog", Font.BOLD, 12);
+    private final String[] help = {
+            "Use the LEFT and RIGHT arrows to position the checker.",
+            "Use the DOWN arrow to drop the checker.",
+            "Go to File -> New Game to start playing." };
+
+    private ConnectFour connectFour;
+    // The board as last played, for drawing; replaced after every move.
+    private volatile BoardSnapshot snapshot;
+    private volatile char movingPlayer;
+    private boolean isPlayerTurn, isComputerTurn, displayHelp, showMoveNumbers;
+    private volatile boolean showHints;
+    private volatile boolean isRunning, isChoiceMade;
+    private int checkerColumn, yCoord;
+    private ConnectFourConfig config;
+    private Thread thread;
+    private JLabel statusLabel, clockLabel;
+    private final Timer clockTimer;
+    private String resultString;
+    private volatile Cell[] blunderCells;
+    private volatile boolean isAnalyzing;
+    private HintSearch hintSearch;
+    // Hint searches cancelled but perhaps still running.
+    private final List<HintSearch> cancelledHints =
+            new ArrayList<HintSearch>();
+    private volatile int[] hintScores;
+
+    public GamePanel(ConnectFourConfig config, JLabel statusLabel,
+                     JLabel clockLabel) {
+        this.config = config;
+        this.statusLabel = statusLabel;
+        this.clockLabel = clockLabel;
+        clockTimer = new Timer(CLOCK_INTERVAL, new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                updateClock();
+            }
+        });
+        cellSize = SpriteAtlas.SIZE;
+        loadSprites();
+        displayHelp = true;
+        updateSize();
+        addKeyListener(this);
+        setFocusable(true);
+        repaint();
+    }
+
+    /**
+     * Decodes the sprite atlas on a background thread, so that the window
+     * can be shown at once. The board is drawn with plain shapes until the
+     * sprites are ready.
+     */
+    private void loadSprites() {
+        new Thread() {
+            public void run() {
+                try {
+                    atlas = SpriteAtlas.load(SpriteAtlas.DEFAULT_ATLAS);
+                    Application.reportStartup("Sprites loaded");
+                    repaint();
+                } catch (IOException ioe) {
+                    System.err.println("Error: Cannot load the sprites: "
+                            + ioe.getMessage());
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Sizes the panel to the board dimensions in the configuration. Returns
+     * true if the size changed, in which case the parent should be packed.
+     */
+    public boolean updateSize() {
+        if (rows == config.getRows() && columns == config.getColumns()) {
+            return false;
+        }
+        rows = config.getRows();
+        columns = config.getColumns();
+        snapshot = null;
+        resultString = null;
+        width = cellSize * columns;
+        height = cellSize * (rows + 1);
+        setPreferredSize(new Dimension(width, height));
+        revalidate();
+        return true;
+    }
+
+    /**
+     * Shows the players' clocks, or the time control when no game is using
+     * one.
+     */
+    public void updateClock() {
+        ConnectFour game = connectFour;
+        if (game != null && game.getTimeManager().isEnabled()) {
+            clockLabel.setText(game.getTimeManager().getClockText());
+        } else {
+            clockLabel.setText(TimeManager.getDescription(
+                    config.getTimeControl(), config.getBaseTime(),
+                    config.getIncrement()));
+        }
+    }
+
+    public void startGame() {
+        if (thread == null) {
+            thread = new Thread(this);
+            thread.start();
+        }
+        snapshot = null;
+        displayHelp = false;
+        isRunning = true;
+        clockTimer.start();
+    }
+
+    public void stopGame() {
+        isRunning = false;
+        stopHints();
+        try {
+            if (thread != null) {
+                thread.join();
+            }
+        } catch (final InterruptedException ie) { }
+        thread = null;
+        clockTimer.stop();
+    }
+
+    public void reset() {
+        stopGame();
+        statusLabel.setText("Welcome to " + Application.NAME + ".");
+        resultString = null;
+        blunderCells = null;
+        connectFour = new ConnectFour(config);
+        startGame();
+        repaint();
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    public void setShowMoveNumbers(boolean showMoveNumbers) {
+        this.showMoveNumbers = showMoveNumbers;
+    }
+
+    /**
+     * Shows or hides the score of each column above the board during the
+     * human player's turn.
+     */
+    public void setShowHints(boolean showHints) {
+        this.showHints = showHints;
+        if (showHints) {
+            startHints();
+        } else {
+            cancelHints();
+        }
+        repaint();
+    }
+
+    /**
+     * Starts a hint search for the human player if hints are shown and the
+     * player has yet to choose a column. Only the game thread and the event
+     * dispatch thread call this, and neither changes the board while the
+     * player is choosing.
+     */
+    private synchronized void startHints() {
+        cancelHints();
+        if (showHints && isPlayerTurn && !isChoiceMade && connectFour != null) {
+            hintSearch = new HintSearch(connectFour);
+            hintSearch.start();
+        }
+    }
+
+    /**
+     * Tells the hint search to stop, without waiting for it, and clears the
+     * hints. The search is kept until it has finished, for stopHints().
+     */
+    private synchronized void cancelHints() {
+        for (int i = cancelledHints.size() - 1; i >= 0; i--) {
+            if (!cancelledHints.get(i).isAlive()) {
+                cancelledHints.remove(i);
+            }
+        }
+        if (hintSearch != null) {
+            hintSearch.cancel();
+            cancelledHints.add(hintSearch);
+            hintSearch = null;
+        }
+        hintScores = null;
+    }
+
+    /**
+     * Cancels every hint search and waits for all of them to stop, so that
+     * the computer never searches the session at the same time.
+     */
+    private void stopHints() {
+        List<HintSearch> searches;
+        synchronized (this) {
+            cancelHints();
+            searches = new ArrayList<HintSearch>(cancelledHints);
+            cancelledHints.clear();
+        }
+        for (HintSearch search : searches) {
+            try {
+                search.join();
+            } catch (InterruptedException ie) { }
+        }
+    }
+
+    /**
+     * Searches every column for the player to move one ply deeper at a
+     * time, on a copy of the board, and publishes the scores after each
+     * completed depth. It uses the game's session, so the positions it
+     * searches are found in the table by the computer's reply; the last
+     * depth is one more than the computer's, which makes them searched to
+     * the depth that reply needs.
+     */
+    private class HintSearch extends Thread implements SearchListener {
+        private final ConnectFour game;
+        private final Board board;
+        private final char player;
+        private final int depthLimit;
+        private volatile boolean cancelled;
+
+        HintSearch(ConnectFour game) {
+            this.game = game;
+            this.board = new Board(game.getBoard());
+            this.player = game.getPlayer();
+            this.depthLimit = Math.min(game.getMaxDepth() + 1,
+                    game.getMaxPlays() - game.getPlays());
+            setDaemon(true);
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        public boolean continueSearch(int boardsAnalyzed) {
+            return !cancelled;
+        }
+
+        public void run() {
+            // Creating the session may load the session store, which is
+            // kept off the event dispatch thread.
+            game.getSession();
+            for (int depth = 1; depth <= depthLimit; depth++) {
+                Minimax minimax = new Minimax(board, depth);
+                game.configure(minimax);
+                minimax.setSearchListener(this);
+                Minimax.RootMove[] moves = minimax.searchAllColumns(player);
+                if (cancelled || minimax.isAborted()) {
+                    return;
+                }
+                int[] scores = new int[columns];
+                Arrays.fill(scores, Integer.MIN_VALUE);
+                for (Minimax.RootMove move : moves) {
+                    // Scores favor Black, hints favor the player.
+                    scores[move.getColumn()] = player == Board.MARK_BLACK
+                            ? move.getScore() : -move.getScore();
+                }
+                synchronized (GamePanel.this) {
+                    if (!cancelled) {
+                        hintScores = scores;
+                    }
+                }
+                repaint();
+            }
+        }
+    }
+
+    /**
+     * Analyzes the finished game on a background thread at the depth of
+     * EXPERT, then circles the blunders on the board and shows the
+     * analysis of every move.
+     */
+    public void analyzeGame() {
+        final ConnectFour game = connectFour;
+        if (isRunning || isAnalyzing || game == null || game.getPlays() == 0) {
+            return;
+        }
+        isAnalyzing = true;
+        statusLabel.setText("Analyzing the game...");
+        final Board board = new Board(game.getBoard());
+        new Thread() {
+            public void run() {
+                GameAnalysis analysis = new GameAnalysis(
+                        GameAnalysis.DEFAULT_DEPTH,
+                        Runtime.getRuntime().availableProcessors());
+                try {
+                    long start = System.currentTimeMillis();
+                    GameAnalysis.MoveAnalysis[] moves = analysis.analyze(board);
+                    double elapsed =
+                            (System.currentTimeMillis() - start) / 1000.0;
+                    showAnalysis(game, board, moves, elapsed);
+                } catch (InterruptedException ie) {
+                } finally {
+                    analysis.shutdown();
+                    isAnalyzing = false;
+                }
+            }
+        }.start();
+    }
+
+    private void showAnalysis(final ConnectFour game, Board board,
+                              GameAnalysis.MoveAnalysis[] moves,
+                              double elapsed) {
+        int[][] moveNumbers = board.getMoveNumbers();
+        final List<Cell> blunders = new ArrayList<Cell>();
+        final StringBuilder report = new StringBuilder(
+                GameAnalysis.getHeader());
+        for (GameAnalysis.MoveAnalysis move : moves) {
+            report.append('\n').append(move);
+            if (move.isBlunder()) {
+                for (int row = 0; row < rows; row++) {
+                    if (moveNumbers[row][move.getColumn()]
+                            == move.getNumber()) {
+                        blunders.add(new Cell(row, move.getColumn()));
+                    }
+                }
+            }
+        }
+        final int lines = Math.min(moves.length + 1, 20);
+        final String status = moves.length + " moves analyzed in " + elapsed
+                + " seconds, " + blunders.size()
+                + (blunders.size() == 1 ? " blunder." : " blunders.");
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                if (game != connectFour) {
+                    // A new game has started since.
+                    return;
+                }
+                blunderCells = blunders.toArray(new Cell[blunders.size()]);
+                statusLabel.setText(status);
+                repaint();
+                JTextArea textArea = new JTextArea(report.toString(), lines,
+                                                   50);
+                textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+                textArea.setEditable(false);
+                JOptionPane.showMessageDialog(GamePanel.this,
+                        new JScrollPane(textArea), "Game Analysis",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+        });
+    }
+
+    private void sleep(int ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException ie) { }
+    }
+
+    private void animateMove(int checkerColumn) {
+        int maxCoord = cellSize *
+                (connectFour.getBoard().getFirstAvailableRow(checkerColumn) + 1);
+        while (isRunning) {
+            yCoord++;
+            repaint();
+            if (yCoord >= maxCoord) {
+                break;
+            }
+            sleep(1);
+        }
+    }
+
+    private boolean doPlayerMove(char player) {
+        movingPlayer = player;
+        isPlayerTurn = true;
+        isChoiceMade = false;
+        yCoord = 0;
+        checkerColumn = columns >> 1;
+        startHints();
+        repaint();
+        while (isRunning) {
+            sleep(50);
+            if (connectFour.isFlagged()) {
+                isPlayerTurn = false;
+                stopHints();
+                return false;
+            }
+            if (isChoiceMade) {
+                if (connectFour.getBoard().isColumnAvailable(checkerColumn)) {
+                    stopHints();
+                    animateMove(checkerColumn);
+                    connectFour.dropChecker(checkerColumn, player);
+                    snapshot = connectFour.getBoard().getSnapshot();
+                    break;
+                } else {
+                    isChoiceMade = false;
+                    startHints();
+                }
+            }
+        }
+        isPlayerTurn = false;
+        stopHints();
+        return true;
+    }
+
+    private int searchMinimax() {
+        // The search marks and unsets checkers, so it runs on a copy of the
+        // board that nothing else reads.
+        Minimax minimax = new Minimax(new Board(connectFour.getBoard()),
+                                      connectFour.getMaxDepth());
+        long start = System.currentTimeMillis();
+        int col = connectFour.getComputerMove(minimax);
+        double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+        int boardsAnalyzed = minimax.getBoardsAnalyzed();
+        String status;
+        if (boardsAnalyzed != 1) {
+            status = nf.format(boardsAnalyzed) + " boards analyzed in "
+                    + elapsed + " seconds";
+        } else {
+            status = nf.format(boardsAnalyzed) + " board analyzed in "
+                    + elapsed + " seconds";
+        }
+        if (connectFour.getTimeManager().isEnabled()) {
+            status += ", depth " + minimax.getDepthReached() + ".";
+        } else {
+            status += ".";
+        }
+        statusLabel.setText(status);
+        return col;
+    }
+
+    private int searchMonteCarlo() {
+        MonteCarloSearch search = connectFour.getMonteCarloSearch();
+        int col = connectFour.getComputerMove(search);
+        statusLabel.setText(nf.format(search.getPlayouts()) + " playouts, "
+                + nf.format(Math.round(search.getPlayoutsPerSecond()))
+                + " per second.");
+        return col;
+    }
+
+    private boolean doComputerMove(char player) {
+        movingPlayer = player;
+        isComputerTurn = true;
+        yCoord = 0;
+        checkerColumn = columns >> 1;
+        repaint();
+        int col;
+        if (connectFour.getEngine() == ConnectFourConfig.MONTE_CARLO) {
+            col = searchMonteCarlo();
+        } else {
+            col = searchMinimax();
+        }
+        if (connectFour.isFlagged()) {
+            isComputerTurn = false;
+            return false;
+        }
+        while (checkerColumn < col) {
+            sleep(200);
+            checkerColumn++;
+            repaint();
+        }
+        while (checkerColumn > col) {
+            sleep(200);
+            checkerColumn--;
+            repaint();
+        }
+        sleep(200);
+        checkerColumn = col;
+        animateMove(col);
+        connectFour.dropChecker(col, player);
+        snapshot = connectFour.getBoard().getSnapshot();
+        isComputerTurn = false;
+        return true;
+    }
+
+    public void run() {
+        connectFour = new ConnectFour(config);
+        snapshot = connectFour.getBoard().getSnapshot();
+        int maxPlays = connectFour.getMaxPlays(),
+            numPlays = connectFour.getPlays(),
+            gameType = connectFour.getGameType();
+        while (numPlays < maxPlays && isRunning) {
+            char player = connectFour.getPlayer();
+            boolean inTime;
+            connectFour.startClock();
+            if (numPlays % 2 == 0) {
+                if (gameType == ConnectFourConfig.HUMAN_HUMAN ||
+                    gameType == ConnectFourConfig.HUMAN_COMPUTER) {
+                    inTime = doPlayerMove(player);
+                } else {
+                    inTime = doComputerMove(player);
+                }
+            } else {
+                if (gameType == ConnectFourConfig.HUMAN_HUMAN ||
+                    gameType == ConnectFourConfig.COMPUTER_HUMAN) {
+                    inTime = doPlayerMove(player);
+                } else {
+                    inTime = doComputerMove(player);
+                }
+            }
+            if (!inTime && isRunning) {
+                if (gameType == ConnectFourConfig.HUMAN_HUMAN) {
+                    resultString = Board.getColorOfPlayer(player)
+                                   + " loses on time.";
+                } else if (gameType == ConnectFourConfig.HUMAN_COMPUTER
+                        && player == Board.MARK_RED
+                        || gameType == ConnectFourConfig.COMPUTER_HUMAN
+                        && player == Board.MARK_BLACK) {
+                    resultString = "You lose on time.";
+                } else {
+                    resultString = "Computer loses on time.";
+                }
+                repaint();
+                isRunning = false;
+                return;
+            }
+
+            char winner = connectFour.getWinner();
+            if (winner != Board.UNMARKED) {
+                snapshot = snapshot.highlight(
+                        connectFour.getBoard().getWinningCells());
+                if (gameType == ConnectFourConfig.HUMAN_HUMAN) {
+                    resultString = Board.getColorOfPlayer(winner) + " wins!";
+                } else if (gameType == ConnectFourConfig.HUMAN_COMPUTER
+                        && winner == Board.MARK_RED
+                        || gameType == ConnectFourConfig.COMPUTER_HUMAN
+                        && winner == Board.MARK_BLACK) {
+                    resultString = "You win!";
+                } else if (gameType == ConnectFourConfig.HUMAN_COMPUTER
+                        && winner == Board.MARK_BLACK
+                        || gameType == ConnectFourConfig.COMPUTER_HUMAN
+                        && winner == Board.MARK_RED) {
+                    resultString = "Computer wins.";
+                }
+                repaint();
+                isRunning = false;
+                return;
+            }
+            connectFour.switchPlayers();
+            numPlays = connectFour.getPlays();
+        }
+        if (isRunning) {
+            resultString = "Tie.";
+            repaint();
+        }
+        isRunning = false;
+    }
+
+    private void displayDirections(final Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                             RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(smallFont);
+        g2d.setColor(Color.BLACK);
+        int y = 24;
+        for (String s : help) {
+            final int strWidth =
+                    g2d.getFontMetrics().charsWidth(s.toCharArray(), 0,
+                    s.length());
+            g2d.drawString(s, (width - strWidth) >> 1, y);
+            y += 20;
+        }
+    }
+
+    private void displayResult(final Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                             RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(largeFont);
+        g2d.setColor(Color.BLACK);
+        final int strWidth =
+                g2d.getFontMetrics().charsWidth(
+                        resultString.toCharArray(), 0, resultString.length());
+        g2d.drawString(resultString, (width - strWidth) >> 1, 50);
+    }
+
+    private void drawSprite(final Graphics2D g2d, SpriteAtlas sprites,
+                            int index, int x, int y) {
+        if (sprites != null) {
+            g2d.drawImage(sprites.getSprite(index), x, y, this);
+            return;
+        }
+        g2d.setColor(PLACEHOLDER_COLORS[index]);
+        Ellipse2D circle = new Ellipse2D.Float(x + PLACEHOLDER_INSET,
+                y + PLACEHOLDER_INSET, cellSize - 2 * PLACEHOLDER_INSET,
+                cellSize - 2 * PLACEHOLDER_INSET);
+        if (index == SpriteAtlas.CELL) {
+            Area cell = new Area(new Rectangle(x, y, cellSize, cellSize));
+            cell.subtract(new Area(circle));
+            g2d.fill(cell);
+        } else {
+            g2d.fill(circle);
+        }
+    }
+
+    private void displayBoard(final Graphics2D g2d, SpriteAtlas sprites) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                drawSprite(g2d, sprites, SpriteAtlas.CELL, cellSize * col,
+                           cellSize * (row + 1));
+            }
+        }
+    }
+    
+    private void displayMoveNumbers(final Graphics2D g2d,
+                                    BoardSnapshot position) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                             RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(numberFont);
+        g2d.setColor(Color.WHITE);
+        final int strHeight = g2d.getFontMetrics().getAscent() -
+                              g2d.getFontMetrics().getDescent();
+        for (int row = 0; row < position.getRows(); row++) {
+            for (int col = 0; col < position.getColumns(); col++) {
+                int moveNumber = position.getMoveNumber(row, col);
+                if (moveNumber != 0) {
+                    String moveNumberStr = String.valueOf(moveNumber);
+                    final int strWidth = 
+                            g2d.getFontMetrics().charsWidth(
+                                    moveNumberStr.toCharArray(), 0,
+                                    moveNumberStr.length());
+                    g2d.drawString(moveNumberStr,
+                        cellSize * col + ((cellSize - strWidth) >> 1),
+                        cellSize * (row + 1) + ((cellSize + strHeight) >> 1));
+                }
+            }
+        }        
+    }
+
+    private void displayHints(final Graphics2D g2d, int[] scores) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                             RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(hintFont);
+        int best = Integer.MIN_VALUE;
+        for (int score : scores) {
+            best = Math.max(best, score);
+        }
+        for (int col = 0; col < columns; col++) {
+            if (scores[col] == Integer.MIN_VALUE) {
+                continue;
+            }
+            String hint = scores[col] >= WIN ? "Win"
+                          : scores[col] <= -WIN ? "Loss"
+                          : String.valueOf(scores[col]);
+            final int strWidth = g2d.getFontMetrics().charsWidth(
+                    hint.toCharArray(), 0, hint.length());
+            g2d.setColor(scores[col] == best ? Color.GREEN.darker()
+                                             : Color.DARK_GRAY);
+            g2d.drawString(hint, cellSize * col + ((cellSize - strWidth) >> 1),
+                           cellSize - 4);
+        }
+    }
+
+    private void displayBlunders(final Graphics2D g2d, Cell[] cells) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                             RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(Color.ORANGE);
+        g2d.setStroke(new BasicStroke(3));
+        for (Cell cell : cells) {
+            g2d.drawOval(cellSize * cell.column + BLUNDER_INSET,
+                    cellSize * (cell.row + 1) + BLUNDER_INSET,
+                    cellSize - 2 * BLUNDER_INSET, cellSize - 2 * BLUNDER_INSET);
+        }
+    }
+
+    protected void paintComponent(final Graphics g) {
+        Graphics2D g2d = (Graphics2D)g;
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, width, height);
+
+        SpriteAtlas sprites = atlas;
+        BoardSnapshot position = snapshot;
+        if (isPlayerTurn || isComputerTurn) {
+            int checker;
+            if (movingPlayer == Board.MARK_BLACK) {
+                checker = SpriteAtlas.BLACK_CHECKER;
+            } else {
+                checker = SpriteAtlas.RED_CHECKER;
+            }
+            drawSprite(g2d, sprites, checker, cellSize * checkerColumn,
+                       yCoord);
+        }
+        if (position != null) {
+            for (int row = 0; row < position.getRows(); row++) {
+                for (int col = 0; col < position.getColumns(); col++) {
+                    char c = position.get(row, col);
+                    boolean winning = position.isHighlighted(row, col);
+                    int checker;
+                    if (c == Board.MARK_BLACK) {
+                        checker = winning ? SpriteAtlas.GRAY_CHECKER
+                                          : SpriteAtlas.BLACK_CHECKER;
+                    } else if (c == Board.MARK_RED) {
+                        checker = winning ? SpriteAtlas.PINK_CHECKER
+                                          : SpriteAtlas.RED_CHECKER;
+                    } else {
+                        continue;
+                    }
+                    drawSprite(g2d, sprites, checker, cellSize * col,
+                               cellSize * (row + 1));
+                }
+            }
+        }
+        if (displayHelp) {
+            displayDirections(g2d);
+        } else if (resultString != null) {
+            displayResult(g2d);
+        }
+        displayBoard(g2d, sprites);
+        if (showMoveNumbers && position != null) {
+            displayMoveNumbers(g2d, position);
+        }
+        int[] scores = hintScores;
+        if (scores != null && showHints && isPlayerTurn) {
+            displayHints(g2d, scores);
+        }
+        Cell[] cells = blunderCells;
+        if (cells != null && position != null) {
+            displayBlunders(g2d, cells);
+        }
+        if (isFirstFrame) {
+            isFirstFrame = false;
+            Application.reportStartup("First frame");
+        }
+    }
+
+    public void keyPressed(final KeyEvent keyEvent) {
+        if (isPlayerTurn && !isChoiceMade) {
+            switch (keyEvent.getKeyCode()) {
+                case KeyEvent.VK_LEFT:
+                    if (checkerColumn != 0) {
+                        checkerColumn--;
+                    }
+                    repaint();
+                    break;
+                case KeyEvent.VK_RIGHT:
+                    if (checkerColumn != columns - 1) {
+                        checkerColumn++;
+                    }
+                    repaint();
+                    break;
+                case KeyEvent.VK_DOWN:
+                    isChoiceMade = true;
+                    cancelHints();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    public void keyReleased(final KeyEvent keyEvent) { }
+
+    public void keyTyped(final KeyEvent keyEvent) { }
+}
@@ -0,0 +1,114 @@
+/**
+ * File: SpriteAtlas.java
+ * Author: Brian Borowski
+ * Date created: October 19, 2026
+ * Date last modified: October 19, 2026
+ */
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The board's sprites, packed side by side into one image so that startup
+ * reads and decodes a single file. Every sprite is SIZE pixels square, and
+ * the sprite with index i starts at x = i * SIZE.
+ *
+ * Loading copies each sprite into an image of the screen's own format, which
+ * the graphics pipeline can draw without converting it and may keep in video
+ * memory.
+ */
+public class SpriteAtlas {
+    public static final String DEFAULT_ATLAS = "images/atlas.png";
+    public static final int SIZE = 75;
+    public static final int CELL = 0, BLACK_CHECKER = 1, RED_CHECKER = 2,
+                            GRAY_CHECKER = 3, PINK_CHECKER = 4, SPRITES = 5;
+
+    // The images the atlas is packed from, in the order of the indices.
+    private static final String[] SOURCES = {
+        "images/cell.png", "images/blackchecker.png", "images/redchecker.png",
+        "images/graychecker.png", "images/pinkchecker.png" };
+
+    private final Image[] sprites;
+
+    private SpriteAtlas(Image[] sprites) {
+        this.sprites = sprites;
+    }
+
+    public Image getSprite(int index) {
+        return sprites[index];
+    }
+
+    /**
+     * Reads the atlas from the class path, or else from the file system, and
+     * returns its sprites ready for drawing.
+     */
+    public static SpriteAtlas load(String filename) throws IOException {
+        final URL url = SpriteAtlas.class.getResource(filename);
+        BufferedImage atlas = url != null ? ImageIO.read(url)
+                                          : ImageIO.read(new File(filename));
+        if (atlas == null) {
+            throw new IOException("Cannot decode " + filename + ".");
+        }
+        if (atlas.getHeight() != SIZE || atlas.getWidth() != SIZE * SPRITES) {
+            throw new IOException(filename + " is not a sprite atlas of "
+                    + SPRITES + " sprites of " + SIZE + " x " + SIZE
+                    + " pixels.");
+        }
+        GraphicsConfiguration gc = null;
+        if (!GraphicsEnvironment.isHeadless()) {
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        Image[] sprites = new Image[SPRITES];
+        for (int i = 0; i < SPRITES; i++) {
+            BufferedImage sprite = atlas.getSubimage(i * SIZE, 0, SIZE, SIZE);
+            if (gc != null) {
+                BufferedImage compatible = gc.createCompatibleImage(SIZE, SIZE,
+                        Transparency.TRANSLUCENT);
+                Graphics2D g2d = compatible.createGraphics();
+                g2d.drawImage(sprite, 0, 0, null);
+                g2d.dispose();
+                sprite = compatible;
+            }
+            sprites[i] = sprite;
+        }
+        return new SpriteAtlas(sprites);
+    }
+
+    /**
+     * Packs the source images into the atlas. Run from the directory that
+     * holds the images directory.
+     */
+    public static void main(String[] args) {
+        String output = args.length > 0 ? args[0] : DEFAULT_ATLAS;
+        BufferedImage atlas = new BufferedImage(SIZE * SPRITES, SIZE,
+                                                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = atlas.createGraphics();
+        try {
+            for (int i = 0; i < SPRITES; i++) {
+                BufferedImage sprite = ImageIO.read(new File(SOURCES[i]));
+                if (sprite.getWidth() != SIZE || sprite.getHeight() != SIZE) {
+                    System.err.println("Error: " + SOURCES[i] + " is not "
+                            + SIZE + " x " + SIZE + " pixels.");
+                    System.exit(1);
+                }
+                g2d.drawImage(sprite, i * SIZE, 0, null);
+            }
+            ImageIO.write(atlas, "png", new File(output));
+        } catch (IOException ioe) {
+            System.err.println("Error: " + ioe.getMessage());
+            System.exit(1);
+        } finally {
+            g2d.dispose();
+        }
+        System.out.println("Wrote " + output + ".");
+    }
+}
@@ -2,11 +2,9 @@
  * File: Utility.java
  * Author: Brian Borowski
  * Date created: August 1, 2011
- * Date last modified: April 13, 2012
+ * Date last modified: October 19, 2026
  */
 import java.awt.Image;
-import java.awt.MediaTracker;
-import java.net.MalformedURLException;
 import java.net.URL;
 
 import javax.swing.ImageIcon;
@@ -21,17 +19,6 @@ public class Utility {
         } else {
             // Read from file.
             icon = new ImageIcon(filename);
-
-            // Try to read from URL.
-            if ((icon == null) ||
-                (icon.getImageLoadStatus() != MediaTracker.COMPLETE)) {
-                try {
-                    icon = new ImageIcon(new URL(filename));
-                } catch (final MalformedURLException murle) {
-                    // Not a URL.
-                    return null;
-                }
-            }
         }
         return icon.getImage();
     }